@@ -0,0 +1,270 @@
+package yandex.pages.pricelist.components;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import yandex.pages.utils.BenchmarkCorpus;
+import yandex.pages.utils.LongHashSet;
+import yandex.pages.utils.PriceParserComponent;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк множества проверенных товаров: прежнего HashSet строк "наименование_цена"
+ * и множества 64-битных отпечатков с фильтром Блума и без него.
+ * Одна операция - обработка всех товаров набора, как при проверке всех страниц списка: построение ключа
+ * и добавление в множество или поиск в нем. Занимаемая множеством память замеряется отдельными
+ * бенчмарками по разнице занятой кучи после сборки мусора и выводится счетчиком retainedBytes.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductListComponent#productKey(String, long)
+ * @see LongHashSet
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckedProductsBenchmark {
+    /**
+     * Количество товаров в наборе.
+     */
+    @Param({"100000"})
+    public int productsCount;
+
+    /**
+     * Наименования товаров: наименования из {@link BenchmarkCorpus} с номером повтора, чтобы все были разными.
+     */
+    private String[] names;
+
+    /**
+     * Цены товаров, соответствующие наименованиям.
+     */
+    private long[] prices;
+
+    /**
+     * Множество строковых ключей, заполненное половиной товаров.
+     */
+    private Set<String> stringKeys;
+
+    /**
+     * Множество отпечатков без фильтра Блума, заполненное половиной товаров.
+     */
+    private LongHashSet fingerprints;
+
+    /**
+     * Множество отпечатков с фильтром Блума, заполненное половиной товаров.
+     */
+    private LongHashSet bloomFingerprints;
+
+    /**
+     * Счетчик памяти, занимаемой множеством.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        /**
+         * Занятая множеством память в байтах.
+         */
+        public long retainedBytes;
+
+        /**
+         * Метод для сброса счетчика перед итерацией.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+        }
+    }
+
+    /**
+     * Метод для подготовки набора товаров и заполненных наполовину множеств.
+     */
+    @Setup
+    public void setUp() {
+        String[] titles = BenchmarkCorpus.titles();
+        String[] priceTexts = BenchmarkCorpus.prices();
+        names = new String[productsCount];
+        prices = new long[productsCount];
+        stringKeys = new HashSet<>();
+        fingerprints = new LongHashSet();
+        bloomFingerprints = new LongHashSet(productsCount / 2, true);
+        for (int i = 0; i < productsCount; i++) {
+            names[i] = titles[i % BenchmarkCorpus.SIZE] + " (" + i / BenchmarkCorpus.SIZE + ")";
+            prices[i] = PriceParserComponent.extractPriceFromText(priceTexts[i % BenchmarkCorpus.SIZE]);
+            if (i % 2 == 0) {
+                stringKeys.add(stringKey(names[i], prices[i]));
+                fingerprints.add(ProductListComponent.productKey(names[i], prices[i]));
+                bloomFingerprints.add(ProductListComponent.productKey(names[i], prices[i]));
+            }
+        }
+    }
+
+    /**
+     * Бенчмарк прежнего заполнения: построение строкового ключа и добавление в HashSet.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void stringKeysAdd(Blackhole blackhole) {
+        Set<String> checked = new HashSet<>();
+        for (int i = 0; i < productsCount; i++) {
+            blackhole.consume(checked.add(stringKey(names[i], prices[i])));
+        }
+    }
+
+    /**
+     * Бенчмарк заполнения: вычисление отпечатка и добавление в множество без фильтра Блума.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void fingerprintsAdd(Blackhole blackhole) {
+        LongHashSet checked = new LongHashSet();
+        for (int i = 0; i < productsCount; i++) {
+            blackhole.consume(checked.add(ProductListComponent.productKey(names[i], prices[i])));
+        }
+    }
+
+    /**
+     * Бенчмарк заполнения: вычисление отпечатка и добавление в множество с фильтром Блума.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void bloomFingerprintsAdd(Blackhole blackhole) {
+        LongHashSet checked = new LongHashSet(0, true);
+        for (int i = 0; i < productsCount; i++) {
+            blackhole.consume(checked.add(ProductListComponent.productKey(names[i], prices[i])));
+        }
+    }
+
+    /**
+     * Бенчмарк прежнего поиска: построение строкового ключа и поиск в HashSet, половина товаров отсутствует.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void stringKeysContains(Blackhole blackhole) {
+        for (int i = 0; i < productsCount; i++) {
+            blackhole.consume(stringKeys.contains(stringKey(names[i], prices[i])));
+        }
+    }
+
+    /**
+     * Бенчмарк поиска отпечатков в множестве без фильтра Блума, половина товаров отсутствует.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void fingerprintsContains(Blackhole blackhole) {
+        for (int i = 0; i < productsCount; i++) {
+            blackhole.consume(fingerprints.contains(ProductListComponent.productKey(names[i], prices[i])));
+        }
+    }
+
+    /**
+     * Бенчмарк поиска отпечатков в множестве с фильтром Блума, половина товаров отсутствует.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void bloomFingerprintsContains(Blackhole blackhole) {
+        for (int i = 0; i < productsCount; i++) {
+            blackhole.consume(bloomFingerprints.contains(ProductListComponent.productKey(names[i], prices[i])));
+        }
+    }
+
+    /**
+     * Бенчмарк памяти HashSet строковых ключей для всех товаров набора, включая сами строки ключей.
+     *
+     * @param footprint счетчик занятой памяти
+     * @return заполненное множество, чтобы оно не было собрано до замера
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Object stringKeysFootprint(Footprint footprint) {
+        long before = usedHeap();
+        Set<String> checked = new HashSet<>();
+        for (int i = 0; i < productsCount; i++) {
+            checked.add(stringKey(names[i], prices[i]));
+        }
+        footprint.retainedBytes = usedHeap() - before;
+        return checked;
+    }
+
+    /**
+     * Бенчмарк памяти множества отпечатков без фильтра Блума для всех товаров набора.
+     *
+     * @param footprint счетчик занятой памяти
+     * @return заполненное множество, чтобы оно не было собрано до замера
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Object fingerprintsFootprint(Footprint footprint) {
+        long before = usedHeap();
+        LongHashSet checked = new LongHashSet();
+        for (int i = 0; i < productsCount; i++) {
+            checked.add(ProductListComponent.productKey(names[i], prices[i]));
+        }
+        footprint.retainedBytes = usedHeap() - before;
+        return checked;
+    }
+
+    /**
+     * Бенчмарк памяти множества отпечатков с фильтром Блума для всех товаров набора.
+     *
+     * @param footprint счетчик занятой памяти
+     * @return заполненное множество, чтобы оно не было собрано до замера
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Object bloomFingerprintsFootprint(Footprint footprint) {
+        long before = usedHeap();
+        LongHashSet checked = new LongHashSet(0, true);
+        for (int i = 0; i < productsCount; i++) {
+            checked.add(ProductListComponent.productKey(names[i], prices[i]));
+        }
+        footprint.retainedBytes = usedHeap() - before;
+        return checked;
+    }
+
+    /**
+     * Метод для построения прежнего строкового ключа товара.
+     *
+     * @param productName  наименование товара
+     * @param productPrice цена товара
+     * @return ключ товара из наименования и цены
+     */
+    private static String stringKey(String productName, long productPrice) {
+        return productName + "_" + productPrice;
+    }
+
+    /**
+     * Метод для получения занятой памяти кучи после сборки мусора.
+     *
+     * @return занятая память кучи в байтах
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,158 @@
+package yandex.pages.pricelist.components;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import yandex.pages.utils.BenchmarkCorpus;
+import yandex.pages.utils.BrandMatcher;
+import yandex.pages.utils.LongHashSet;
+import yandex.pages.utils.PriceParserComponent;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк проверок списка товаров, которые выполняются для каждой карточки без обращения к браузеру:
+ * проверка бренда по названию, построение ключа товара и поиск в множестве проверенных товаров.
+ * Одна операция - обработка всего набора наименований из {@link BenchmarkCorpus}.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductListComponent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductListBenchmark {
+    /**
+     * Количество брендов в фильтре.
+     */
+    @Param({"2", "24"})
+    public int brandCount;
+
+    /**
+     * Набор наименований товаров.
+     */
+    private String[] titles;
+
+    /**
+     * Цены товаров, соответствующие наименованиям.
+     */
+    private long[] prices;
+
+    /**
+     * Список брендов для проверки.
+     */
+    private List<String> brands;
+
+    /**
+     * Ключи товаров, построенные заранее.
+     */
+    private long[] keys;
+
+    /**
+     * Множество проверенных товаров, заполненное половиной ключей.
+     */
+    private LongHashSet checkedProducts;
+
+    /**
+     * Метод для подготовки наборов данных.
+     */
+    @Setup
+    public void setUp() {
+        titles = BenchmarkCorpus.titles();
+        String[] priceTexts = BenchmarkCorpus.prices();
+        prices = new long[titles.length];
+        keys = new long[titles.length];
+        checkedProducts = new LongHashSet();
+        for (int i = 0; i < titles.length; i++) {
+            prices[i] = PriceParserComponent.extractPriceFromText(priceTexts[i]);
+            keys[i] = ProductListComponent.productKey(titles[i], prices[i]);
+            if (i % 2 == 0) {
+                checkedProducts.add(keys[i]);
+            }
+        }
+        brands = BenchmarkCorpus.brands(brandCount);
+    }
+
+    /**
+     * Бенчмарк проверки бренда по наименованию товара, включая получение автомата по списку брендов.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void isProductBrandValid(Blackhole blackhole) {
+        for (String title : titles) {
+            blackhole.consume(ProductListComponent.isProductBrandValid(title, brands));
+        }
+    }
+
+    /**
+     * Бенчмарк поиска бренда заранее скомпилированным автоматом, как при проверке страницы.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void brandMatcher(Blackhole blackhole) {
+        BrandMatcher brandMatcher = BrandMatcher.forBrands(brands);
+        for (String title : titles) {
+            blackhole.consume(brandMatcher.matches(title));
+        }
+    }
+
+    /**
+     * Бенчмарк прежней проверки бренда: приведение к нижнему регистру и поиск подстроки для каждого бренда.
+     * Оставлен как точка отсчета для сравнения с автоматом.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void lowerCaseContains(Blackhole blackhole) {
+        for (String title : titles) {
+            boolean found = false;
+            for (String brand : brands) {
+                if (title.toLowerCase().contains(brand.toLowerCase())) {
+                    found = true;
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+
+    /**
+     * Бенчмарк построения ключа товара из наименования и цены.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void productKey(Blackhole blackhole) {
+        for (int i = 0; i < titles.length; i++) {
+            blackhole.consume(ProductListComponent.productKey(titles[i], prices[i]));
+        }
+    }
+
+    /**
+     * Бенчмарк поиска заранее построенных ключей в множестве проверенных товаров.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void checkedProductsLookup(Blackhole blackhole) {
+        for (long key : keys) {
+            blackhole.consume(checkedProducts.contains(key));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package yandex.pages.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Класс с наборами входных данных для бенчмарков.
+ * Содержит строки цен и наименования ноутбуков в том виде, в котором они встречаются на Яндекс Маркете,
+ * включая граничные случаи. Наборы строятся детерминированно, чтобы результаты запусков были сравнимы.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+public final class BenchmarkCorpus {
+    /**
+     * Размер каждого набора данных.
+     */
+    public static final int SIZE = 4096;
+
+    /**
+     * Зерно генератора для воспроизводимых наборов.
+     */
+    private static final long SEED = 20240917L;
+
+    /**
+     * Образцы строк цен: разные разделители разрядов, скидки и невалидные значения.
+     */
+    private static final String[] PRICE_SAMPLES = {
+            "Цена 15 990 ₽",
+            "Цена 15 990 ₽",
+            "Цена 104 990 ₽",
+            "Цена 9 999 ₽",
+            "Цена 1\u202F234\u202F567 ₽",
+            "Цена с картой Яндекс Пэй 18 499 ₽",
+            "Цена 17 290 ₽ вместо 21 990 ₽",
+            "12 499,50 ₽",
+            "Цена ₽",
+            "",
+            "Нет в наличии",
+            "Цена 0 ₽"
+    };
+
+    /**
+     * Образцы наименований ноутбуков, в том числе без бренда в названии и с похожими подстроками.
+     */
+    private static final String[] TITLE_SAMPLES = {
+            "Ноутбук Lenovo IdeaPad Slim 3 15IRH8, 15.6\", Intel Core i5-13420H, RAM 16 ГБ, SSD 512 ГБ, Windows 11",
+            "Ноутбук HP 255 G10, 15.6\", AMD Ryzen 5 7530U, RAM 8 ГБ, SSD 256 ГБ, без ОС, серебристый",
+            "Ноутбук HP Pavilion 15-eg3035ci 15.6\" FHD IPS, Core i7-1355U, 16 ГБ, 1 ТБ SSD",
+            "15.6\" Ноутбук LENOVO V15 G4 AMN, AMD Athlon Silver 7120U, 8 ГБ, 256 ГБ SSD",
+            "Ноутбук Thinkpad E14 Gen 5 14\" WUXGA, Intel Core i5-1335U, 16 ГБ DDR4",
+            "Игровой ноутбук ASUS TUF Gaming F15 FX507ZC4, 15.6\", Intel Core i5-12500H, RTX 3050",
+            "Ноутбук Acer Aspire 3 A315-59-52B0, 15.6\", Core i5-1235U, 8 ГБ, 512 ГБ",
+            "Ноутбук CHUWI HeroBook Pro 14.1\", Intel Celeron N4020, 8 ГБ, 256 ГБ SSD",
+            "Ультрабук Lenovo Yoga Slim 7 Pro 14ARH7, 14\" 2.8K OLED, Ryzen 7 6800HS",
+            "Ноутбук Chromebook с процессором MediaTek, 11.6\", 4 ГБ, eMMC 64 ГБ",
+            "Ноутбук-трансформер HP ENVY x360 15-fh0003ci, 15.6\" OLED, Ryzen 7 7730U",
+            "Ноутбук Tecno Megabook T1, 15.6\", AMD Ryzen 5 5560U, 16 ГБ, 512 ГБ"
+    };
+
+    /**
+     * Конструктор закрыт, так как класс содержит только статические методы.
+     */
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Метод для получения набора строк цен.
+     *
+     * @return перемешанный набор строк цен размером {@link #SIZE}
+     */
+    public static String[] prices() {
+        return shuffled(PRICE_SAMPLES, SEED);
+    }
+
+    /**
+     * Метод для получения набора наименований ноутбуков.
+     * К образцам добавляются номера моделей, чтобы строки различались.
+     *
+     * @return перемешанный набор наименований размером {@link #SIZE}
+     */
+    public static String[] titles() {
+        String[] titles = shuffled(TITLE_SAMPLES, SEED + 1);
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = titles[i] + ", артикул " + (100000 + i);
+        }
+        return titles;
+    }
+
+    /**
+     * Метод для получения списка брендов заданного размера.
+     * Первыми идут бренды из конфигурации тестов, далее добавляются распространенные бренды ноутбуков.
+     *
+     * @param count количество брендов
+     * @return список брендов
+     */
+    public static List<String> brands(int count) {
+        List<String> all = Arrays.asList("Lenovo", "HP", "ASUS", "Acer", "MSI", "Apple", "Huawei", "Honor",
+                "Dell", "Samsung", "Xiaomi", "Infinix", "Tecno", "Chuwi", "Digma", "Irbis", "Maibenben",
+                "Thunderobot", "Gigabyte", "Razer", "Microsoft", "Machenike", "Ninkear", "Hiper");
+        return new ArrayList<>(all.subList(0, Math.min(count, all.size())));
+    }
+
+    /**
+     * Метод для построения перемешанного набора из образцов.
+     *
+     * @param samples образцы строк
+     * @param seed    зерно генератора
+     * @return набор строк размером {@link #SIZE}
+     */
+    private static String[] shuffled(String[] samples, long seed) {
+        Random random = new Random(seed);
+        String[] result = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = samples[random.nextInt(samples.length)];
+        }
+        return result;
+    }
+}
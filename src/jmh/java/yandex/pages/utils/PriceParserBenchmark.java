@@ -0,0 +1,56 @@
+package yandex.pages.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк разбора строк цен.
+ * Одна операция - разбор всего набора строк цен из {@link BenchmarkCorpus}.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see PriceParserComponent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceParserBenchmark {
+    /**
+     * Набор строк цен.
+     */
+    private String[] prices;
+
+    /**
+     * Метод для подготовки набора строк цен.
+     */
+    @Setup
+    public void setUp() {
+        prices = BenchmarkCorpus.prices();
+    }
+
+    /**
+     * Бенчмарк извлечения цены из каждой строки набора.
+     *
+     * @param blackhole приемник результатов, не дающий компилятору удалить вычисления
+     */
+    @Benchmark
+    public void extractPriceFromText(Blackhole blackhole) {
+        for (String price : prices) {
+            blackhole.consume(PriceParserComponent.extractPriceFromText(price));
+        }
+    }
+}
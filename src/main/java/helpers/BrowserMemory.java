@@ -0,0 +1,182 @@
+package helpers;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Класс для замера памяти браузера.
+ * Размер кучи JavaScript и количество узлов DOM берутся из Performance.getMetrics протокола Chrome DevTools.
+ * Этот метод не сообщает память процессов, поэтому резидентная память (RSS) браузера
+ * суммируется по процессу браузера и всем его дочерним процессам из /proc.
+ * Процесс браузера находится по каталогу профиля, который ChromeDriver сообщает в возможностях сессии.
+ * Сумма RSS учитывает общие страницы памяти в каждом процессе и поэтому дает оценку сверху,
+ * что подходит для расчета количества браузеров на машине.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see CdpSupport
+ */
+public final class BrowserMemory {
+    /**
+     * Каталог сведений о процессах Linux.
+     */
+    private static final Path PROC = Paths.get("/proc");
+
+    /**
+     * Метрики Performance.getMetrics, которые попадают в замер, и их названия в отчете.
+     */
+    private static final Map<String, String> METRICS = new LinkedHashMap<>();
+
+    static {
+        METRICS.put("JSHeapUsedSize", "jsHeapUsedBytes");
+        METRICS.put("JSHeapTotalSize", "jsHeapTotalBytes");
+        METRICS.put("Nodes", "domNodes");
+        METRICS.put("Documents", "documents");
+        METRICS.put("JSEventListeners", "jsEventListeners");
+    }
+
+    /**
+     * Закрытый конструктор, класс содержит только статические методы.
+     */
+    private BrowserMemory() {
+    }
+
+    /**
+     * Метод для замера памяти браузера.
+     * Если браузер не поддерживает протокол DevTools или /proc недоступен, соответствующие значения не заполняются.
+     *
+     * @param driver веб-драйвер
+     * @return значения замера по названиям: jsHeapUsedBytes, jsHeapTotalBytes, domNodes, documents,
+     * jsEventListeners, processes и rssBytes
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> sample(WebDriver driver) {
+        Map<String, Object> sample = new LinkedHashMap<>();
+        if (CdpSupport.isSupported(driver)) {
+            try {
+                CdpSupport.execute(driver, "Performance.enable");
+                Object metrics = CdpSupport.execute(driver, "Performance.getMetrics").get("metrics");
+                Map<String, Number> values = new HashMap<>();
+                for (Object metric : metrics instanceof List ? (List<Object>) metrics : Collections.emptyList()) {
+                    Map<String, Object> item = (Map<String, Object>) metric;
+                    values.put(CdpSupport.string(item, "name"), (Number) item.get("value"));
+                }
+                for (Map.Entry<String, String> metric : METRICS.entrySet()) {
+                    Number value = values.get(metric.getKey());
+                    if (value != null) {
+                        sample.put(metric.getValue(), value.longValue());
+                    }
+                }
+            } catch (WebDriverException e) {
+                // Окно браузера закрыто, метрики страницы недоступны.
+            }
+        }
+
+        String userDataDir = userDataDir(driver);
+        if (!userDataDir.isEmpty() && Files.isDirectory(PROC)) {
+            long[] rss = processTreeRss(userDataDir);
+            sample.put("processes", rss[0]);
+            sample.put("rssBytes", rss[1]);
+        }
+        return sample;
+    }
+
+    /**
+     * Метод для получения каталога профиля браузера из возможностей сессии ChromeDriver.
+     *
+     * @param driver веб-драйвер
+     * @return каталог профиля или пустая строка если драйвер его не сообщает
+     */
+    @SuppressWarnings("unchecked")
+    static String userDataDir(WebDriver driver) {
+        WebDriver unwrapped = CdpSupport.unwrap(driver);
+        if (!(unwrapped instanceof HasCapabilities)) {
+            return "";
+        }
+        Object chrome = ((HasCapabilities) unwrapped).getCapabilities().getCapability("chrome");
+        return chrome instanceof Map ? CdpSupport.string((Map<String, Object>) chrome, "userDataDir") : "";
+    }
+
+    /**
+     * Метод для подсчета резидентной памяти процесса браузера и его дочерних процессов.
+     *
+     * @param userDataDir каталог профиля браузера
+     * @return количество процессов и сумма их RSS в байтах
+     */
+    static long[] processTreeRss(String userDataDir) {
+        Map<Long, Long> parents = new HashMap<>();
+        Map<Long, Long> rssBytes = new HashMap<>();
+        List<Long> browsers = new ArrayList<>();
+        try (Stream<Path> processes = Files.list(PROC)) {
+            processes.filter(path -> path.getFileName().toString().chars().allMatch(Character::isDigit))
+                    .forEach(path -> readProcess(path, userDataDir, parents, rssBytes, browsers));
+        } catch (IOException e) {
+            return new long[]{0, 0};
+        }
+
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (Map.Entry<Long, Long> process : parents.entrySet()) {
+            children.computeIfAbsent(process.getValue(), key -> new ArrayList<>()).add(process.getKey());
+        }
+        Deque<Long> queue = new ArrayDeque<>();
+        for (Long browser : browsers) {
+            if (!browsers.contains(parents.get(browser))) {
+                queue.add(browser);
+            }
+        }
+        long count = 0;
+        long total = 0;
+        while (!queue.isEmpty()) {
+            Long pid = queue.poll();
+            count++;
+            total += rssBytes.getOrDefault(pid, 0L);
+            queue.addAll(children.getOrDefault(pid, Collections.emptyList()));
+        }
+        return new long[]{count, total};
+    }
+
+    /**
+     * Метод для чтения родительского процесса, резидентной памяти и командной строки процесса.
+     *
+     * @param process     каталог процесса в /proc
+     * @param userDataDir каталог профиля браузера
+     * @param parents     родительские процессы по идентификатору процесса
+     * @param rssBytes    резидентная память по идентификатору процесса
+     * @param browsers    процессы, запущенные с каталогом профиля
+     */
+    private static void readProcess(Path process, String userDataDir, Map<Long, Long> parents,
+                                    Map<Long, Long> rssBytes, List<Long> browsers) {
+        long pid = Long.parseLong(process.getFileName().toString());
+        try {
+            for (String line : Files.readAllLines(process.resolve("status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("PPid:")) {
+                    parents.put(pid, Long.parseLong(line.substring("PPid:".length()).trim()));
+                } else if (line.startsWith("VmRSS:")) {
+                    rssBytes.put(pid, Long.parseLong(line.replaceAll("\\D", "")) * 1024);
+                }
+            }
+            String commandLine = new String(Files.readAllBytes(process.resolve("cmdline")), StandardCharsets.UTF_8);
+            if (commandLine.contains("--user-data-dir=" + userDataDir)) {
+                browsers.add(pid);
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Процесс завершился во время чтения или недоступен.
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package helpers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Класс для работы с протоколом Chrome DevTools без привязки к версии браузера.
+ * Команды отправляются по имени метода протокола с параметрами в виде словаря,
+ * а события читаются в словарь, поэтому не требуются классы протокола конкретной версии Chrome.
+ * Соединение DevTools одно на сессию браузера, поэтому окно, к которому оно подключено,
+ * отслеживается здесь, и все, кто пользуется соединением, переключают его через {@link #attach(DevTools, String)}.
+ * По той же причине обработчики событий регистрируются здесь: Selenium умеет снимать только все обработчики
+ * соединения сразу, а каждый пользователь соединения должен снимать только свои.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+public final class CdpSupport {
+    /**
+     * Окна браузера, к которым подключены соединения DevTools.
+     */
+    private static final Map<DevTools, String> ATTACHED_WINDOWS = new WeakHashMap<>();
+
+    /**
+     * Обработчики событий соединений DevTools по имени события.
+     * На каждое событие в соединении подписан один общий обработчик, который вызывает обработчики из списка.
+     */
+    private static final Map<DevTools, Map<String, List<Consumer<Map<String, Object>>>>> HANDLERS = new WeakHashMap<>();
+
+    /**
+     * Закрытый конструктор, класс содержит только статические методы.
+     */
+    private CdpSupport() {
+    }
+
+    /**
+     * Метод для получения исходного драйвера из драйвера с наблюдателями.
+     *
+     * @param driver веб-драйвер, возможно обернутый наблюдателями
+     * @return исходный веб-драйвер
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver unwrapped = driver;
+        while (unwrapped instanceof WrapsDriver) {
+            unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+        }
+        return unwrapped;
+    }
+
+    /**
+     * Метод для проверки, поддерживает ли браузер протокол Chrome DevTools.
+     *
+     * @param driver веб-драйвер
+     * @return true если драйвер управляет браузером на основе Chromium
+     */
+    public static boolean isSupported(WebDriver driver) {
+        WebDriver unwrapped = unwrap(driver);
+        return unwrapped instanceof HasCdp && unwrapped instanceof HasDevTools;
+    }
+
+    /**
+     * Метод для выполнения команды протокола через драйвер браузера.
+     * Команда выполняется синхронно и может вызываться из любого потока, в том числе из обработчиков событий.
+     *
+     * @param driver веб-драйвер
+     * @param method имя метода протокола, например "Network.enable"
+     * @param params параметры команды
+     * @return результат команды
+     */
+    public static Map<String, Object> execute(WebDriver driver, String method, Map<String, Object> params) {
+        return ((HasCdp) unwrap(driver)).executeCdpCommand(method, params);
+    }
+
+    /**
+     * Метод для выполнения команды протокола без параметров через драйвер браузера.
+     *
+     * @param driver веб-драйвер
+     * @param method имя метода протокола
+     * @return результат команды
+     */
+    public static Map<String, Object> execute(WebDriver driver, String method) {
+        return execute(driver, method, Collections.emptyMap());
+    }
+
+    /**
+     * Метод для открытия соединения DevTools с текущей вкладкой браузера.
+     * Сессия браузера из пула могла остаться подключенной к уже закрытому окну, поэтому соединение
+     * переподключается, если оно подключено не к текущему окну.
+     *
+     * @param driver веб-драйвер
+     * @return соединение DevTools с открытой сессией
+     */
+    public static DevTools openDevTools(WebDriver driver) {
+        WebDriver unwrapped = unwrap(driver);
+        DevTools devTools = ((HasDevTools) unwrapped).getDevTools();
+        attach(devTools, unwrapped.getWindowHandle());
+        return devTools;
+    }
+
+    /**
+     * Метод для подключения соединения DevTools к окну браузера.
+     * Команды протокола после подключения относятся к этому окну, поэтому домены, включенные в прежнем окне,
+     * нужно включить заново.
+     *
+     * @param devTools     соединение DevTools
+     * @param windowHandle идентификатор окна
+     * @return true если соединение было переподключено, false если оно уже подключено к этому окну
+     */
+    public static boolean attach(DevTools devTools, String windowHandle) {
+        synchronized (ATTACHED_WINDOWS) {
+            if (windowHandle.equals(ATTACHED_WINDOWS.get(devTools))) {
+                return false;
+            }
+            devTools.createSession(windowHandle);
+            ATTACHED_WINDOWS.put(devTools, windowHandle);
+            return true;
+        }
+    }
+
+    /**
+     * Метод для отправки команды протокола через соединение DevTools.
+     * Не должен вызываться из обработчика события того же соединения, иначе ответ не будет получен.
+     *
+     * @param devTools соединение DevTools
+     * @param method   имя метода протокола
+     * @param params   параметры команды
+     * @return результат команды
+     */
+    public static Map<String, Object> send(DevTools devTools, String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method, params, input -> input.read(Json.MAP_TYPE)));
+    }
+
+    /**
+     * Метод для подписки на событие протокола.
+     * Соединение DevTools общее для всех, кто им пользуется, поэтому вместо devTools.clearListeners()
+     * нужно вызывать возвращенную отписку, которая снимает только этот обработчик.
+     *
+     * @param devTools соединение DevTools
+     * @param event    имя события, например "Network.responseReceived"
+     * @param handler  обработчик параметров события
+     * @return отписка обработчика от события
+     */
+    public static Runnable addListener(DevTools devTools, String event, Consumer<Map<String, Object>> handler) {
+        List<Consumer<Map<String, Object>>> handlers;
+        synchronized (HANDLERS) {
+            Map<String, List<Consumer<Map<String, Object>>>> events = HANDLERS.computeIfAbsent(devTools,
+                    key -> new HashMap<>());
+            handlers = events.get(event);
+            if (handlers == null) {
+                List<Consumer<Map<String, Object>>> registered = new CopyOnWriteArrayList<>();
+                devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)),
+                        params -> {
+                            for (Consumer<Map<String, Object>> registeredHandler : registered) {
+                                registeredHandler.accept(params);
+                            }
+                        });
+                events.put(event, registered);
+                handlers = registered;
+            }
+        }
+        handlers.add(handler);
+        List<Consumer<Map<String, Object>>> subscribed = handlers;
+        return () -> subscribed.remove(handler);
+    }
+
+    /**
+     * Метод для получения вложенного словаря из параметров события.
+     *
+     * @param params параметры события
+     * @param key    имя поля
+     * @return вложенный словарь или пустой словарь если поля нет
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> object(Map<String, Object> params, String key) {
+        Object value = params.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    /**
+     * Метод для получения строкового поля из параметров события.
+     *
+     * @param params параметры события
+     * @param key    имя поля
+     * @return значение поля или пустая строка если поля нет
+     */
+    public static String string(Map<String, Object> params, String key) {
+        Object value = params.get(key);
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Метод для получения числового поля из параметров события.
+     *
+     * @param params       параметры события
+     * @param key          имя поля
+     * @param defaultValue значение по умолчанию если поля нет
+     * @return значение поля
+     */
+    public static double number(Map<String, Object> params, String key, double defaultValue) {
+        Object value = params.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+}
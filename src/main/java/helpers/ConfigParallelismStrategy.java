@@ -0,0 +1,66 @@
+package helpers;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Класс стратегии параллельного запуска тестов JUnit 5 с количеством потоков из конфигурации тестов.
+ * Количество потоков ограничено жестко: каждый поток держит свой браузер,
+ * поэтому пул не создает дополнительных потоков, когда тесты ждут ответа браузера.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ParallelExecutionConfigurationStrategy
+ */
+public class ConfigParallelismStrategy implements ParallelExecutionConfigurationStrategy {
+    /**
+     * Время жизни простаивающего потока в секундах.
+     */
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * Метод для создания настроек параллельного запуска.
+     *
+     * @param configurationParameters параметры JUnit, не используются
+     * @return настройки с количеством потоков из параметра parallel.threads
+     */
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int threads = Math.max(1, ConfigProvider.PARALLEL_THREADS);
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return threads;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return 0;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return threads;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return threads;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                return pool -> true;
+            }
+        };
+    }
+}
@@ -2,8 +2,12 @@ package helpers;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigUtil;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Класс для предоставления конфигурационных параметров тестирования.
@@ -29,20 +33,52 @@ public interface ConfigProvider {
     }
 
     /**
-     * Базовый URL для тестирования
+     * Метод для чтения раздела конфигурации со строковыми значениями.
+     *
+     * @param path путь к разделу конфигурации
+     * @return значения раздела по ключам, пустой если раздела нет
      */
-    String URL = config.getString("yandex.url");
+    static Map<String, String> readStringMap(String path) {
+        Map<String, String> values = new HashMap<>();
+        if (config.hasPath(path)) {
+            Config section = config.getConfig(path);
+            for (String key : section.root().keySet()) {
+                values.put(key, section.getString(ConfigUtil.joinPath(key)));
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
 
     /**
-     * Время неявного ожидания в секундах
+     * Базовый URL для тестирования
      */
-    Integer IMPLICIT_WAIT = config.getInt("time.implicit_wait");
+    String URL = config.getString("yandex.url");
 
     /**
      * Время явного ожидания в секундах
      */
     Integer EXPLICIT_WAIT = config.getInt("time.explicit_wait");
 
+    /**
+     * Время в миллисекундах, в течение которого количество товаров не должно меняться после загрузки
+     */
+    Integer LOAD_QUIET_MILLIS = config.getInt("time.load_quiet_millis");
+
+    /**
+     * Начальный интервал опроса условий явного ожидания в миллисекундах
+     */
+    Integer POLL_INITIAL_MILLIS = config.getInt("time.poll_initial_millis");
+
+    /**
+     * Максимальный интервал опроса условий явного ожидания в миллисекундах
+     */
+    Integer POLL_MAX_MILLIS = config.getInt("time.poll_max_millis");
+
+    /**
+     * Количество тестов, выполняемых параллельно, у каждого свой браузер
+     */
+    Integer PARALLEL_THREADS = config.getInt("parallel.threads");
+
     /**
      * Минимальное количество товаров на странице для валидации
      */
@@ -73,8 +109,228 @@ public interface ConfigProvider {
      */
     List<String> BRANDS = config.getStringList("filters.brands");
 
+    /**
+     * Способ применения фильтров: url - через параметры адреса, ui - через элементы фильтров на странице
+     */
+    String FILTERS_MODE = config.getString("filters.mode");
+
+    /**
+     * Идентификатор фильтра брендов в адресе списка товаров
+     */
+    String BRAND_FILTER_ID = config.getString("filters.brand_filter_id");
+
+    /**
+     * Идентификаторы брендов в фильтре: название бренда - идентификатор
+     */
+    Map<String, String> BRAND_IDS = readStringMap("filters.brand_ids");
+
+    /**
+     * Количество дополнительных сессий браузера для параллельной проверки брендов, 0 - проверка в основном окне
+     */
+    Integer BRAND_POOL_SIZE = config.getInt("brand_check.pool_size");
+
+    /**
+     * Время ожидания проверки бренда в дополнительной сессии в секундах, после которого бренд проверяется в основном окне
+     */
+    Integer BRAND_POOL_TIMEOUT_SECONDS = config.getInt("brand_check.pool_timeout_seconds");
+
+    /**
+     * Время ожидания изображения бренда в карточке товара в миллисекундах
+     */
+    Integer BRAND_IMAGE_WAIT_MILLIS = config.getInt("brand_check.image_wait_millis");
+
+    /**
+     * Путь к файлу кэша брендов
+     */
+    String BRAND_CACHE_PATH = config.getString("brand_check.cache.path");
+
+    /**
+     * Время жизни записи кэша брендов в часах
+     */
+    Integer BRAND_CACHE_TTL_HOURS = config.getInt("brand_check.cache.ttl_hours");
+
+    /**
+     * Максимальное количество записей кэша брендов
+     */
+    Integer BRAND_CACHE_MAX_ENTRIES = config.getInt("brand_check.cache.max_entries");
+
     /**
      * Путь к драйверу Chrome
      */
     String CHROME_DRIVER_PATH = config.getString("driver.chrome_driver_path");
+
+    /**
+     * Профиль запуска браузера: full - обычный Chrome, lean - экономный Chrome без окна
+     */
+    String DRIVER_PROFILE = config.getString("driver.profile");
+
+    /**
+     * Ширина страницы в экономном профиле браузера
+     */
+    Integer DRIVER_LEAN_WINDOW_WIDTH = config.getInt("driver.lean.window_width");
+
+    /**
+     * Высота страницы в экономном профиле браузера
+     */
+    Integer DRIVER_LEAN_WINDOW_HEIGHT = config.getInt("driver.lean.window_height");
+
+    /**
+     * Каталог для профилей пользователя экономного профиля браузера
+     */
+    String DRIVER_LEAN_USER_DATA_ROOT = config.getString("driver.lean.user_data_root");
+
+    /**
+     * События, по которым создаются скриншоты: navigation, click, failure
+     */
+    List<String> SCREENSHOT_POLICY = config.getStringList("screenshots.policy");
+
+    /**
+     * Создание скриншота на каждом N-м вызове WebDriver, 0 - отключено
+     */
+    Integer SCREENSHOT_EVERY_N_CALLS = config.getInt("screenshots.every_n_calls");
+
+    /**
+     * Максимальное количество скриншотов, ожидающих записи в отчет
+     */
+    Integer SCREENSHOT_QUEUE_SIZE = config.getInt("screenshots.queue_size");
+
+    /**
+     * Запись одинаковых скриншотов один раз со ссылками на файл
+     */
+    Boolean SCREENSHOT_DEDUP = config.getBoolean("screenshots.dedup");
+
+    /**
+     * Замена почти одинаковых скриншотов подряд ссылкой на предыдущий по перцептивному хешу
+     */
+    Boolean SCREENSHOT_PERCEPTUAL_DEDUP = config.getBoolean("screenshots.perceptual_dedup");
+
+    /**
+     * Допустимое количество различающихся бит перцептивного хеша
+     */
+    Integer SCREENSHOT_PERCEPTUAL_THRESHOLD = config.getInt("screenshots.perceptual_threshold");
+
+    /**
+     * Переиспользование сессий браузера между тестами
+     */
+    Boolean DRIVER_POOL_ENABLED = config.getBoolean("driver.pool.enabled");
+
+    /**
+     * Максимальное количество свободных сессий браузера в пуле
+     */
+    Integer DRIVER_POOL_MAX_IDLE = config.getInt("driver.pool.max_idle");
+
+    /**
+     * Количество тестов, после которого сессия браузера пересоздается
+     */
+    Integer DRIVER_POOL_MAX_USES = config.getInt("driver.pool.max_uses");
+
+    /**
+     * Блокировать ли ресурсы страниц, которые не нужны проверкам
+     */
+    Boolean BLOCKING_ENABLED = config.getBoolean("blocking.enabled");
+
+    /**
+     * Блокируемые типы ресурсов протокола DevTools
+     */
+    List<String> BLOCKED_RESOURCE_TYPES = config.getStringList("blocking.resource_types");
+
+    /**
+     * Блокируемые шаблоны адресов
+     */
+    List<String> BLOCKED_URL_PATTERNS = config.getStringList("blocking.url_patterns");
+
+    /**
+     * Запускать ли встроенный сервер с локальной копией Маркета
+     */
+    Boolean FIXTURE_SERVER_ENABLED = config.getBoolean("fixture_server.enabled");
+
+    /**
+     * Порт встроенного сервера, 0 - любой свободный порт
+     */
+    Integer FIXTURE_SERVER_PORT = config.getInt("fixture_server.port");
+
+    /**
+     * Задержка перед каждым ответом встроенного сервера в миллисекундах
+     */
+    Integer FIXTURE_SERVER_LATENCY_MILLIS = config.getInt("fixture_server.latency_millis");
+
+    /**
+     * Ограничение скорости отдачи встроенного сервера в килобайтах в секунду, 0 - без ограничения
+     */
+    Integer FIXTURE_SERVER_BANDWIDTH_KBPS = config.getInt("fixture_server.bandwidth_kbps");
+
+    /**
+     * Количество товаров в каталоге встроенного сервера
+     */
+    Integer FIXTURE_SERVER_PRODUCTS = config.getInt("fixture_server.products");
+
+    /**
+     * Путь к архиву записи, который воспроизводит встроенный сервер, пустая строка - сгенерированные страницы
+     */
+    String FIXTURE_SERVER_REPLAY_ARCHIVE = config.getString("fixture_server.replay.archive");
+
+    /**
+     * Время ответов при воспроизведении: original - как при записи, fast - без задержек
+     */
+    String FIXTURE_SERVER_REPLAY_TIMING = config.getString("fixture_server.replay.timing");
+
+    /**
+     * Записывать ли ответы сайта во время тестов для последующего воспроизведения
+     */
+    Boolean RECORDING_ENABLED = config.getBoolean("recording.enabled");
+
+    /**
+     * Каталог архивов записи
+     */
+    String RECORDING_DIRECTORY = config.getString("recording.directory");
+
+    /**
+     * Способ извлечения карточек товаров
+     */
+    String EXTRACTION_MODE = config.getString("extraction.mode");
+
+    /**
+     * Источник данных для проверки фильтров
+     */
+    String VALIDATION_SOURCE = config.getString("validation.source");
+
+    /**
+     * Части адресов ответов со списком товаров
+     */
+    List<String> VALIDATION_URL_PATTERNS = config.getStringList("validation.network.url_patterns");
+
+    /**
+     * Поле наименования товара в ответе
+     */
+    String VALIDATION_NAME_FIELD = config.getString("validation.network.name_field");
+
+    /**
+     * Поле цены товара в ответе
+     */
+    String VALIDATION_PRICE_FIELD = config.getString("validation.network.price_field");
+
+    /**
+     * Поле производителя товара в ответе
+     */
+    String VALIDATION_VENDOR_FIELD = config.getString("validation.network.vendor_field");
+
+    /**
+     * Признак потоковой записи результатов проверки товаров
+     */
+    Boolean RESULTS_ENABLED = config.getBoolean("results.enabled");
+
+    /**
+     * Каталог файлов результатов проверки товаров
+     */
+    String RESULTS_DIRECTORY = config.getString("results.directory");
+
+    /**
+     * Количество записей, после которого буфер результатов сбрасывается в файл
+     */
+    Integer RESULTS_FLUSH_EVERY = config.getInt("results.flush_every");
+
+    /**
+     * Режим шагов отчета по товарам
+     */
+    String REPORTING_PRODUCT_STEPS = config.getString("reporting.product_steps");
 }
\ No newline at end of file
@@ -5,21 +5,53 @@ import io.qameta.allure.AllureLifecycle;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.events.WebDriverListener;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Кастомный класс-наблюдатель для интеграции Allure Reports с WebDriver.
  * Реализует интерфейс WebDriverListener для перехвата вызовов методов WebDriver.
- * Автоматически создает скриншоты после выполнения каждого метода и добавляет их в отчет Allure.
+ * Создает скриншоты по политике из конфигурации: при переходе на страницу, при клике,
+ * при падении теста или на каждом N-м вызове, и передает их в фоновую очередь записи.
+ * Одинаковые скриншоты записываются один раз и добавляются в отчет ссылкой на файл.
  *
  * @author Габбасова Лилиана Альбертовна
  * @version 2
  * @see WebDriverListener
+ * @see ScreenshotQueue
+ * @see ScreenshotStore
  */
 
 public class CustomAllure implements WebDriverListener {
+    /**
+     * События, по которым создается скриншот.
+     */
+    public enum Policy {
+        /**
+         * Переход на страницу, назад, вперед или обновление страницы.
+         */
+        NAVIGATION,
+
+        /**
+         * Клик по элементу.
+         */
+        CLICK,
+
+        /**
+         * Падение теста.
+         * Ошибки отдельных вызовов WebDriver скриншот не создают: явные ожидания и проверки отсутствия элемента
+         * штатно получают NoSuchElementException и StaleElementReferenceException на каждом опросе.
+         */
+        FAILURE
+    }
+
     /**
      * Веб-драйвер для управления браузером и создания скриншотов.
      */
@@ -31,18 +63,90 @@ public class CustomAllure implements WebDriverListener {
     private final AllureLifecycle lifecycle;
 
     /**
-     * Конструктор класса CustomAllure.
+     * События, по которым создается скриншот.
+     */
+    private final Set<Policy> policies;
+
+    /**
+     * Шаг создания скриншотов по количеству вызовов, 0 - отключено.
+     */
+    private final int everyNCalls;
+
+    /**
+     * Очередь записи скриншотов.
+     */
+    private final ScreenshotQueue queue;
+
+    /**
+     * Хранилище скриншотов с адресацией по содержимому, null если дедупликация отключена.
+     */
+    private final ScreenshotStore store;
+
+    /**
+     * Допустимое количество различающихся бит перцептивного хеша, -1 - сравнение отключено.
+     */
+    private final int perceptualThreshold;
+
+    /**
+     * Перцептивный хеш предыдущего скриншота.
+     */
+    private long lastPerceptualHash = ScreenshotStore.NO_HASH;
+
+    /**
+     * Имя файла предыдущего скриншота.
+     */
+    private String lastSource;
+
+    /**
+     * Количество вызовов методов WebDriver.
+     */
+    private long calls;
+
+    /**
+     * Количество скриншотов, поставленных в очередь.
+     */
+    private long captured;
+
+    /**
+     * Количество скриншотов, отброшенных из-за заполненной очереди.
+     */
+    private long dropped;
+
+    /**
+     * Количество скриншотов, добавленных в отчет ссылкой на уже записанный файл.
+     */
+    private long deduplicated;
+
+    /**
+     * Конструктор класса CustomAllure с политикой скриншотов из конфигурации.
      *
      * @param driver экземпляр WebDriver для взаимодействия с браузером.
      */
     public CustomAllure(WebDriver driver) {
+        this(driver, parsePolicies(ConfigProvider.SCREENSHOT_POLICY), ConfigProvider.SCREENSHOT_EVERY_N_CALLS);
+    }
+
+    /**
+     * Конструктор класса CustomAllure.
+     *
+     * @param driver      экземпляр WebDriver для взаимодействия с браузером.
+     * @param policies    события, по которым создается скриншот.
+     * @param everyNCalls шаг создания скриншотов по количеству вызовов, 0 - отключено.
+     */
+    public CustomAllure(WebDriver driver, Set<Policy> policies, int everyNCalls) {
         this.driver = driver;
         this.lifecycle = Allure.getLifecycle();
+        this.policies = policies;
+        this.everyNCalls = everyNCalls;
+        this.queue = ScreenshotQueue.getInstance();
+        this.store = ConfigProvider.SCREENSHOT_DEDUP ? ScreenshotStore.getInstance() : null;
+        this.perceptualThreshold = ConfigProvider.SCREENSHOT_DEDUP && ConfigProvider.SCREENSHOT_PERCEPTUAL_DEDUP
+                ? ConfigProvider.SCREENSHOT_PERCEPTUAL_THRESHOLD : -1;
     }
 
     /**
      * Метод, выполняемый после любого вызова метода WebDriver.
-     * Автоматически создает скриншот с описанием имени вызванного метода.
+     * Создает скриншот на каждом N-м вызове, если это задано в конфигурации.
      *
      * @param target объект, у которого был вызван метод.
      * @param method вызванный метод.
@@ -51,16 +155,144 @@ public class CustomAllure implements WebDriverListener {
      */
     @Override
     public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
-        takeScreenShot("Метод: " + method.getName());
+        calls++;
+        if (everyNCalls > 0 && calls % everyNCalls == 0) {
+            takeScreenShot("Метод: " + method.getName());
+        }
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        takeScreenShot(Policy.NAVIGATION, "Переход: " + url);
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        takeScreenShot(Policy.NAVIGATION, "Переход: " + url);
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        takeScreenShot(Policy.NAVIGATION, "Переход назад");
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        takeScreenShot(Policy.NAVIGATION, "Переход вперед");
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        takeScreenShot(Policy.NAVIGATION, "Обновление страницы");
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        takeScreenShot(Policy.CLICK, "Клик");
+    }
+
+    /**
+     * Метод, который создает скриншот при падении теста, если это задано в конфигурации.
+     */
+    public void onTestFailure() {
+        takeScreenShot(Policy.FAILURE, "Падение теста");
+    }
+
+    /**
+     * Метод для создания скриншота, если событие входит в политику.
+     *
+     * @param policy      событие, по которому создается скриншот.
+     * @param description описание скриншота для отображения в отчете.
+     */
+    private void takeScreenShot(Policy policy, String description) {
+        if (policies.contains(policy)) {
+            takeScreenShot(description);
+        }
     }
 
     /**
      * Метод для создания скриншота и добавления его в отчет Allure.
+     * Снимок экрана получается в потоке теста, запись вложения выполняется в фоне.
      *
      * @param description описание скриншота для отображения в отчете.
      */
     public void takeScreenShot(String description) {
-        byte[] screenBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-        lifecycle.addAttachment(description, "image/png", "png", screenBytes);
+        String screenBase64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        if (store == null) {
+            if (queue.submit(lifecycle, description, screenBase64)) {
+                captured++;
+            } else {
+                dropped++;
+            }
+            return;
+        }
+        takeDeduplicatedScreenShot(description, screenBase64);
+    }
+
+    /**
+     * Метод для добавления скриншота в отчет через хранилище с адресацией по содержимому.
+     * Новый снимок ставится в очередь записи, повторный добавляется ссылкой на уже записанный файл.
+     * Перцептивный хеш для сравнения обновляется только вместе с последним записанным файлом,
+     * чтобы почти одинаковые снимки сравнивались с тем изображением, на которое будет ссылка.
+     *
+     * @param description  описание скриншота для отображения в отчете.
+     * @param screenBase64 снимок экрана в формате PNG, закодированный в Base64.
+     */
+    private void takeDeduplicatedScreenShot(String description, String screenBase64) {
+        String source = ScreenshotStore.contentSource(screenBase64);
+        long perceptualHash = ScreenshotStore.NO_HASH;
+        boolean nearDuplicate = false;
+        if (perceptualThreshold >= 0) {
+            perceptualHash = ScreenshotStore.perceptualHash(screenBase64);
+            nearDuplicate = lastSource != null
+                    && ScreenshotStore.isNearDuplicate(perceptualHash, lastPerceptualHash, perceptualThreshold);
+            if (nearDuplicate) {
+                source = lastSource;
+            }
+        }
+
+        if (store.claim(source)) {
+            if (!queue.submitContent(lifecycle, source, screenBase64)) {
+                store.release(source);
+                dropped++;
+                return;
+            }
+            captured++;
+        } else {
+            deduplicated++;
+        }
+        if (!nearDuplicate) {
+            lastPerceptualHash = perceptualHash;
+        }
+        lastSource = source;
+        ScreenshotStore.attach(lifecycle, description, source);
+    }
+
+    /**
+     * Метод для ожидания записи скриншотов и добавления метрик очереди в отчет Allure.
+     */
+    public void flush() {
+        queue.flush();
+        lifecycle.addAttachment("Метрики скриншотов", "text/plain", "txt", (
+                "Вызовов WebDriver: " + calls + "\n"
+                        + "Скриншотов: " + captured + ", ссылок на повторные: " + deduplicated + "\n"
+                        + "Отброшено при заполненной очереди: " + dropped + "\n"
+                        + "Глубина очереди: " + queue.getDepth() + ", максимальная: " + queue.getPeakDepth() + "\n"
+                        + "Всего записано: " + queue.getWritten() + ", всего отброшено: " + queue.getDropped())
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Метод для разбора политики скриншотов из конфигурации.
+     *
+     * @param names названия событий: navigation, click, failure.
+     * @return множество событий, по которым создается скриншот.
+     */
+    public static Set<Policy> parsePolicies(List<String> names) {
+        Set<Policy> policies = EnumSet.noneOf(Policy.class);
+        for (String name : names) {
+            policies.add(Policy.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        }
+        return policies;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package helpers;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Класс для создания экземпляров веб-драйвера.
+ * Собирает настройки браузера в одном месте для тестов и вспомогательных сессий.
+ * Неявное ожидание отключено, все ожидания выполняются явно на страницах.
+ * Профиль full запускает обычный Chrome в развернутом окне, а профиль lean - экономный Chrome
+ * для запуска многих браузеров на одной машине: без окна, с фиксированным размером страницы,
+ * без декодирования изображений, с ограниченным числом процессов и профилем пользователя в памяти.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+public class DriverFactory {
+    /**
+     * Название экономного профиля запуска браузера.
+     */
+    public static final String LEAN_PROFILE = "lean";
+
+    /**
+     * Максимальное количество процессов отрисовки страниц в экономном профиле.
+     */
+    private static final int LEAN_RENDERER_PROCESS_LIMIT = 2;
+
+    /**
+     * Каталоги профилей пользователя экономного профиля, браузеры которых еще не закрыты.
+     * Каталог удаляется при закрытии его браузера, а оставшиеся, например от незакрытых сессий, - при завершении JVM.
+     */
+    private static final List<Path> USER_DATA_DIRS = new CopyOnWriteArrayList<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> USER_DATA_DIRS.forEach(DriverFactory::deleteDirectory),
+                "user-data-dirs-cleanup"));
+    }
+
+    /**
+     * Метод для создания и настройки нового Chrome браузера.
+     *
+     * @return новый экземпляр веб-драйвера
+     */
+    public static WebDriver createChromeDriver() {
+        System.setProperty("webdriver.chrome.driver", ConfigProvider.CHROME_DRIVER_PATH);
+        ChromeOptions chromeOptions = new ChromeOptions();
+        chromeOptions.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+        boolean lean = LEAN_PROFILE.equals(ConfigProvider.DRIVER_PROFILE);
+        WebDriver driver;
+        if (lean) {
+            Path userDataDir = createUserDataDir();
+            applyLeanProfile(chromeOptions, userDataDir);
+            try {
+                driver = new LeanChromeDriver(chromeOptions, userDataDir);
+            } catch (RuntimeException e) {
+                USER_DATA_DIRS.remove(userDataDir);
+                deleteDirectory(userDataDir);
+                throw e;
+            }
+        } else {
+            driver = new ChromeDriver(chromeOptions);
+        }
+        driver.manage().deleteAllCookies();
+        if (!lean) {
+            driver.manage().window().maximize();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(ConfigProvider.EXPLICIT_WAIT * 2L));
+        return driver;
+    }
+
+    /**
+     * Метод для настройки экономного профиля запуска браузера.
+     * Изображения не декодируются, но элементы изображений и их атрибуты остаются на странице.
+     *
+     * @param chromeOptions настройки браузера
+     * @param userDataDir   каталог профиля пользователя
+     */
+    private static void applyLeanProfile(ChromeOptions chromeOptions, Path userDataDir) {
+        chromeOptions.addArguments(
+                "--headless=new",
+                "--window-size=" + ConfigProvider.DRIVER_LEAN_WINDOW_WIDTH + "," + ConfigProvider.DRIVER_LEAN_WINDOW_HEIGHT,
+                "--blink-settings=imagesEnabled=false",
+                "--renderer-process-limit=" + LEAN_RENDERER_PROCESS_LIMIT,
+                "--disable-features=site-per-process,Translate,OptimizationHints,MediaRouter",
+                "--disable-gpu",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--no-first-run",
+                "--mute-audio",
+                "--user-data-dir=" + userDataDir);
+    }
+
+    /**
+     * Метод для создания каталога профиля пользователя в файловой системе в памяти.
+     * Если каталог для профилей не существует, например на Windows, используется временный каталог системы.
+     *
+     * @return путь к новому каталогу профиля
+     */
+    private static Path createUserDataDir() {
+        try {
+            Path root = Paths.get(ConfigProvider.DRIVER_LEAN_USER_DATA_ROOT);
+            Path userDataDir = Files.isDirectory(root) && Files.isWritable(root)
+                    ? Files.createTempDirectory(root, "chrome-lean-")
+                    : Files.createTempDirectory("chrome-lean-");
+            USER_DATA_DIRS.add(userDataDir);
+            return userDataDir;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать каталог профиля браузера", e);
+        }
+    }
+
+    /**
+     * Метод для удаления каталога со всем содержимым.
+     *
+     * @param directory каталог
+     */
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Каталог уже удален или занят браузером, который еще не завершился.
+        }
+    }
+
+    /**
+     * Chrome экономного профиля, который при закрытии удаляет свой каталог профиля пользователя.
+     * Каталог лежит в файловой системе в памяти, поэтому не должен оставаться до конца прогона
+     * после каждой сессии теста и проверки брендов.
+     */
+    private static class LeanChromeDriver extends ChromeDriver {
+        /**
+         * Каталог профиля пользователя браузера.
+         */
+        private final Path userDataDir;
+
+        /**
+         * Конструктор браузера экономного профиля.
+         *
+         * @param chromeOptions настройки браузера
+         * @param userDataDir   каталог профиля пользователя
+         */
+        LeanChromeDriver(ChromeOptions chromeOptions, Path userDataDir) {
+            super(chromeOptions);
+            this.userDataDir = userDataDir;
+        }
+
+        /**
+         * Метод для закрытия браузера и удаления каталога его профиля пользователя.
+         */
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                USER_DATA_DIRS.remove(userDataDir);
+                deleteDirectory(userDataDir);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Класс пула сессий браузера, переиспользуемых между тестами.
+ * Вместо запуска нового браузера для каждого теста выдает уже запущенную сессию,
+ * а после теста сбрасывает ее состояние: закрывает лишние окна, удаляет cookies всех доменов,
+ * очищает хранилища сайтов, которые посещал тест, и открывает пустую страницу.
+ * Перед выдачей сессия проверяется на работоспособность и пересоздается после заданного числа тестов.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see DriverFactory
+ */
+public class DriverPool {
+    /**
+     * Общий пул сессий с настройками из конфигурации.
+     */
+    private static final DriverPool INSTANCE = new DriverPool(ConfigProvider.DRIVER_POOL_MAX_IDLE,
+            ConfigProvider.DRIVER_POOL_MAX_USES, DriverFactory::createChromeDriver);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::close, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Пустая страница, которая открывается при сбросе сессии.
+     */
+    private static final String BLANK_PAGE = "about:blank";
+
+    /**
+     * Свободные сессии, готовые к выдаче, не больше maxIdle.
+     */
+    private final BlockingQueue<WebDriver> idle;
+
+    /**
+     * Количество тестов, выполненных каждой сессией.
+     */
+    private final Map<WebDriver, Integer> uses = new ConcurrentHashMap<>();
+
+    /**
+     * Количество тестов, после которого сессия пересоздается.
+     */
+    private final int maxUses;
+
+    /**
+     * Фабрика для создания сессий браузера.
+     */
+    private final Supplier<WebDriver> driverFactory;
+
+    /**
+     * Конструктор пула сессий браузера.
+     *
+     * Свободные сессии общего пула закрываются при завершении JVM,
+     * отдельно созданный пул закрывается методом {@link #close()}.
+     *
+     * @param maxIdle       максимальное количество свободных сессий в пуле, не меньше 1
+     * @param maxUses       количество тестов, после которого сессия пересоздается
+     * @param driverFactory фабрика для создания сессий браузера
+     */
+    public DriverPool(int maxIdle, int maxUses, Supplier<WebDriver> driverFactory) {
+        this.idle = new LinkedBlockingQueue<>(maxIdle);
+        this.maxUses = maxUses;
+        this.driverFactory = driverFactory;
+    }
+
+    /**
+     * Метод для получения общего пула сессий.
+     *
+     * @return общий пул сессий браузера
+     */
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Метод для получения работоспособной сессии браузера.
+     * Неработоспособные свободные сессии закрываются, если свободных нет - создается новая.
+     *
+     * @return сессия браузера
+     */
+    public WebDriver acquire() {
+        WebDriver driver;
+        while ((driver = idle.poll()) != null) {
+            if (isHealthy(driver)) {
+                return driver;
+            }
+            discard(driver);
+        }
+        driver = driverFactory.get();
+        uses.put(driver, 0);
+        return driver;
+    }
+
+    /**
+     * Метод для возврата сессии в пул после теста.
+     * Сессия закрывается, если исчерпала количество использований, не сбрасывается или пул заполнен.
+     *
+     * @param driver сессия браузера
+     */
+    public void release(WebDriver driver) {
+        int used = uses.merge(driver, 1, Integer::sum);
+        if (used >= maxUses || !reset(driver) || !idle.offer(driver)) {
+            discard(driver);
+        }
+    }
+
+    /**
+     * Метод для сброса состояния сессии между тестами.
+     *
+     * @param driver сессия браузера
+     * @return true если состояние сброшено, false если сессия неработоспособна
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String mainHandle = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(mainHandle)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(mainHandle);
+            if (CdpSupport.isSupported(driver)) {
+                clearBrowserData(driver);
+            } else {
+                clearStorage(driver);
+                driver.manage().deleteAllCookies();
+            }
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Метод для очистки данных всех сайтов, которые посещал тест, через протокол Chrome DevTools.
+     * deleteAllCookies() и очистка хранилищ скриптом действуют только на сайт текущей страницы,
+     * а тест мог побывать на поддоменах Маркета, в Паспорте и на других сайтах.
+     * Сайты определяются по доменам cookies браузера и адресу текущей страницы, для каждого очищаются
+     * все хранилища, после чего удаляются cookies всех доменов.
+     *
+     * @param driver сессия браузера
+     */
+    @SuppressWarnings("unchecked")
+    private void clearBrowserData(WebDriver driver) {
+        Set<String> origins = new LinkedHashSet<>();
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl.startsWith("http")) {
+            origins.add(ReplayArchive.origin(currentUrl));
+        }
+        Object cookies = CdpSupport.execute(driver, "Network.getAllCookies").get("cookies");
+        if (cookies instanceof List) {
+            for (Map<String, Object> cookie : (List<Map<String, Object>>) cookies) {
+                String domain = CdpSupport.string(cookie, "domain");
+                if (domain.startsWith(".")) {
+                    domain = domain.substring(1);
+                }
+                if (!domain.isEmpty()) {
+                    origins.add("https://" + domain);
+                    origins.add("http://" + domain);
+                }
+            }
+        }
+        for (String origin : origins) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("origin", origin);
+            params.put("storageTypes", "all");
+            CdpSupport.execute(driver, "Storage.clearDataForOrigin", params);
+        }
+        CdpSupport.execute(driver, "Network.clearBrowserCookies");
+    }
+
+    /**
+     * Метод для очистки localStorage и sessionStorage текущей страницы в браузерах без протокола DevTools.
+     * На страницах без доступа к хранилищам очистка пропускается.
+     *
+     * @param driver сессия браузера
+     */
+    private void clearStorage(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+    }
+
+    /**
+     * Метод для проверки работоспособности сессии.
+     *
+     * @param driver сессия браузера
+     * @return true если браузер отвечает на команды
+     */
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandles();
+            ((JavascriptExecutor) driver).executeScript("return 1;");
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Метод для закрытия сессии без возврата в пул.
+     *
+     * @param driver сессия браузера
+     */
+    private void discard(WebDriver driver) {
+        uses.remove(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException ignored) {
+            // Сессия уже неработоспособна, закрывать нечего.
+        }
+    }
+
+    /**
+     * Метод для закрытия всех свободных сессий.
+     * Для общего пула вызывается при завершении JVM, а для отдельно созданного - по окончании работы с ним.
+     */
+    public void close() {
+        WebDriver driver;
+        while ((driver = idle.poll()) != null) {
+            discard(driver);
+        }
+    }
+}
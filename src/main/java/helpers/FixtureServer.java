@@ -0,0 +1,612 @@
+package helpers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Класс встроенного HTTP-сервера с локальной копией страниц Яндекс Маркета.
+ * Отдает главную страницу с каталогом, список товаров с фильтрами и догрузкой страниц,
+ * карточки товаров и результаты поиска вместе с изображениями, шрифтом и скриптом счетчика, поэтому тесты и замеры можно выполнять без сети
+ * и с одинаковыми данными в каждом запуске.
+ * Товары список получает из JSON по адресу /api/products, данные товаров строятся
+ * из фиксированного начального значения генератора.
+ * Для проверки поведения на медленной сети можно задать задержку ответа и ограничение скорости.
+ * Вместо сгенерированных страниц сервер может воспроизводить архив, записанный {@link SessionRecorder}
+ * на настоящем сайте, с исходным временем ответов или без задержек.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+public class FixtureServer {
+    /**
+     * Каталог шаблонов страниц в ресурсах.
+     */
+    private static final String TEMPLATES = "/fixtures/market/";
+
+    /**
+     * Количество товаров на одной странице списка.
+     */
+    private static final int PAGE_SIZE = 24;
+
+    /**
+     * Интервал между частями ответа при ограничении скорости в миллисекундах.
+     */
+    private static final int THROTTLE_INTERVAL_MILLIS = 50;
+
+    /**
+     * Начальное значение генератора данных товаров.
+     */
+    private static final long SEED = 20240601L;
+
+    /**
+     * Изображение размером в один пиксель, которое отдается вместо баннеров и фотографий товаров.
+     */
+    private static final byte[] PIXEL_PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+
+    /**
+     * Размер файла шрифта в байтах.
+     */
+    private static final int FONT_SIZE = 32 * 1024;
+
+    /**
+     * Значение настройки времени воспроизведения, при котором ответы отдаются с записанным временем.
+     */
+    private static final String REPLAY_TIMING_ORIGINAL = "original";
+
+    /**
+     * Бренды товаров и их идентификаторы в фильтре брендов.
+     */
+    private static final String[][] BRANDS = {
+            {"Lenovo", "152981"},
+            {"HP", "152722"},
+            {"ASUS", "152863"},
+            {"Acer", "267101"},
+            {"Apple", "153043"},
+            {"MSI", "8476099"}
+    };
+
+    /**
+     * Модели ноутбуков каждого бренда, в том же порядке что и бренды.
+     */
+    private static final String[][] MODELS = {
+            {"IdeaPad Slim 3", "ThinkPad E16", "V15 G4"},
+            {"255 G10", "Pavilion 15", "Victus 16"},
+            {"VivoBook 15", "Zenbook 14", "TUF Gaming F15"},
+            {"Aspire 5", "Extensa 15", "Swift Go 14"},
+            {"MacBook Air 13", "MacBook Pro 14", "MacBook Air 15"},
+            {"Modern 15", "Thin GF63", "Prestige 14"}
+    };
+
+    /**
+     * Общий сервер с настройками из конфигурации, запускается при первом обращении.
+     */
+    private static FixtureServer instance;
+
+    /**
+     * HTTP-сервер JDK.
+     */
+    private final HttpServer server;
+
+    /**
+     * Пул потоков обработки запросов.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Задержка перед каждым ответом в миллисекундах.
+     */
+    private final int latencyMillis;
+
+    /**
+     * Ограничение скорости отдачи в байтах в секунду, 0 - без ограничения.
+     */
+    private final long bytesPerSecond;
+
+    /**
+     * Товары каталога в порядке выдачи.
+     */
+    private final List<Product> products;
+
+    /**
+     * Воспроизводимый архив, null если сервер отдает сгенерированные страницы.
+     */
+    private final ReplayArchive replayArchive;
+
+    /**
+     * Отвечать ли при воспроизведении с тем же временем, что и при записи.
+     */
+    private final boolean originalTiming;
+
+    /**
+     * Конструктор сервера.
+     *
+     * @param port          порт, 0 - любой свободный порт
+     * @param latencyMillis задержка перед каждым ответом в миллисекундах
+     * @param bandwidthKbps ограничение скорости отдачи в килобайтах в секунду, 0 - без ограничения
+     * @param productsCount количество товаров в каталоге
+     */
+    public FixtureServer(int port, int latencyMillis, int bandwidthKbps, int productsCount) {
+        this(port, latencyMillis, bandwidthKbps, generateProducts(productsCount), null, false);
+    }
+
+    /**
+     * Конструктор сервера, воспроизводящего записанный архив.
+     *
+     * @param port           порт, 0 - любой свободный порт
+     * @param replayArchive  воспроизводимый архив
+     * @param originalTiming true - отвечать с тем же временем, что и при записи, false - без задержек
+     */
+    public FixtureServer(int port, ReplayArchive replayArchive, boolean originalTiming) {
+        this(port, 0, 0, Collections.<Product>emptyList(), replayArchive, originalTiming);
+    }
+
+    /**
+     * Общий конструктор сервера.
+     *
+     * @param port           порт, 0 - любой свободный порт
+     * @param latencyMillis  задержка перед каждым ответом в миллисекундах
+     * @param bandwidthKbps  ограничение скорости отдачи в килобайтах в секунду, 0 - без ограничения
+     * @param products       товары каталога
+     * @param replayArchive  воспроизводимый архив или null
+     * @param originalTiming отвечать ли при воспроизведении с тем же временем, что и при записи
+     */
+    private FixtureServer(int port, int latencyMillis, int bandwidthKbps, List<Product> products,
+                          ReplayArchive replayArchive, boolean originalTiming) {
+        this.latencyMillis = latencyMillis;
+        this.bytesPerSecond = bandwidthKbps * 1024L;
+        this.products = products;
+        this.replayArchive = replayArchive;
+        this.originalTiming = originalTiming;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить локальный сервер на порту " + port, e);
+        }
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Метод для получения общего сервера с настройками из конфигурации.
+     * Сервер запускается при первом вызове и останавливается при завершении JVM.
+     * Если в конфигурации указан архив записи, сервер воспроизводит его.
+     *
+     * @return запущенный сервер
+     */
+    public static synchronized FixtureServer getInstance() {
+        if (instance == null) {
+            instance = ConfigProvider.FIXTURE_SERVER_REPLAY_ARCHIVE.isEmpty()
+                    ? new FixtureServer(ConfigProvider.FIXTURE_SERVER_PORT, ConfigProvider.FIXTURE_SERVER_LATENCY_MILLIS,
+                    ConfigProvider.FIXTURE_SERVER_BANDWIDTH_KBPS, ConfigProvider.FIXTURE_SERVER_PRODUCTS)
+                    : new FixtureServer(ConfigProvider.FIXTURE_SERVER_PORT,
+                    ReplayArchive.read(Paths.get(ConfigProvider.FIXTURE_SERVER_REPLAY_ARCHIVE)),
+                    REPLAY_TIMING_ORIGINAL.equals(ConfigProvider.FIXTURE_SERVER_REPLAY_TIMING));
+            FixtureServer started = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(started::stop, "fixture-server-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Метод для получения адреса главной страницы сервера.
+     *
+     * @return адрес вида http://127.0.0.1:порт/
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Метод для остановки сервера.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Метод для обработки запроса и выбора страницы по адресу.
+     *
+     * @param exchange запрос и ответ
+     * @throws IOException если не удалось отправить ответ
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        if (replayArchive != null) {
+            replay(exchange);
+            return;
+        }
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (path.equals("/")) {
+                send(exchange, 200, "text/html; charset=utf-8", template("home.html"));
+            } else if (path.startsWith("/catalog") || path.equals("/search")) {
+                send(exchange, 200, "text/html; charset=utf-8", template("listing.html"));
+            } else if (path.equals("/api/products")) {
+                send(exchange, 200, "application/json; charset=utf-8",
+                        productsPage(query).getBytes(StandardCharsets.UTF_8));
+            } else if (path.startsWith("/static/")) {
+                sendStatic(exchange, path.substring("/static/".length()));
+            } else if (path.startsWith("/product/")) {
+                Product product = findProduct(path.substring("/product/".length()));
+                if (product == null) {
+                    send(exchange, 404, "text/plain; charset=utf-8", "Товар не найден".getBytes(StandardCharsets.UTF_8));
+                } else {
+                    send(exchange, 200, "text/html; charset=utf-8", card(product));
+                }
+            } else {
+                send(exchange, 404, "text/plain; charset=utf-8", "Страница не найдена".getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Метод для ответа на запрос из воспроизводимого архива.
+     * Адреса сайта в текстовых ответах и в перенаправлениях заменяются адресом этого сервера.
+     *
+     * @param exchange запрос и ответ
+     * @throws IOException если не удалось отправить ответ
+     */
+    private void replay(HttpExchange exchange) throws IOException {
+        try {
+            ReplayArchive.Entry entry = replayArchive.find(exchange.getRequestMethod(),
+                    exchange.getRequestURI().getRawPath() + (exchange.getRequestURI().getRawQuery() == null
+                            ? "" : "?" + exchange.getRequestURI().getRawQuery()));
+            if (entry == null) {
+                send(exchange, 404, "text/plain; charset=utf-8",
+                        "Запрос не записан".getBytes(StandardCharsets.UTF_8), 0);
+                return;
+            }
+            if (!entry.getLocation().isEmpty()) {
+                exchange.getResponseHeaders().set("Location", replayArchive.rewriteUrl(entry.getLocation(), getBaseUrl()));
+            }
+            send(exchange, entry.getStatus(), replayArchive.contentType(entry), replayArchive.body(entry, getBaseUrl()),
+                    originalTiming ? entry.getDurationMillis() : 0);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Метод для построения страницы списка товаров в формате JSON.
+     * Поддерживает параметры page, pricefrom, priceto, glfilter и text.
+     *
+     * @param query параметры запроса
+     * @return страница товаров в формате JSON
+     */
+    private String productsPage(Map<String, String> query) {
+        long priceFrom = parseLong(query.get("pricefrom"), 0);
+        long priceTo = parseLong(query.get("priceto"), Long.MAX_VALUE);
+        Set<String> brandIds = parseBrandFilter(query.get("glfilter"));
+        String text = query.getOrDefault("text", "").trim().toLowerCase(Locale.ROOT);
+
+        List<Product> matched = new ArrayList<>();
+        for (Product product : products) {
+            if (product.price >= priceFrom && product.price <= priceTo
+                    && (brandIds.isEmpty() || brandIds.contains(product.brandId))
+                    && (text.isEmpty() || product.name.toLowerCase(Locale.ROOT).contains(text))) {
+                matched.add(product);
+            }
+        }
+
+        int pages = Math.max(1, (matched.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        int page = (int) Math.min(Math.max(1, parseLong(query.get("page"), 1)), pages);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Product product : matched.subList(Math.min(matched.size(), (page - 1) * PAGE_SIZE),
+                Math.min(matched.size(), page * PAGE_SIZE))) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", product.id);
+            item.put("name", product.name);
+            item.put("price", product.price);
+            item.put("vendor", product.brand);
+            item.put("url", "/product/" + product.id);
+            items.add(item);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("page", page);
+        result.put("pages", pages);
+        result.put("total", matched.size());
+        result.put("products", items);
+        return new Json().toJson(result);
+    }
+
+    /**
+     * Метод для отправки статического ресурса страницы: изображения, шрифта или скрипта счетчика.
+     * Содержимое ресурсов не важно для проверок, они нужны, чтобы страницы загружались как на сайте.
+     *
+     * @param exchange запрос и ответ
+     * @param name     имя ресурса
+     * @throws IOException если не удалось отправить ответ
+     */
+    private void sendStatic(HttpExchange exchange, String name) throws IOException {
+        if (name.endsWith(".png")) {
+            send(exchange, 200, "image/png", PIXEL_PNG);
+        } else if (name.endsWith(".woff2")) {
+            send(exchange, 200, "font/woff2", new byte[FONT_SIZE]);
+        } else if (name.endsWith(".js")) {
+            send(exchange, 200, "application/javascript; charset=utf-8",
+                    "window.metrikaHits = (window.metrikaHits || 0) + 1;".getBytes(StandardCharsets.UTF_8));
+        } else {
+            send(exchange, 404, "text/plain; charset=utf-8", "Ресурс не найден".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Метод для построения страницы карточки товара.
+     *
+     * @param product товар
+     * @return страница карточки товара
+     */
+    private byte[] card(Product product) {
+        String html = new String(template("card.html"), StandardCharsets.UTF_8)
+                .replace("{{name}}", escapeHtml(product.name))
+                .replace("{{brand}}", escapeHtml(product.brand))
+                .replace("{{price}}", Long.toString(product.price));
+        return html.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Метод для поиска товара по идентификатору.
+     *
+     * @param id идентификатор товара из адреса карточки
+     * @return товар или null если товара с таким идентификатором нет
+     */
+    private Product findProduct(String id) {
+        for (Product product : products) {
+            if (product.id.equals(id)) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Метод для отправки ответа с задержкой и ограничением скорости из настроек сервера.
+     *
+     * @param exchange    запрос и ответ
+     * @param status      код ответа
+     * @param contentType тип содержимого
+     * @param body        тело ответа
+     * @throws IOException если не удалось отправить ответ
+     */
+    private void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        send(exchange, status, contentType, body, latencyMillis);
+    }
+
+    /**
+     * Метод для отправки ответа с заданной задержкой и ограничением скорости из настроек сервера.
+     *
+     * @param exchange    запрос и ответ
+     * @param status      код ответа
+     * @param contentType тип содержимого
+     * @param body        тело ответа
+     * @param delayMillis задержка перед ответом в миллисекундах
+     * @throws IOException если не удалось отправить ответ
+     */
+    private void send(HttpExchange exchange, int status, String contentType, byte[] body, long delayMillis)
+            throws IOException {
+        pause(delayMillis);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (bytesPerSecond <= 0) {
+                out.write(body);
+                return;
+            }
+            int chunk = (int) Math.max(1, bytesPerSecond * THROTTLE_INTERVAL_MILLIS / 1000);
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                out.write(body, offset, Math.min(chunk, body.length - offset));
+                out.flush();
+                pause(THROTTLE_INTERVAL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Метод для чтения шаблона страницы из ресурсов.
+     *
+     * @param name имя файла шаблона
+     * @return содержимое шаблона
+     */
+    private static byte[] template(String name) {
+        try (InputStream in = FixtureServer.class.getResourceAsStream(TEMPLATES + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Шаблон страницы не найден: " + TEMPLATES + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать шаблон страницы " + name, e);
+        }
+    }
+
+    /**
+     * Метод для построения каталога товаров.
+     * Часть наименований не содержит бренда, чтобы проверка бренда требовала открытия карточки.
+     *
+     * @param count количество товаров
+     * @return товары каталога
+     */
+    private static List<Product> generateProducts(int count) {
+        Random random = new Random(SEED);
+        List<Product> generated = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int brandIndex = random.nextInt(BRANDS.length);
+            String[] brand = BRANDS[brandIndex];
+            String model = MODELS[brandIndex][random.nextInt(MODELS[brandIndex].length)];
+            long price = 5_000 + random.nextInt(40) * 500L + 990;
+            boolean brandInName = random.nextInt(5) != 0;
+            String name = "Ноутбук " + (brandInName ? brand[0] + " " : "") + model + ", 15.6\", вариант " + (i + 1);
+            generated.add(new Product(Integer.toString(100_000 + i), name, brand[0], brand[1], price));
+        }
+        return Collections.unmodifiableList(generated);
+    }
+
+    /**
+     * Метод для разбора параметров запроса.
+     *
+     * @param rawQuery строка параметров без декодирования
+     * @return параметры запроса
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            String[] pair = parameter.split("=", 2);
+            try {
+                query.put(URLDecoder.decode(pair[0], "UTF-8"), pair.length > 1 ? URLDecoder.decode(pair[1], "UTF-8") : "");
+            } catch (IOException | IllegalArgumentException e) {
+                // Некорректный параметр пропускается, как это сделал бы сайт.
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Метод для разбора фильтра брендов вида 7893318:152981,152722.
+     *
+     * @param glfilter значение параметра glfilter
+     * @return идентификаторы брендов, пустое множество если фильтра брендов нет
+     */
+    private static Set<String> parseBrandFilter(String glfilter) {
+        if (glfilter == null || !glfilter.startsWith(ConfigProvider.BRAND_FILTER_ID + ":")) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(Arrays.asList(glfilter.substring(glfilter.indexOf(':') + 1).split(",")));
+    }
+
+    /**
+     * Метод для разбора числового параметра.
+     *
+     * @param value        значение параметра
+     * @param defaultValue значение по умолчанию, если параметр не задан или не число
+     * @return значение параметра
+     */
+    private static long parseLong(String value, long defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return (long) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Метод для экранирования текста перед вставкой в HTML.
+     *
+     * @param text текст
+     * @return экранированный текст
+     */
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Метод для паузы перед ответом или между частями ответа.
+     *
+     * @param millis длительность паузы в миллисекундах
+     */
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Товар каталога локального сервера.
+     */
+    private static class Product {
+        /**
+         * Идентификатор товара.
+         */
+        private final String id;
+
+        /**
+         * Наименование товара.
+         */
+        private final String name;
+
+        /**
+         * Бренд товара.
+         */
+        private final String brand;
+
+        /**
+         * Идентификатор бренда в фильтре брендов.
+         */
+        private final String brandId;
+
+        /**
+         * Цена товара в рублях.
+         */
+        private final long price;
+
+        /**
+         * Конструктор товара.
+         *
+         * @param id      идентификатор товара
+         * @param name    наименование товара
+         * @param brand   бренд товара
+         * @param brandId идентификатор бренда в фильтре брендов
+         * @param price   цена товара в рублях
+         */
+        Product(String id, String name, String brand, String brandId, long price) {
+            this.id = id;
+            this.name = name;
+            this.brand = brand;
+            this.brandId = brandId;
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package helpers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс для потоковой записи результатов проверки товаров в файл NDJSON: одна строка JSON на товар.
+ * Результаты не копятся в памяти до конца теста, а дописываются в буфер и сбрасываются в файл партиями,
+ * поэтому память не растет на длинных прогонах с многими страницами.
+ * Строки JSON пишутся прямо в буфер без промежуточных словарей и строк.
+ * В конце теста файл сбрасывается на диск вызовом fsync и прикладывается к отчету одним вложением.
+ * Файл ведется отдельно для каждого потока теста.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+public class ProductResultSink {
+    /**
+     * Файл результатов, который ведется в текущем потоке теста.
+     */
+    private static final ThreadLocal<ProductResultSink> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Размер буфера записи в символах.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Путь к файлу результатов.
+     */
+    private final Path file;
+
+    /**
+     * Канал файла для сброса на диск.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Буферизованная запись в файл.
+     */
+    private final Writer writer;
+
+    /**
+     * Количество записей, после которого буфер сбрасывается в файл.
+     */
+    private final int flushEvery;
+
+    /**
+     * Время начала записи в наносекундах.
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Количество записанных результатов.
+     */
+    private int recordsCount;
+
+    /**
+     * Конструктор файла результатов.
+     *
+     * @param file       путь к файлу результатов
+     * @param flushEvery количество записей, после которого буфер сбрасывается в файл
+     * @throws IOException если не удалось открыть файл
+     */
+    private ProductResultSink(Path file, int flushEvery) throws IOException {
+        this.file = file;
+        this.flushEvery = Math.max(1, flushEvery);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    /**
+     * Метод для начала записи результатов в текущем потоке теста.
+     *
+     * @param file путь к файлу результатов
+     * @return файл результатов
+     */
+    public static ProductResultSink start(Path file) {
+        try {
+            ProductResultSink sink = new ProductResultSink(file, ConfigProvider.RESULTS_FLUSH_EVERY);
+            CURRENT.set(sink);
+            return sink;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть файл результатов " + file, e);
+        }
+    }
+
+    /**
+     * Метод для получения файла результатов, который ведется в текущем потоке теста.
+     *
+     * @return файл результатов или null если запись выключена
+     */
+    public static ProductResultSink current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Метод для записи результата проверки товара.
+     *
+     * @param page        номер загруженной страницы списка, начиная с 1
+     * @param name        наименование товара
+     * @param price       цена товара
+     * @param brandSource откуда взят бренд: name, cache, card, pool или response
+     * @param brand       бренд товара или пустая строка если бренд найден в наименовании
+     * @param verdict     результат проверки: passed, duplicate, price_mismatch или brand_mismatch
+     * @param checkNanos  время проверки товара в наносекундах
+     */
+    public synchronized void record(int page, String name, long price, String brandSource, String brand,
+                                    String verdict, long checkNanos) {
+        try {
+            writer.write("{\"page\":");
+            writer.write(Integer.toString(page));
+            writer.write(",\"name\":");
+            writeString(name);
+            writer.write(",\"price\":");
+            writer.write(Long.toString(price));
+            writer.write(",\"brandSource\":");
+            writeString(brandSource);
+            writer.write(",\"brand\":");
+            writeString(brand);
+            writer.write(",\"verdict\":");
+            writeString(verdict);
+            writer.write(",\"checkMicros\":");
+            writer.write(Long.toString(TimeUnit.NANOSECONDS.toMicros(checkNanos)));
+            writer.write(",\"offsetMillis\":");
+            writer.write(Long.toString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+            writer.write("}\n");
+            if (++recordsCount % flushEvery == 0) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать результат в " + file, e);
+        }
+    }
+
+    /**
+     * Метод для записи строки JSON в кавычках с экранированием кавычек, обратной косой черты и управляющих символов.
+     *
+     * @param value строка
+     * @throws IOException если не удалось записать строку
+     */
+    private void writeString(String value) throws IOException {
+        writer.write('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Метод для завершения записи: буфер сбрасывается в файл, файл - на диск, и файл закрывается.
+     *
+     * @return путь к файлу результатов
+     */
+    public synchronized Path close() {
+        CURRENT.remove();
+        try (Writer closing = writer) {
+            closing.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить файл результатов " + file, e);
+        }
+        return file;
+    }
+
+    /**
+     * Метод для получения количества записанных результатов.
+     *
+     * @return количество результатов
+     */
+    public synchronized int getRecordsCount() {
+        return recordsCount;
+    }
+}
@@ -0,0 +1,541 @@
+package helpers;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Класс архива записанной сессии браузера.
+ * Архив хранит ответы на все запросы страницы: HTML, ответы XHR и fetch и ресурсы страницы.
+ * Это zip-файл с оглавлением index.json и телами ответов в каталоге bodies, каждое тело
+ * хранится один раз под своим хешем SHA-256 и сжимается, поэтому повторяющиеся ресурсы не увеличивают архив.
+ * При воспроизведении ответы ищутся по методу и адресу запроса, адреса основного сайта
+ * отдаются с корня сервера воспроизведения, а адреса других сайтов - с префикса /__host/.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see SessionRecorder
+ * @see FixtureServer
+ */
+public class ReplayArchive {
+    /**
+     * Имя оглавления архива.
+     */
+    private static final String INDEX = "index.json";
+
+    /**
+     * Каталог тел ответов в архиве.
+     */
+    private static final String BODIES = "bodies/";
+
+    /**
+     * Префикс адресов других сайтов на сервере воспроизведения.
+     */
+    static final String FOREIGN_HOST_PREFIX = "/__host/";
+
+    /**
+     * Записи косой черты в текстовых ответах: обычная, экранированная в JSON и экранированная в JavaScript.
+     */
+    private static final String[] SLASH_FORMS = {"/", "\\/", "\\u002F", "\\u002f"};
+
+    /**
+     * Адрес основного сайта записи вида https://market.yandex.ru.
+     */
+    private final String primaryOrigin;
+
+    /**
+     * Записанные ответы в порядке получения.
+     */
+    private final List<Entry> entries;
+
+    /**
+     * Тела ответов по хешу содержимого.
+     */
+    private final Map<String, byte[]> bodies;
+
+    /**
+     * Ответы по методу и адресу запроса на сервере воспроизведения, при повторах хранится первый ответ.
+     */
+    private final Map<String, Entry> byRequest = new HashMap<>();
+
+    /**
+     * Ответы по методу и пути запроса без параметров, используются если точного совпадения нет.
+     */
+    private final Map<String, Entry> byPath = new HashMap<>();
+
+    /**
+     * Конструктор архива.
+     *
+     * @param primaryOrigin адрес основного сайта записи
+     * @param entries       записанные ответы
+     * @param bodies        тела ответов по хешу содержимого
+     */
+    public ReplayArchive(String primaryOrigin, List<Entry> entries, Map<String, byte[]> bodies) {
+        this.primaryOrigin = primaryOrigin;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.bodies = Collections.unmodifiableMap(new HashMap<>(bodies));
+        for (Entry entry : this.entries) {
+            String replayPath = replayPath(entry.url);
+            byRequest.putIfAbsent(entry.method + " " + replayPath, entry);
+            byPath.putIfAbsent(entry.method + " " + stripQuery(replayPath), entry);
+        }
+    }
+
+    /**
+     * Метод для чтения архива из файла.
+     *
+     * @param path путь к архиву
+     * @return прочитанный архив
+     */
+    @SuppressWarnings("unchecked")
+    public static ReplayArchive read(Path path) {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry indexEntry = zip.getEntry(INDEX);
+            if (indexEntry == null) {
+                throw new IllegalStateException("В архиве " + path + " нет оглавления " + INDEX);
+            }
+            Map<String, Object> index = new Json().toType(
+                    new String(readAll(zip.getInputStream(indexEntry)), StandardCharsets.UTF_8), Json.MAP_TYPE);
+
+            List<Entry> entries = new ArrayList<>();
+            Map<String, byte[]> bodies = new HashMap<>();
+            for (Object item : (List<Object>) index.get("entries")) {
+                Entry entry = Entry.fromMap((Map<String, Object>) item);
+                entries.add(entry);
+                if (!entry.body.isEmpty() && !bodies.containsKey(entry.body)) {
+                    ZipEntry bodyEntry = zip.getEntry(BODIES + entry.body);
+                    if (bodyEntry == null) {
+                        throw new IllegalStateException("В архиве " + path + " нет тела ответа " + entry.body);
+                    }
+                    bodies.put(entry.body, readAll(zip.getInputStream(bodyEntry)));
+                }
+            }
+            return new ReplayArchive((String) index.get("primaryOrigin"), entries, bodies);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать архив " + path, e);
+        }
+    }
+
+    /**
+     * Метод для записи архива в файл.
+     *
+     * @param path путь к архиву, каталоги создаются при необходимости
+     */
+    public void write(Path path) {
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("primaryOrigin", primaryOrigin);
+        List<Map<String, Object>> items = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            items.add(entry.toMap());
+        }
+        index.put("entries", items);
+
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            try (OutputStream file = Files.newOutputStream(path);
+                 ZipOutputStream zip = new ZipOutputStream(file)) {
+                zip.setLevel(9);
+                zip.putNextEntry(new ZipEntry(INDEX));
+                zip.write(new Json().toJson(index).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+                for (Map.Entry<String, byte[]> body : bodies.entrySet()) {
+                    zip.putNextEntry(new ZipEntry(BODIES + body.getKey()));
+                    zip.write(body.getValue());
+                    zip.closeEntry();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать архив " + path, e);
+        }
+    }
+
+    /**
+     * Метод для поиска записанного ответа на запрос к серверу воспроизведения.
+     *
+     * @param method       метод запроса
+     * @param pathAndQuery путь и параметры запроса к серверу воспроизведения
+     * @return записанный ответ или null если такой запрос не записывался
+     */
+    public Entry find(String method, String pathAndQuery) {
+        Entry entry = byRequest.get(method + " " + pathAndQuery);
+        return entry != null ? entry : byPath.get(method + " " + stripQuery(pathAndQuery));
+    }
+
+    /**
+     * Метод для получения тела ответа с адресами, переписанными на сервер воспроизведения.
+     * Адреса заменяются только в текстовых ответах, двоичные ресурсы отдаются без изменений.
+     * Заменяются полные адреса вида https://host и адреса без схемы вида //host, в том числе с косыми чертами,
+     * экранированными в JSON и JavaScript, которые часто встречаются в HTML и JSON Маркета.
+     * Адрес без схемы относится к сайту https, если такой сайт записан, иначе к сайту http.
+     *
+     * @param entry   записанный ответ
+     * @param baseUrl адрес сервера воспроизведения вида http://127.0.0.1:порт/
+     * @return тело ответа
+     */
+    public byte[] body(Entry entry, String baseUrl) {
+        byte[] body = entry.body.isEmpty() ? new byte[0] : bodies.get(entry.body);
+        if (!isText(entry.contentType)) {
+            return body;
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        List<String> origins = origins();
+        Map<String, String> byAuthority = new LinkedHashMap<>();
+        for (String origin : origins) {
+            String replacement = origin.equals(primaryOrigin) ? base : base + foreignPrefix(origin);
+            for (String slash : SLASH_FORMS) {
+                text = text.replace(origin.replace("/", slash), replacement.replace("/", slash));
+            }
+            String authority = origin.substring(origin.indexOf("://") + 1);
+            if (!byAuthority.containsKey(authority) || origin.startsWith("https:")) {
+                byAuthority.put(authority, replacement.substring(replacement.indexOf("://") + 1));
+            }
+        }
+        for (Map.Entry<String, String> authority : byAuthority.entrySet()) {
+            for (String slash : SLASH_FORMS) {
+                Pattern schemeRelative = Pattern.compile("(?<![:\\w])" + Pattern.quote(authority.getKey().replace("/", slash))
+                        + "(?![\\w.:-])");
+                text = schemeRelative.matcher(text)
+                        .replaceAll(Matcher.quoteReplacement(authority.getValue().replace("/", slash)));
+            }
+        }
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Метод для получения типа содержимого ответа при воспроизведении.
+     * Браузер возвращает тела текстовых ответов уже декодированными, поэтому они отдаются в UTF-8.
+     *
+     * @param entry записанный ответ
+     * @return тип содержимого с кодировкой для текстовых ответов
+     */
+    public String contentType(Entry entry) {
+        if (entry.contentType.isEmpty()) {
+            return "application/octet-stream";
+        }
+        return isText(entry.contentType) ? entry.contentType + "; charset=utf-8" : entry.contentType;
+    }
+
+    /**
+     * Метод для получения адреса на сервере воспроизведения вместо записанного адреса.
+     *
+     * @param url     записанный адрес
+     * @param baseUrl адрес сервера воспроизведения
+     * @return адрес на сервере воспроизведения
+     */
+    public String rewriteUrl(String url, String baseUrl) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return url.startsWith("http") ? base + replayPath(url) : url;
+    }
+
+    /**
+     * Метод для получения адреса основного сайта записи.
+     *
+     * @return адрес вида https://market.yandex.ru
+     */
+    public String getPrimaryOrigin() {
+        return primaryOrigin;
+    }
+
+    /**
+     * Метод для получения записанных ответов.
+     *
+     * @return ответы в порядке получения
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Метод для получения количества различных тел ответов в архиве.
+     *
+     * @return количество тел ответов
+     */
+    public int getBodiesCount() {
+        return bodies.size();
+    }
+
+    /**
+     * Метод для получения пути на сервере воспроизведения по записанному адресу.
+     *
+     * @param url записанный адрес
+     * @return путь с параметрами запроса
+     */
+    String replayPath(String url) {
+        URI uri = URI.create(url);
+        String pathAndQuery = (uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath())
+                + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        String origin = origin(url);
+        return origin.equals(primaryOrigin) ? pathAndQuery : foreignPrefix(origin) + pathAndQuery;
+    }
+
+    /**
+     * Метод для получения адресов всех сайтов записи, от длинных к коротким,
+     * чтобы при замене адрес одного сайта не заменялся внутри адреса другого.
+     *
+     * @return адреса сайтов вида https://host
+     */
+    private List<String> origins() {
+        Set<String> origins = new LinkedHashSet<>();
+        origins.add(primaryOrigin);
+        for (Entry entry : entries) {
+            origins.add(origin(entry.url));
+        }
+        List<String> sorted = new ArrayList<>(origins);
+        sorted.sort(Comparator.comparingInt(String::length).reversed());
+        return sorted;
+    }
+
+    /**
+     * Метод для получения адреса сайта по адресу запроса.
+     *
+     * @param url адрес запроса
+     * @return адрес сайта вида https://host
+     */
+    public static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Метод для получения префикса адресов другого сайта на сервере воспроизведения.
+     *
+     * @param origin адрес сайта вида https://host
+     * @return префикс вида /__host/https/host
+     */
+    private static String foreignPrefix(String origin) {
+        return FOREIGN_HOST_PREFIX + origin.replace("://", "/");
+    }
+
+    /**
+     * Метод для удаления параметров из пути запроса.
+     *
+     * @param pathAndQuery путь с параметрами
+     * @return путь без параметров
+     */
+    private static String stripQuery(String pathAndQuery) {
+        int query = pathAndQuery.indexOf('?');
+        return query < 0 ? pathAndQuery : pathAndQuery.substring(0, query);
+    }
+
+    /**
+     * Метод для проверки, является ли ответ текстовым.
+     *
+     * @param contentType тип содержимого
+     * @return true для HTML, CSS, JavaScript, JSON и XML
+     */
+    private static boolean isText(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("javascript") || type.contains("xml");
+    }
+
+    /**
+     * Метод для вычисления хеша тела ответа, под которым оно хранится в архиве.
+     *
+     * @param body тело ответа
+     * @return хеш SHA-256 в шестнадцатеричном виде
+     */
+    public static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+
+    /**
+     * Метод для чтения потока целиком.
+     *
+     * @param in поток
+     * @return содержимое потока
+     * @throws IOException если не удалось прочитать поток
+     */
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Записанный ответ на запрос браузера.
+     */
+    public static class Entry {
+        /**
+         * Метод запроса.
+         */
+        final String method;
+
+        /**
+         * Адрес запроса.
+         */
+        final String url;
+
+        /**
+         * Код ответа.
+         */
+        final int status;
+
+        /**
+         * Тип содержимого ответа.
+         */
+        final String contentType;
+
+        /**
+         * Адрес перенаправления для ответов 3xx, пустая строка для остальных ответов.
+         */
+        final String location;
+
+        /**
+         * Хеш тела ответа в архиве, пустая строка если тела нет.
+         */
+        final String body;
+
+        /**
+         * Время от начала записи до отправки запроса в миллисекундах.
+         */
+        final long offsetMillis;
+
+        /**
+         * Время от отправки запроса до получения ответа целиком в миллисекундах.
+         */
+        final long durationMillis;
+
+        /**
+         * Конструктор записанного ответа.
+         *
+         * @param method         метод запроса
+         * @param url            адрес запроса
+         * @param status         код ответа
+         * @param contentType    тип содержимого ответа
+         * @param location       адрес перенаправления или пустая строка
+         * @param body           хеш тела ответа или пустая строка
+         * @param offsetMillis   время от начала записи до отправки запроса в миллисекундах
+         * @param durationMillis время получения ответа в миллисекундах
+         */
+        public Entry(String method, String url, int status, String contentType, String location, String body,
+                     long offsetMillis, long durationMillis) {
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.contentType = contentType;
+            this.location = location;
+            this.body = body;
+            this.offsetMillis = offsetMillis;
+            this.durationMillis = durationMillis;
+        }
+
+        /**
+         * Метод для получения адреса запроса.
+         *
+         * @return адрес запроса
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Метод для получения кода ответа.
+         *
+         * @return код ответа
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Метод для получения типа содержимого ответа.
+         *
+         * @return тип содержимого
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Метод для получения адреса перенаправления.
+         *
+         * @return адрес перенаправления или пустая строка
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        /**
+         * Метод для получения времени получения ответа при записи.
+         *
+         * @return время получения ответа в миллисекундах
+         */
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * Метод для преобразования ответа в запись оглавления архива.
+         *
+         * @return поля ответа
+         */
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("method", method);
+            map.put("url", url);
+            map.put("status", status);
+            map.put("contentType", contentType);
+            map.put("location", location);
+            map.put("body", body);
+            map.put("offsetMillis", offsetMillis);
+            map.put("durationMillis", durationMillis);
+            return map;
+        }
+
+        /**
+         * Метод для чтения ответа из записи оглавления архива.
+         *
+         * @param map поля ответа
+         * @return записанный ответ
+         */
+        private static Entry fromMap(Map<String, Object> map) {
+            return new Entry((String) map.get("method"), (String) map.get("url"),
+                    ((Number) map.get("status")).intValue(), (String) map.get("contentType"),
+                    (String) map.get("location"), (String) map.get("body"),
+                    ((Number) map.get("offsetMillis")).longValue(), ((Number) map.get("durationMillis")).longValue());
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package helpers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс для блокировки ресурсов страниц, которые не нужны проверкам.
+ * Запросы ресурсов заданных типов, например изображений и шрифтов, перехватываются через домен Fetch
+ * протокола Chrome DevTools и отменяются, а запросы по шаблонам адресов, например к счетчикам и рекламе,
+ * блокируются через Network.setBlockedURLs. Страница перестает ждать эти ресурсы перед событием load.
+ * Для каждого типа ресурсов считается, сколько запросов пропущено и сколько заблокировано.
+ * Блокировка следует за переключением окон драйвера теста и может быть подключена к дополнительным сессиям.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see CdpSupport
+ */
+public class ResourceBlocker implements WebDriverListener {
+    /**
+     * Блокировка, которая действует в текущем потоке теста.
+     */
+    private static final ThreadLocal<ResourceBlocker> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Причина блокировки запроса по шаблону адреса в событии Network.loadingFailed.
+     */
+    private static final String BLOCKED_BY_PATTERN = "inspector";
+
+    /**
+     * Блокируемые типы ресурсов.
+     */
+    private final List<String> resourceTypes;
+
+    /**
+     * Блокируемые шаблоны адресов.
+     */
+    private final List<String> urlPatterns;
+
+    /**
+     * Подключения к сессиям браузера, в которых действует блокировка.
+     */
+    private final List<Target> targets = new CopyOnWriteArrayList<>();
+
+    /**
+     * Подключение к основной сессии теста, которое следует за переключением окон.
+     */
+    private Target mainTarget;
+
+    /**
+     * Количество пропущенных запросов по типам ресурсов.
+     */
+    private final Map<String, LongAdder> passed = new ConcurrentHashMap<>();
+
+    /**
+     * Количество заблокированных запросов по типам ресурсов.
+     */
+    private final Map<String, LongAdder> blocked = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор блокировки.
+     *
+     * @param resourceTypes блокируемые типы ресурсов протокола DevTools, например Image или Font
+     * @param urlPatterns   блокируемые шаблоны адресов, * - любая последовательность символов
+     */
+    public ResourceBlocker(List<String> resourceTypes, List<String> urlPatterns) {
+        this.resourceTypes = new ArrayList<>(resourceTypes);
+        this.urlPatterns = new ArrayList<>(urlPatterns);
+    }
+
+    /**
+     * Метод для включения блокировки из конфигурации в основной сессии теста в текущем потоке.
+     *
+     * @param driver сессия браузера без наблюдателей
+     * @return блокировка, которую нужно добавить наблюдателем к драйверу теста
+     */
+    public static ResourceBlocker start(WebDriver driver) {
+        ResourceBlocker blocker = new ResourceBlocker(ConfigProvider.BLOCKED_RESOURCE_TYPES, ConfigProvider.BLOCKED_URL_PATTERNS);
+        blocker.mainTarget = blocker.target(driver);
+        CURRENT.set(blocker);
+        return blocker;
+    }
+
+    /**
+     * Метод для получения блокировки, которая действует в текущем потоке теста.
+     *
+     * @return блокировка или null если блокировка выключена
+     */
+    public static ResourceBlocker current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Метод для включения блокировки в дополнительной сессии браузера.
+     * Если блокировка создана конструктором, первая подключенная сессия считается основной.
+     *
+     * @param driver сессия браузера
+     * @return та же сессия браузера
+     */
+    public WebDriver attach(WebDriver driver) {
+        Target target = target(driver);
+        if (mainTarget == null) {
+            mainTarget = target;
+        }
+        return driver;
+    }
+
+    /**
+     * Метод, вызываемый перед переключением окна в драйвере теста.
+     * Перехват запросов в прежнем окне выключается, иначе его запросы ждали бы ответа от неактивной сессии.
+     *
+     * @param targetLocator объект переключения
+     * @param nameOrHandle  имя или идентификатор окна
+     */
+    @Override
+    public void beforeWindow(WebDriver.TargetLocator targetLocator, String nameOrHandle) {
+        mainTarget.disableInterception();
+    }
+
+    /**
+     * Метод, вызываемый после переключения окна в драйвере теста.
+     *
+     * @param targetLocator объект переключения
+     * @param nameOrHandle  имя или идентификатор окна
+     * @param driver        драйвер теста
+     */
+    @Override
+    public void afterWindow(WebDriver.TargetLocator targetLocator, String nameOrHandle, WebDriver driver) {
+        mainTarget.follow(nameOrHandle);
+    }
+
+    /**
+     * Метод, вызываемый перед открытием нового окна в драйвере теста.
+     *
+     * @param targetLocator объект переключения
+     * @param typeHint      тип окна
+     */
+    @Override
+    public void beforeNewWindow(WebDriver.TargetLocator targetLocator, WindowType typeHint) {
+        mainTarget.disableInterception();
+    }
+
+    /**
+     * Метод, вызываемый после открытия нового окна в драйвере теста.
+     *
+     * @param targetLocator объект переключения
+     * @param typeHint      тип окна
+     * @param driver        драйвер теста
+     */
+    @Override
+    public void afterNewWindow(WebDriver.TargetLocator targetLocator, WindowType typeHint, WebDriver driver) {
+        mainTarget.follow(driver.getWindowHandle());
+    }
+
+    /**
+     * Метод для выключения блокировки во всех сессиях.
+     * Сессия браузера после этого может быть возвращена в пул без блокировки.
+     */
+    public void stop() {
+        CURRENT.remove();
+        for (Target target : targets) {
+            target.close();
+        }
+    }
+
+    /**
+     * Метод для получения количества пропущенных запросов.
+     *
+     * @return количество запросов, загруженных браузером
+     */
+    public long getPassedCount() {
+        return total(passed);
+    }
+
+    /**
+     * Метод для получения количества заблокированных запросов.
+     *
+     * @return количество отмененных запросов
+     */
+    public long getBlockedCount() {
+        return total(blocked);
+    }
+
+    /**
+     * Метод для получения отчета о пропущенных и заблокированных запросах по типам ресурсов.
+     *
+     * @return текст отчета
+     */
+    public String report() {
+        Map<String, long[]> byType = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : passed.entrySet()) {
+            byType.computeIfAbsent(entry.getKey(), key -> new long[2])[0] = entry.getValue().sum();
+        }
+        for (Map.Entry<String, LongAdder> entry : blocked.entrySet()) {
+            byType.computeIfAbsent(entry.getKey(), key -> new long[2])[1] = entry.getValue().sum();
+        }
+        StringBuilder report = new StringBuilder()
+                .append("Блокируемые типы: ").append(resourceTypes).append('\n')
+                .append("Блокируемые адреса: ").append(urlPatterns).append('\n')
+                .append("Пропущено ").append(getPassedCount()).append(", заблокировано ").append(getBlockedCount()).append('\n');
+        for (Map.Entry<String, long[]> entry : byType.entrySet()) {
+            report.append(entry.getKey()).append(": пропущено ").append(entry.getValue()[0])
+                    .append(", заблокировано ").append(entry.getValue()[1]).append('\n');
+        }
+        return report.toString();
+    }
+
+    /**
+     * Метод для подключения к сессии браузера, подписки на события и включения блокировки.
+     *
+     * @param driver сессия браузера
+     * @return подключение к сессии
+     */
+    private Target target(WebDriver driver) {
+        Target target = new Target(CdpSupport.openDevTools(driver));
+        target.subscriptions.add(CdpSupport.addListener(target.devTools, "Network.requestWillBeSent", target::onRequest));
+        target.subscriptions.add(CdpSupport.addListener(target.devTools, "Network.loadingFinished", target::onFinished));
+        target.subscriptions.add(CdpSupport.addListener(target.devTools, "Network.loadingFailed", target::onFailed));
+        target.subscriptions.add(CdpSupport.addListener(target.devTools, "Fetch.requestPaused", target::onPaused));
+        target.enable();
+        targets.add(target);
+        return target;
+    }
+
+    /**
+     * Метод для увеличения счетчика запросов типа ресурса.
+     *
+     * @param counters счетчики по типам ресурсов
+     * @param type     тип ресурса
+     */
+    private static void increment(Map<String, LongAdder> counters, String type) {
+        counters.computeIfAbsent(type.isEmpty() ? "Other" : type, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Метод для подсчета суммы счетчиков.
+     *
+     * @param counters счетчики по типам ресурсов
+     * @return сумма счетчиков
+     */
+    private static long total(Map<String, LongAdder> counters) {
+        long total = 0;
+        for (LongAdder counter : counters.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Подключение блокировки к одной сессии браузера.
+     */
+    private class Target {
+        /**
+         * Соединение DevTools с сессией браузера.
+         */
+        private final DevTools devTools;
+
+        /**
+         * Поток отмены перехваченных запросов: команды нельзя отправлять из потока событий DevTools.
+         */
+        private final ExecutorService interceptor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-blocker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        /**
+         * Типы ресурсов незавершенных запросов по идентификатору запроса.
+         */
+        private final Map<String, String> requestTypes = new ConcurrentHashMap<>();
+
+        /**
+         * Отписки обработчиков блокировки от событий соединения.
+         */
+        private final List<Runnable> subscriptions = new ArrayList<>();
+
+        /**
+         * Конструктор подключения.
+         *
+         * @param devTools соединение DevTools с сессией браузера
+         */
+        Target(DevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        /**
+         * Метод для включения сетевых событий, блокировки по адресам и перехвата запросов по типам ресурсов.
+         */
+        void enable() {
+            CdpSupport.send(devTools, "Network.enable", Collections.emptyMap());
+            CdpSupport.send(devTools, "Network.setBlockedURLs", Collections.singletonMap("urls", urlPatterns));
+            if (!resourceTypes.isEmpty()) {
+                List<Map<String, Object>> patterns = new ArrayList<>(resourceTypes.size());
+                for (String resourceType : resourceTypes) {
+                    Map<String, Object> pattern = new HashMap<>();
+                    pattern.put("resourceType", resourceType);
+                    pattern.put("requestStage", "Request");
+                    patterns.add(pattern);
+                }
+                CdpSupport.send(devTools, "Fetch.enable", Collections.singletonMap("patterns", patterns));
+            }
+        }
+
+        /**
+         * Метод для выключения перехвата запросов в текущем окне.
+         */
+        void disableInterception() {
+            try {
+                CdpSupport.send(devTools, "Fetch.disable", Collections.emptyMap());
+            } catch (WebDriverException e) {
+                // Окно уже закрыто вместе с перехватом.
+            }
+        }
+
+        /**
+         * Метод для переключения блокировки на другое окно браузера.
+         *
+         * @param windowHandle идентификатор окна
+         */
+        void follow(String windowHandle) {
+            CdpSupport.attach(devTools, windowHandle);
+            enable();
+        }
+
+        /**
+         * Метод для выключения блокировки и отписки от своих событий.
+         * Перехват выключается до отписки, чтобы ни один запрос не остался приостановленным без обработчика.
+         * Соединение общее с записью сессии, поэтому ее обработчики и сетевые события не затрагиваются.
+         */
+        void close() {
+            try {
+                CdpSupport.send(devTools, "Fetch.disable", Collections.emptyMap());
+                CdpSupport.send(devTools, "Network.setBlockedURLs", Collections.singletonMap("urls", Collections.emptyList()));
+            } catch (WebDriverException e) {
+                // Сессия уже закрыта, например дополнительная сессия проверки брендов.
+            }
+            for (Runnable subscription : subscriptions) {
+                subscription.run();
+            }
+            interceptor.shutdownNow();
+        }
+
+        /**
+         * Обработчик отправки запроса: запоминает тип ресурса.
+         *
+         * @param params параметры события Network.requestWillBeSent
+         */
+        void onRequest(Map<String, Object> params) {
+            requestTypes.put(CdpSupport.string(params, "requestId"), CdpSupport.string(params, "type"));
+        }
+
+        /**
+         * Обработчик завершения загрузки ответа.
+         *
+         * @param params параметры события Network.loadingFinished
+         */
+        void onFinished(Map<String, Object> params) {
+            String type = requestTypes.remove(CdpSupport.string(params, "requestId"));
+            if (type != null) {
+                increment(passed, type);
+            }
+        }
+
+        /**
+         * Обработчик ошибки загрузки: считает запросы, заблокированные по шаблону адреса.
+         *
+         * @param params параметры события Network.loadingFailed
+         */
+        void onFailed(Map<String, Object> params) {
+            String type = requestTypes.remove(CdpSupport.string(params, "requestId"));
+            if (BLOCKED_BY_PATTERN.equals(CdpSupport.string(params, "blockedReason"))) {
+                increment(blocked, type != null ? type : CdpSupport.string(params, "type"));
+            }
+        }
+
+        /**
+         * Обработчик перехваченного запроса: запрос отменяется в отдельном потоке.
+         *
+         * @param params параметры события Fetch.requestPaused
+         */
+        void onPaused(Map<String, Object> params) {
+            increment(blocked, CdpSupport.string(params, "resourceType"));
+            Map<String, Object> failure = new HashMap<>();
+            failure.put("requestId", CdpSupport.string(params, "requestId"));
+            failure.put("errorReason", "BlockedByClient");
+            interceptor.execute(() -> {
+                try {
+                    CdpSupport.send(devTools, "Fetch.failRequest", failure);
+                } catch (WebDriverException e) {
+                    // Запрос уже отменен браузером, например при закрытии окна.
+                }
+            });
+        }
+    }
+}
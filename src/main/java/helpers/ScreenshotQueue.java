@@ -0,0 +1,212 @@
+package helpers;
+
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.ByteArrayInputStream;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Класс ограниченной фоновой очереди записи скриншотов в отчет Allure.
+ * Поток теста только получает снимок экрана, а декодирование и запись файла вложения
+ * выполняются в фоновом потоке. Если очередь заполнена, новый скриншот отбрасывается,
+ * чтобы тест не ждал записи на диск.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see CustomAllure
+ */
+public class ScreenshotQueue {
+    /**
+     * Общая очередь для всех тестов с размером из конфигурации.
+     */
+    private static final ScreenshotQueue INSTANCE = new ScreenshotQueue(ConfigProvider.SCREENSHOT_QUEUE_SIZE);
+
+    /**
+     * Максимальное время ожидания записи оставшихся скриншотов в секундах.
+     */
+    private static final int FLUSH_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Фоновый поток записи вложений.
+     */
+    private final ExecutorService writer;
+
+    /**
+     * Свободные места в очереди.
+     */
+    private final Semaphore freeSlots;
+
+    /**
+     * Размер очереди.
+     */
+    private final int capacity;
+
+    /**
+     * Наибольшая глубина очереди за время работы.
+     */
+    private final AtomicInteger peakDepth = new AtomicInteger();
+
+    /**
+     * Количество записанных скриншотов.
+     */
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * Количество отброшенных из-за заполненной очереди скриншотов.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Конструктор очереди записи скриншотов.
+     *
+     * @param capacity максимальное количество скриншотов, ожидающих записи
+     */
+    public ScreenshotQueue(int capacity) {
+        this.capacity = capacity;
+        this.freeSlots = new Semaphore(capacity);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "allure-screenshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Метод для получения общей очереди записи скриншотов.
+     *
+     * @return общая очередь записи скриншотов
+     */
+    public static ScreenshotQueue getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Метод для постановки скриншота в очередь записи.
+     * Вложение регистрируется в отчете сразу в потоке теста, а его содержимое записывается в фоне.
+     *
+     * @param lifecycle   жизненный цикл Allure текущего теста
+     * @param description описание скриншота для отображения в отчете
+     * @param base64Png   снимок экрана в формате PNG, закодированный в Base64
+     * @return true если скриншот поставлен в очередь, false если он отброшен
+     */
+    public boolean submit(AllureLifecycle lifecycle, String description, String base64Png) {
+        if (!tryReserve()) {
+            return false;
+        }
+        String source;
+        try {
+            source = lifecycle.prepareAttachment(description, "image/png", "png");
+        } catch (RuntimeException e) {
+            freeSlots.release();
+            throw e;
+        }
+        write(lifecycle, source, base64Png);
+        return true;
+    }
+
+    /**
+     * Метод для постановки в очередь записи скриншота с заранее известным именем файла.
+     * Ссылку на файл в отчет добавляет вызывающий код.
+     *
+     * @param lifecycle жизненный цикл Allure текущего теста
+     * @param source    имя файла вложения в каталоге результатов Allure
+     * @param base64Png снимок экрана в формате PNG, закодированный в Base64
+     * @return true если скриншот поставлен в очередь, false если он отброшен
+     */
+    public boolean submitContent(AllureLifecycle lifecycle, String source, String base64Png) {
+        if (!tryReserve()) {
+            return false;
+        }
+        write(lifecycle, source, base64Png);
+        return true;
+    }
+
+    /**
+     * Метод для резервирования места в очереди.
+     *
+     * @return true если место зарезервировано, false если очередь заполнена
+     */
+    private boolean tryReserve() {
+        if (!freeSlots.tryAcquire()) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        peakDepth.accumulateAndGet(getDepth(), Math::max);
+        return true;
+    }
+
+    /**
+     * Метод для записи скриншота в фоновом потоке с освобождением места в очереди.
+     *
+     * @param lifecycle жизненный цикл Allure текущего теста
+     * @param source    имя файла вложения в каталоге результатов Allure
+     * @param base64Png снимок экрана в формате PNG, закодированный в Base64
+     */
+    private void write(AllureLifecycle lifecycle, String source, String base64Png) {
+        writer.execute(() -> {
+            try {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(Base64.getMimeDecoder().decode(base64Png)));
+                written.incrementAndGet();
+            } finally {
+                freeSlots.release();
+            }
+        });
+    }
+
+    /**
+     * Метод для ожидания записи всех скриншотов, поставленных в очередь.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Не удалось дождаться записи скриншотов", e);
+        }
+    }
+
+    /**
+     * Метод для получения текущей глубины очереди.
+     *
+     * @return количество скриншотов, ожидающих записи
+     */
+    public int getDepth() {
+        return capacity - freeSlots.availablePermits();
+    }
+
+    /**
+     * Метод для получения наибольшей глубины очереди.
+     *
+     * @return наибольшее количество скриншотов, одновременно ожидавших записи
+     */
+    public int getPeakDepth() {
+        return peakDepth.get();
+    }
+
+    /**
+     * Метод для получения количества записанных скриншотов.
+     *
+     * @return количество записанных скриншотов
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Метод для получения количества отброшенных скриншотов.
+     *
+     * @return количество скриншотов, отброшенных из-за заполненной очереди
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,201 @@
+package helpers;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Класс хранилища скриншотов с адресацией по содержимому.
+ * Имя файла вложения строится из хеша SHA-256 снимка экрана, поэтому одинаковые скриншоты
+ * записываются в каталог результатов Allure один раз, а повторные снимки добавляются в отчет
+ * только ссылкой на уже записанный файл.
+ * Дополнительно может считаться перцептивный хеш, чтобы почти одинаковые снимки подряд
+ * заменялись ссылкой на предыдущий.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see CustomAllure
+ */
+public class ScreenshotStore {
+    /**
+     * Общее хранилище для всех тестов.
+     */
+    private static final ScreenshotStore INSTANCE = new ScreenshotStore(
+            Paths.get(System.getProperty("allure.results.directory", "allure-results")));
+
+    /**
+     * Сторона уменьшенного изображения для перцептивного хеша.
+     */
+    private static final int HASH_SIDE = 8;
+
+    /**
+     * Значение перцептивного хеша, если изображение не удалось прочитать.
+     */
+    public static final long NO_HASH = 0L;
+
+    /**
+     * Каталог результатов Allure.
+     */
+    private final Path resultsDirectory;
+
+    /**
+     * Имена файлов скриншотов, которые уже записаны или поставлены в очередь записи.
+     */
+    private final Set<String> storedSources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Конструктор хранилища скриншотов.
+     *
+     * @param resultsDirectory каталог результатов Allure
+     */
+    public ScreenshotStore(Path resultsDirectory) {
+        this.resultsDirectory = resultsDirectory;
+    }
+
+    /**
+     * Метод для получения общего хранилища скриншотов.
+     *
+     * @return общее хранилище скриншотов
+     */
+    public static ScreenshotStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Метод для получения имени файла вложения по содержимому скриншота.
+     * Хеш считается по строке Base64 без декодирования, одинаковые снимки дают одинаковую строку.
+     *
+     * @param base64Png снимок экрана в формате PNG, закодированный в Base64
+     * @return имя файла вложения в каталоге результатов Allure
+     */
+    public static String contentSource(String base64Png) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(base64Png.getBytes(StandardCharsets.US_ASCII));
+            StringBuilder source = new StringBuilder("screenshot-");
+            for (byte b : hash) {
+                source.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return source.append("-attachment.png").toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+
+    /**
+     * Метод для резервирования записи файла скриншота.
+     *
+     * @param source имя файла вложения
+     * @return true если файл еще не записан и его нужно записать, false если достаточно ссылки
+     */
+    public boolean claim(String source) {
+        return storedSources.add(source) && !Files.exists(resultsDirectory.resolve(source));
+    }
+
+    /**
+     * Метод для отмены резервирования, если скриншот не удалось поставить в очередь записи.
+     *
+     * @param source имя файла вложения
+     */
+    public void release(String source) {
+        storedSources.remove(source);
+    }
+
+    /**
+     * Метод для добавления ссылки на файл скриншота к текущему шагу или тесту.
+     *
+     * @param lifecycle   жизненный цикл Allure текущего теста
+     * @param description описание скриншота для отображения в отчете
+     * @param source      имя файла вложения
+     */
+    public static void attach(AllureLifecycle lifecycle, String description, String source) {
+        Attachment attachment = new Attachment().setName(description).setType("image/png").setSource(source);
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (!current.isPresent()) {
+            return;
+        }
+        if (current.equals(lifecycle.getCurrentTestCase())) {
+            lifecycle.updateTestCase(current.get(), testResult -> testResult.getAttachments().add(attachment));
+        } else {
+            lifecycle.updateStep(current.get(), stepResult -> stepResult.getAttachments().add(attachment));
+        }
+    }
+
+    /**
+     * Метод для расчета перцептивного хеша скриншота.
+     * Изображение делится на 8x8 блоков, для каждого считается средняя яркость всех его точек,
+     * каждый бит хеша показывает, светлее ли блок среднего значения. Усреднение по блоку не дает
+     * мелким деталям, например мигающему курсору, менять хеш.
+     *
+     * @param base64Png снимок экрана в формате PNG, закодированный в Base64
+     * @return 64-битный перцептивный хеш или {@link #NO_HASH} если изображение не удалось прочитать
+     */
+    public static long perceptualHash(String base64Png) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(Base64.getMimeDecoder().decode(base64Png)));
+        } catch (IOException e) {
+            return NO_HASH;
+        }
+        if (image == null) {
+            return NO_HASH;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long[] luminance = new long[HASH_SIDE * HASH_SIDE];
+        long[] pixels = new long[HASH_SIDE * HASH_SIDE];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int blockRow = y * HASH_SIDE / height * HASH_SIDE;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int block = blockRow + x * HASH_SIDE / width;
+                luminance[block] += ((rgb >> 16) & 0xFF) * 299 + ((rgb >> 8) & 0xFF) * 587 + (rgb & 0xFF) * 114;
+                pixels[block]++;
+            }
+        }
+
+        long total = 0;
+        for (int i = 0; i < luminance.length; i++) {
+            // Изображение меньше 8x8 оставляет часть блоков без точек, они считаются черными.
+            luminance[i] = pixels[i] == 0 ? 0 : luminance[i] / pixels[i];
+            total += luminance[i];
+        }
+        long average = total / luminance.length;
+        long hash = 0;
+        for (int i = 0; i < luminance.length; i++) {
+            if (luminance[i] > average) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Метод для проверки, что два скриншота почти одинаковы по перцептивному хешу.
+     *
+     * @param first     перцептивный хеш первого скриншота
+     * @param second    перцептивный хеш второго скриншота
+     * @param threshold допустимое количество различающихся бит
+     * @return true если хеши отличаются не более чем на допустимое количество бит
+     */
+    public static boolean isNearDuplicate(long first, long second, int threshold) {
+        return first != NO_HASH && second != NO_HASH && Long.bitCount(first ^ second) <= threshold;
+    }
+}
@@ -0,0 +1,487 @@
+package helpers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Класс для записи сетевых ответов, которые браузер получает во время теста.
+ * Через протокол Chrome DevTools записываются HTML страниц, ответы XHR и fetch и ресурсы страниц
+ * вместе со временем их получения, а после теста запись сохраняется в {@link ReplayArchive},
+ * который встроенный сервер может воспроизвести вместо сайта.
+ * Запись идет во всех окнах, в которые переключается тест, и в дополнительных сессиях браузера,
+ * подключенных через {@link #attach(WebDriver)}, поэтому в архив попадают главная страница,
+ * списки товаров и карточки товаров.
+ * Тела ответов запрашиваются в отдельном потоке, чтобы не блокировать поток событий DevTools.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see CdpSupport
+ * @see FixtureServer
+ */
+public class SessionRecorder implements WebDriverListener {
+    /**
+     * Запись, которая ведется в текущем потоке теста.
+     */
+    private static final ThreadLocal<SessionRecorder> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Максимальный размер буфера тел ответов в браузере в байтах.
+     */
+    private static final long MAX_TOTAL_BUFFER_SIZE = 100L * 1024 * 1024;
+
+    /**
+     * Максимальный размер одного тела ответа в буфере браузера в байтах.
+     */
+    private static final long MAX_RESOURCE_BUFFER_SIZE = 20L * 1024 * 1024;
+
+    /**
+     * Максимальное время ожидания получения оставшихся тел ответов в секундах.
+     */
+    private static final int DRAIN_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Время начала записи в наносекундах.
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Подключения к сессиям браузера, в которых ведется запись.
+     */
+    private final List<Tap> taps = new CopyOnWriteArrayList<>();
+
+    /**
+     * Подключение к основной сессии теста, которое следует за переключением окон.
+     */
+    private Tap mainTap;
+
+    /**
+     * Адрес основного сайта записи, определяется по первому загруженному документу.
+     */
+    private final AtomicReference<String> primaryOrigin = new AtomicReference<>();
+
+    /**
+     * Записанные ответы.
+     */
+    private final List<ReplayArchive.Entry> entries = new CopyOnWriteArrayList<>();
+
+    /**
+     * Тела ответов по хешу содержимого.
+     */
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * Количество ответов, тела которых браузер не вернул.
+     */
+    private final AtomicInteger missedBodies = new AtomicInteger();
+
+    /**
+     * Метод для начала записи основной сессии теста в текущем потоке.
+     *
+     * @param driver сессия браузера без наблюдателей
+     * @return запись, которую нужно добавить наблюдателем к драйверу теста
+     */
+    public static SessionRecorder start(WebDriver driver) {
+        SessionRecorder recorder = new SessionRecorder();
+        recorder.mainTap = recorder.tap(driver);
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    /**
+     * Метод для получения записи, которая ведется в текущем потоке теста.
+     *
+     * @return запись или null если запись выключена
+     */
+    public static SessionRecorder current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Метод для подключения записи к дополнительной сессии браузера.
+     *
+     * @param driver сессия браузера
+     * @return та же сессия браузера
+     */
+    public WebDriver attach(WebDriver driver) {
+        tap(driver);
+        return driver;
+    }
+
+    /**
+     * Метод, вызываемый перед переключением окна в драйвере теста.
+     * Тела ответов предыдущего окна нужно получить, пока соединение DevTools подключено к нему.
+     *
+     * @param targetLocator объект переключения
+     * @param nameOrHandle  имя или идентификатор окна
+     */
+    @Override
+    public void beforeWindow(WebDriver.TargetLocator targetLocator, String nameOrHandle) {
+        mainTap.drain();
+    }
+
+    /**
+     * Метод, вызываемый перед открытием нового окна в драйвере теста.
+     *
+     * @param targetLocator объект переключения
+     * @param typeHint      тип окна
+     */
+    @Override
+    public void beforeNewWindow(WebDriver.TargetLocator targetLocator, WindowType typeHint) {
+        mainTap.drain();
+    }
+
+    /**
+     * Метод, вызываемый после переключения окна в драйвере теста.
+     * Запись переподключается к новому окну.
+     *
+     * @param targetLocator объект переключения
+     * @param nameOrHandle  имя или идентификатор окна
+     * @param driver        драйвер теста
+     */
+    @Override
+    public void afterWindow(WebDriver.TargetLocator targetLocator, String nameOrHandle, WebDriver driver) {
+        mainTap.follow(nameOrHandle);
+    }
+
+    /**
+     * Метод, вызываемый после открытия нового окна в драйвере теста.
+     *
+     * @param targetLocator объект переключения
+     * @param typeHint      тип окна
+     * @param driver        драйвер теста
+     */
+    @Override
+    public void afterNewWindow(WebDriver.TargetLocator targetLocator, WindowType typeHint, WebDriver driver) {
+        mainTap.follow(driver.getWindowHandle());
+    }
+
+    /**
+     * Метод, вызываемый перед закрытием окна в драйвере теста.
+     * Тела ответов закрываемого окна нужно получить, пока окно существует.
+     *
+     * @param driver драйвер теста
+     */
+    @Override
+    public void beforeClose(WebDriver driver) {
+        mainTap.drain();
+    }
+
+    /**
+     * Метод для завершения записи и сохранения архива.
+     *
+     * @param archive путь к архиву
+     * @return сохраненный архив или null если не было записано ни одного ответа
+     */
+    public ReplayArchive stop(Path archive) {
+        CURRENT.remove();
+        for (Tap tap : taps) {
+            tap.close();
+        }
+        if (entries.isEmpty()) {
+            return null;
+        }
+        List<ReplayArchive.Entry> recorded = new ArrayList<>(entries);
+        recorded.sort(Comparator.comparingLong(entry -> entry.offsetMillis));
+        String origin = primaryOrigin.get() != null ? primaryOrigin.get() : ReplayArchive.origin(recorded.get(0).url);
+        ReplayArchive replayArchive = new ReplayArchive(origin, recorded, bodies);
+        replayArchive.write(archive);
+        return replayArchive;
+    }
+
+    /**
+     * Метод для получения количества записанных ответов.
+     *
+     * @return количество ответов
+     */
+    public int getEntriesCount() {
+        return entries.size();
+    }
+
+    /**
+     * Метод для получения количества ответов, тела которых браузер не вернул.
+     *
+     * @return количество ответов без тела
+     */
+    public int getMissedBodiesCount() {
+        return missedBodies.get();
+    }
+
+    /**
+     * Метод для подключения к сессии браузера и подписки на сетевые события.
+     *
+     * @param driver сессия браузера
+     * @return подключение к сессии
+     */
+    private Tap tap(WebDriver driver) {
+        Tap tap = new Tap(CdpSupport.openDevTools(driver));
+        tap.subscriptions.add(CdpSupport.addListener(tap.devTools, "Network.requestWillBeSent", tap::onRequest));
+        tap.subscriptions.add(CdpSupport.addListener(tap.devTools, "Network.responseReceived", tap::onResponse));
+        tap.subscriptions.add(CdpSupport.addListener(tap.devTools, "Network.loadingFinished", tap::onFinished));
+        tap.subscriptions.add(CdpSupport.addListener(tap.devTools, "Network.loadingFailed",
+                params -> tap.pending.remove(requestId(params))));
+        tap.enableNetwork();
+        taps.add(tap);
+        return tap;
+    }
+
+    /**
+     * Метод для получения идентификатора запроса из параметров события.
+     *
+     * @param params параметры события
+     * @return идентификатор запроса
+     */
+    private static String requestId(Map<String, Object> params) {
+        return CdpSupport.string(params, "requestId");
+    }
+
+    /**
+     * Подключение записи к одной сессии браузера.
+     * Идентификаторы запросов уникальны только внутри браузера, поэтому незавершенные запросы хранятся отдельно.
+     */
+    private class Tap {
+        /**
+         * Соединение DevTools с сессией браузера.
+         */
+        private final DevTools devTools;
+
+        /**
+         * Поток получения тел ответов.
+         */
+        private final ExecutorService bodyReader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        /**
+         * Незавершенные запросы по идентификатору запроса.
+         */
+        private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+        /**
+         * Отписки обработчиков записи от событий соединения.
+         */
+        private final List<Runnable> subscriptions = new ArrayList<>();
+
+        /**
+         * Конструктор подключения.
+         *
+         * @param devTools соединение DevTools с сессией браузера
+         */
+        Tap(DevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        /**
+         * Метод для включения сетевых событий и отключения кэша, чтобы каждый ответ приходил с телом.
+         */
+        void enableNetwork() {
+            Map<String, Object> params = new HashMap<>();
+            params.put("maxTotalBufferSize", MAX_TOTAL_BUFFER_SIZE);
+            params.put("maxResourceBufferSize", MAX_RESOURCE_BUFFER_SIZE);
+            CdpSupport.send(devTools, "Network.enable", params);
+            CdpSupport.send(devTools, "Network.setCacheDisabled", Collections.singletonMap("cacheDisabled", true));
+        }
+
+        /**
+         * Метод для переключения записи на другое окно браузера.
+         *
+         * @param windowHandle идентификатор окна
+         */
+        void follow(String windowHandle) {
+            CdpSupport.attach(devTools, windowHandle);
+            enableNetwork();
+        }
+
+        /**
+         * Метод для ожидания получения тел уже завершенных ответов.
+         */
+        void drain() {
+            try {
+                bodyReader.submit(() -> { }).get(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Ответы, тела которых не успели получить, не попадут в архив.
+            }
+        }
+
+        /**
+         * Метод для завершения записи в сессии: дописывает тела ответов и отписывается от своих событий.
+         * Соединение общее с блокировкой ресурсов, поэтому обработчики блокировки остаются,
+         * а сетевые события выключаются, только если блокировка не работает.
+         */
+        void close() {
+            drain();
+            bodyReader.shutdownNow();
+            for (Runnable subscription : subscriptions) {
+                subscription.run();
+            }
+            try {
+                CdpSupport.send(devTools, "Network.setCacheDisabled", Collections.singletonMap("cacheDisabled", false));
+                if (ResourceBlocker.current() == null) {
+                    CdpSupport.send(devTools, "Network.disable", Collections.emptyMap());
+                }
+            } catch (WebDriverException e) {
+                // Сессия уже закрыта, например дополнительная сессия проверки брендов.
+            }
+        }
+
+        /**
+         * Обработчик отправки запроса.
+         * Если запрос является перенаправлением, сохраняется ответ с перенаправлением.
+         *
+         * @param params параметры события Network.requestWillBeSent
+         */
+        void onRequest(Map<String, Object> params) {
+            String requestId = requestId(params);
+            Map<String, Object> request = CdpSupport.object(params, "request");
+            double timestamp = CdpSupport.number(params, "timestamp", 0);
+            Map<String, Object> redirect = CdpSupport.object(params, "redirectResponse");
+            Pending previous = pending.remove(requestId);
+            if (previous != null && !redirect.isEmpty()) {
+                previous.status = (int) CdpSupport.number(redirect, "status", 302);
+                previous.contentType = CdpSupport.string(redirect, "mimeType");
+                entries.add(previous.toEntry(CdpSupport.string(request, "url"), "", timestamp));
+            }
+
+            String url = CdpSupport.string(request, "url");
+            if (!url.startsWith("http://") && !url.startsWith("https://")) {
+                return;
+            }
+            if ("Document".equals(CdpSupport.string(params, "type"))) {
+                primaryOrigin.compareAndSet(null, ReplayArchive.origin(url));
+            }
+            pending.put(requestId, new Pending(CdpSupport.string(request, "method"), url, timestamp,
+                    (System.nanoTime() - startNanos) / 1_000_000));
+        }
+
+        /**
+         * Обработчик получения заголовков ответа.
+         *
+         * @param params параметры события Network.responseReceived
+         */
+        void onResponse(Map<String, Object> params) {
+            Pending request = pending.get(requestId(params));
+            if (request != null) {
+                Map<String, Object> response = CdpSupport.object(params, "response");
+                request.status = (int) CdpSupport.number(response, "status", 200);
+                request.contentType = CdpSupport.string(response, "mimeType");
+            }
+        }
+
+        /**
+         * Обработчик завершения загрузки ответа: тело ответа запрашивается в отдельном потоке.
+         *
+         * @param params параметры события Network.loadingFinished
+         */
+        void onFinished(Map<String, Object> params) {
+            String requestId = requestId(params);
+            Pending request = pending.remove(requestId);
+            if (request == null) {
+                return;
+            }
+            double timestamp = CdpSupport.number(params, "timestamp", request.startTimestamp);
+            bodyReader.execute(() -> {
+                try {
+                    Map<String, Object> result = CdpSupport.send(devTools, "Network.getResponseBody",
+                            Collections.singletonMap("requestId", requestId));
+                    String body = CdpSupport.string(result, "body");
+                    byte[] bytes = Boolean.TRUE.equals(result.get("base64Encoded"))
+                            ? Base64.getDecoder().decode(body)
+                            : body.getBytes(StandardCharsets.UTF_8);
+                    String hash = ReplayArchive.hash(bytes);
+                    bodies.putIfAbsent(hash, bytes);
+                    entries.add(request.toEntry("", hash, timestamp));
+                } catch (WebDriverException e) {
+                    missedBodies.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Запрос, ответ на который еще не получен целиком.
+     */
+    private static class Pending {
+        /**
+         * Метод запроса.
+         */
+        private final String method;
+
+        /**
+         * Адрес запроса.
+         */
+        private final String url;
+
+        /**
+         * Время отправки запроса по часам браузера в секундах.
+         */
+        private final double startTimestamp;
+
+        /**
+         * Время от начала записи до отправки запроса в миллисекундах.
+         */
+        private final long offsetMillis;
+
+        /**
+         * Код ответа.
+         */
+        private volatile int status = 200;
+
+        /**
+         * Тип содержимого ответа.
+         */
+        private volatile String contentType = "";
+
+        /**
+         * Конструктор незавершенного запроса.
+         *
+         * @param method         метод запроса
+         * @param url            адрес запроса
+         * @param startTimestamp время отправки запроса по часам браузера в секундах
+         * @param offsetMillis   время от начала записи до отправки запроса в миллисекундах
+         */
+        Pending(String method, String url, double startTimestamp, long offsetMillis) {
+            this.method = method;
+            this.url = url;
+            this.startTimestamp = startTimestamp;
+            this.offsetMillis = offsetMillis;
+        }
+
+        /**
+         * Метод для получения записанного ответа.
+         *
+         * @param location        адрес перенаправления или пустая строка
+         * @param body            хеш тела ответа или пустая строка
+         * @param finishTimestamp время получения ответа по часам браузера в секундах
+         * @return записанный ответ
+         */
+        ReplayArchive.Entry toEntry(String location, String body, double finishTimestamp) {
+            long durationMillis = Math.max(0, Math.round((finishTimestamp - startTimestamp) * 1000));
+            return new ReplayArchive.Entry(method, url, status, contentType, location, body, offsetMillis, durationMillis);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package helpers;
+
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс сбора метрик явных ожиданий и поиска элементов по локаторам.
+ * Для каждой пары "страница + локатор" считает количество ожиданий, опросов условия и таймаутов,
+ * а время ожидания раскладывает по гистограмме со степенями двойки, по которой оцениваются перцентили.
+ * Запись выполняется без блокировок, поэтому метрики можно собирать в обычных прогонах.
+ * Метрики собираются отдельно для каждого потока: поток теста начинает новый сбор перед тестом
+ * и выгружает результат в JSON после теста. Вспомогательные потоки теста, например пул проверки брендов,
+ * подключаются к метрикам теста через {@link #attach(WaitMetrics)}, чтобы их ожидания попали в тот же отчет.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see yandex.pages.base.BasePage
+ */
+public class WaitMetrics {
+    /**
+     * Метрики текущего потока.
+     */
+    private static final ThreadLocal<WaitMetrics> CURRENT = ThreadLocal.withInitial(WaitMetrics::new);
+
+    /**
+     * Количество интервалов гистограммы: интервал i содержит ожидания короче 2^i микросекунд.
+     */
+    private static final int BUCKETS = 40;
+
+    /**
+     * Перцентили, которые выводятся в отчет.
+     */
+    private static final int[] PERCENTILES = {50, 90, 99};
+
+    /**
+     * Метрики по ключу "страница + локатор".
+     */
+    private final ConcurrentMap<String, LocatorStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Метод для получения метрик текущего потока.
+     *
+     * @return метрики ожиданий текущего потока
+     */
+    public static WaitMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Метод для начала нового сбора метрик в текущем потоке.
+     *
+     * @return новые метрики ожиданий текущего потока
+     */
+    public static WaitMetrics start() {
+        WaitMetrics metrics = new WaitMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * Метод для записи ожиданий текущего потока в метрики другого потока.
+     * Запись потокобезопасна, поэтому в одни метрики могут писать поток теста и его вспомогательные потоки.
+     *
+     * @param metrics метрики ожиданий теста, которому помогает текущий поток
+     */
+    public static void attach(WaitMetrics metrics) {
+        CURRENT.set(metrics);
+    }
+
+    /**
+     * Метод для записи одного ожидания.
+     *
+     * @param page     класс страницы, из которой вызвано ожидание
+     * @param locator  описание локатора или элемента
+     * @param nanos    время ожидания в наносекундах
+     * @param polls    количество опросов условия
+     * @param timedOut true если ожидание завершилось таймаутом
+     */
+    public void record(Class<?> page, String locator, long nanos, int polls, boolean timedOut) {
+        String key = page.getSimpleName() + " " + locator;
+        LocatorStats locatorStats = stats.get(key);
+        if (locatorStats == null) {
+            locatorStats = stats.computeIfAbsent(key, k -> new LocatorStats());
+        }
+        locatorStats.record(nanos, polls, timedOut);
+    }
+
+    /**
+     * Метод для выгрузки метрик в JSON.
+     * Ожидания отсортированы по суммарному времени, самые долгие идут первыми.
+     *
+     * @return метрики ожиданий в формате JSON
+     */
+    public String toJson() {
+        List<Map.Entry<String, LocatorStats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().totalMicros.sum(), a.getValue().totalMicros.sum()));
+
+        List<Map<String, Object>> waits = new ArrayList<>(entries.size());
+        for (Map.Entry<String, LocatorStats> entry : entries) {
+            Map<String, Object> wait = new LinkedHashMap<>();
+            wait.put("locator", entry.getKey());
+            entry.getValue().describe(wait);
+            waits.add(wait);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("waits", waits);
+        return new Json().toJson(report);
+    }
+
+    /**
+     * Метод для определения интервала гистограммы по времени ожидания.
+     *
+     * @param micros время ожидания в микросекундах
+     * @return номер интервала
+     */
+    static int bucket(long micros) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Счетчики ожиданий одного локатора.
+     */
+    private static class LocatorStats {
+        /**
+         * Количество ожиданий.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * Количество опросов условия.
+         */
+        private final LongAdder polls = new LongAdder();
+
+        /**
+         * Количество таймаутов.
+         */
+        private final LongAdder timeouts = new LongAdder();
+
+        /**
+         * Суммарное время ожиданий в микросекундах.
+         */
+        private final LongAdder totalMicros = new LongAdder();
+
+        /**
+         * Наибольшее время ожидания в микросекундах.
+         */
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Количество ожиданий в каждом интервале гистограммы.
+         */
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        /**
+         * Конструктор счетчиков ожиданий.
+         */
+        LocatorStats() {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Метод для записи одного ожидания.
+         *
+         * @param nanos      время ожидания в наносекундах
+         * @param pollsCount количество опросов условия
+         * @param timedOut   true если ожидание завершилось таймаутом
+         */
+        void record(long nanos, int pollsCount, boolean timedOut) {
+            long micros = nanos / 1_000;
+            count.increment();
+            polls.add(pollsCount);
+            if (timedOut) {
+                timeouts.increment();
+            }
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+            histogram[bucket(micros)].increment();
+        }
+
+        /**
+         * Метод для заполнения описания ожиданий для отчета.
+         * Перцентиль оценивается верхней границей интервала гистограммы, в который он попал.
+         *
+         * @param wait описание ожиданий локатора
+         */
+        void describe(Map<String, Object> wait) {
+            long total = 0;
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram[i].sum();
+                total += counts[i];
+            }
+            wait.put("count", count.sum());
+            wait.put("polls", polls.sum());
+            wait.put("timeouts", timeouts.sum());
+            wait.put("totalMs", totalMicros.sum() / 1_000.0);
+            wait.put("maxMs", maxMicros.get() / 1_000.0);
+            for (int percentile : PERCENTILES) {
+                long rank = (total * percentile + 99) / 100;
+                long seen = 0;
+                int i = 0;
+                while (i < BUCKETS - 1 && seen + counts[i] < rank) {
+                    seen += counts[i];
+                    i++;
+                }
+                wait.put("p" + percentile + "Ms", Math.min(1L << i, maxMicros.get()) / 1_000.0);
+            }
+        }
+    }
+}
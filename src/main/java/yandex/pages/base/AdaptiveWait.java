@@ -0,0 +1,108 @@
+package yandex.pages.base;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Класс явного ожидания с адаптивным интервалом опроса.
+ * Первые проверки условия выполняются часто, чтобы быстро замечать уже готовые элементы,
+ * а затем интервал удваивается до максимального, чтобы долгие ожидания не нагружали браузер.
+ * Используется вместо неявного ожидания, которое отключено для всех сессий:
+ * отрицательные проверки наличия элементов выполняются сразу и не ждут таймаута.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see BasePage
+ */
+public class AdaptiveWait implements Wait<WebDriver> {
+    /**
+     * Веб-драйвер, к которому применяются условия.
+     */
+    private final WebDriver driver;
+
+    /**
+     * Максимальное время ожидания в наносекундах.
+     */
+    private final long timeoutNanos;
+
+    /**
+     * Начальный интервал опроса в миллисекундах.
+     */
+    private final long initialPollMillis;
+
+    /**
+     * Максимальный интервал опроса в миллисекундах.
+     */
+    private final long maxPollMillis;
+
+    /**
+     * Конструктор адаптивного ожидания.
+     *
+     * @param driver      экземпляр WebDriver для проверки условий
+     * @param timeout     максимальное время ожидания
+     * @param initialPoll начальный интервал опроса
+     * @param maxPoll     максимальный интервал опроса
+     */
+    public AdaptiveWait(WebDriver driver, Duration timeout, Duration initialPoll, Duration maxPoll) {
+        this.driver = driver;
+        this.timeoutNanos = timeout.toNanos();
+        this.initialPollMillis = Math.max(1, initialPoll.toMillis());
+        this.maxPollMillis = Math.max(this.initialPollMillis, maxPoll.toMillis());
+    }
+
+    /**
+     * Метод для ожидания выполнения условия.
+     * Условие считается выполненным, если вернуло значение, отличное от null и false.
+     * Исключения об отсутствующих или устаревших элементах считаются невыполненным условием.
+     *
+     * @param condition условие ожидания
+     * @param <T>       тип результата условия
+     * @return результат условия
+     * @throws TimeoutException если условие не выполнилось за время ожидания
+     */
+    @Override
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        long start = System.nanoTime();
+        long pollMillis = initialPollMillis;
+        RuntimeException lastException = null;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remainingMillis = (timeoutNanos - (System.nanoTime() - start)) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Условие " + condition + " не выполнено за "
+                        + timeoutNanos / 1_000_000 + " мс", lastException);
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(pollMillis * 2, maxPollMillis);
+        }
+    }
+
+    /**
+     * Метод для паузы между проверками условия.
+     *
+     * @param millis длительность паузы в миллисекундах
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Ожидание прервано", e);
+        }
+    }
+}
@@ -1,32 +1,56 @@
 package yandex.pages.base;
 
 import helpers.ConfigProvider;
+import helpers.WaitMetrics;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.Wait;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Базовый класс для всех страниц.
  * Содержит общие методы и поля для работы с веб-элементами.
+ * Каждое явное ожидание записывает в {@link WaitMetrics} время, количество опросов и таймауты
+ * по локатору и классу страницы.
+ * Неявное ожидание в сессиях отключено: ожидания выполняются только явно через {@link AdaptiveWait},
+ * а проверки наличия элементов без ожидания выполняются сразу.
  *
  * @author Габбасова Лилиана Альбертовна
  * @version 2
  */
 public class BasePage {
+    /**
+     * Описание в метриках для ожиданий по веб-элементу вместо локатора.
+     */
+    private static final String ELEMENT = "WebElement";
+
+    /**
+     * Префикс в метриках для поиска элементов без ожидания.
+     */
+    private static final String FIND_PREFIX = "findElements ";
+
     /**
      * Веб-драйвер для управления браузером.
      */
     protected WebDriver driver;
 
     /**
-     * Сервис для явного ожидания.
+     * Сервис для явного ожидания с адаптивным интервалом опроса.
+     */
+    protected Wait<WebDriver> webDriverWait;
+
+    /**
+     * Метрики ожиданий теста, в потоке которого создана страница.
      */
-    protected WebDriverWait webDriverWait;
+    private final WaitMetrics waitMetrics;
 
     /**
      * Конструктор класса базовой страницы.
@@ -35,7 +59,9 @@ public class BasePage {
      */
     protected BasePage(WebDriver driver) {
         this.driver = driver;
-        this.webDriverWait = new WebDriverWait(driver, Duration.ofSeconds(ConfigProvider.EXPLICIT_WAIT));
+        this.webDriverWait = new AdaptiveWait(driver, Duration.ofSeconds(ConfigProvider.EXPLICIT_WAIT),
+                Duration.ofMillis(ConfigProvider.POLL_INITIAL_MILLIS), Duration.ofMillis(ConfigProvider.POLL_MAX_MILLIS));
+        this.waitMetrics = WaitMetrics.current();
     }
 
     /**
@@ -46,7 +72,7 @@ public class BasePage {
      * @return локатор элемента после ожидания его видимости.
      */
     protected WebElement waitElementVisible(By locator) {
-        return webDriverWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return await(locator.toString(), ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     /**
@@ -57,7 +83,7 @@ public class BasePage {
      * @return веб-элемент после ожидания его видимости.
      */
     protected WebElement waitElementVisible(WebElement element) {
-        return webDriverWait.until(ExpectedConditions.visibilityOf(element));
+        return await(ELEMENT, ExpectedConditions.visibilityOf(element));
     }
 
     /**
@@ -67,7 +93,7 @@ public class BasePage {
      * @return кликабельный веб-элемент.
      */
     protected WebElement waitElementClickable(By locator) {
-        return webDriverWait.until(ExpectedConditions.elementToBeClickable(locator));
+        return await(locator.toString(), ExpectedConditions.elementToBeClickable(locator));
     }
 
     /**
@@ -77,17 +103,32 @@ public class BasePage {
      * @return кликабельный веб-элемент.
      */
     protected WebElement waitElementClickable(WebElement element) {
-        return webDriverWait.until(ExpectedConditions.elementToBeClickable(element));
+        return await(ELEMENT, ExpectedConditions.elementToBeClickable(element));
     }
 
     /**
-     * Метод для поиска всех элементов по локатору.
+     * Метод для поиска всех элементов по локатору без ожидания.
+     * Время поиска записывается в метрики, чтобы сравнивать локаторы CSS и XPath.
      *
      * @param locator локатор элементов.
-     * @return список найденных элементов.
+     * @return список найденных элементов, пустой если элементов сейчас нет.
      */
     protected List<WebElement> findElements(By locator) {
-        return driver.findElements(locator);
+        long start = System.nanoTime();
+        try {
+            return driver.findElements(locator);
+        } finally {
+            waitMetrics.record(getClass(), FIND_PREFIX + locator, System.nanoTime() - start, 1, false);
+        }
+    }
+
+    /**
+     * Метод для ожидания окончания загрузки документа.
+     * Нужен перед проверками без ожидания на только что открытой странице или вкладке.
+     */
+    protected void waitDocumentReady() {
+        await("document.readyState", webDriver ->
+                "complete".equals(((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
     }
 
     /**
@@ -97,8 +138,9 @@ public class BasePage {
      * @return true, если элемент исчез.
      */
     protected boolean waitInvisibilityElement(By locator) {
-        return webDriverWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return await(locator.toString(), ExpectedConditions.invisibilityOfElementLocated(locator));
     }
+
     /**
      * Метод для ожидания появления элемента в доме по локатору.
      *
@@ -106,7 +148,72 @@ public class BasePage {
      * @return true, если элемент есть в доме.
      */
     protected List<WebElement> waitForElementsPresence(By locator) {
-        return webDriverWait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        return await(locator.toString(), ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+    }
+
+    /**
+     * Метод для короткого ожидания появления элементов в доме по локатору.
+     * Отсутствие элементов по истечении времени ожидания не считается ошибкой: так проверяются элементы,
+     * которых на странице может не быть, но которые страница отрисовывает скриптом после загрузки документа.
+     *
+     * @param locator локатор элементов.
+     * @param timeout время ожидания.
+     * @return список найденных элементов, пустой если элементы не появились за время ожидания.
+     */
+    protected List<WebElement> waitForElementsPresence(By locator, Duration timeout) {
+        Wait<WebDriver> shortWait = new AdaptiveWait(driver, timeout,
+                Duration.ofMillis(ConfigProvider.POLL_INITIAL_MILLIS), Duration.ofMillis(ConfigProvider.POLL_MAX_MILLIS));
+        try {
+            return await(shortWait, locator.toString(), ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        } catch (TimeoutException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Метод для явного ожидания условия с записью метрик ожидания.
+     *
+     * @param locator   описание локатора для метрик.
+     * @param condition условие ожидания.
+     * @param <T>       тип результата условия.
+     * @return результат условия.
+     */
+    private <T> T await(String locator, Function<WebDriver, T> condition) {
+        return await(webDriverWait, locator, condition);
+    }
+
+    /**
+     * Метод для ожидания условия заданным ожиданием с записью метрик ожидания.
+     *
+     * @param wait      ожидание.
+     * @param locator   описание локатора для метрик.
+     * @param condition условие ожидания.
+     * @param <T>       тип результата условия.
+     * @return результат условия.
+     */
+    private <T> T await(Wait<WebDriver> wait, String locator, Function<WebDriver, T> condition) {
+        int[] polls = new int[1];
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return wait.until(new Function<WebDriver, T>() {
+                @Override
+                public T apply(WebDriver webDriver) {
+                    polls[0]++;
+                    return condition.apply(webDriver);
+                }
+
+                @Override
+                public String toString() {
+                    return condition.toString();
+                }
+            });
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            waitMetrics.record(getClass(), locator, System.nanoTime() - start, polls[0], timedOut);
+        }
     }
 
 }
\ No newline at end of file
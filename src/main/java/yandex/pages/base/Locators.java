@@ -0,0 +1,134 @@
+package yandex.pages.base;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр локаторов страниц.
+ * Хранит готовые экземпляры {@link By}, поэтому локаторы с параметрами, например с названием бренда
+ * или категории, строятся один раз и затем переиспользуются всеми страницами и потоками.
+ * Для поиска по атрибутам используются CSS-селекторы, которые браузер проверяет быстрее XPath,
+ * а XPath остается только там, где нужно сравнение с текстом элемента.
+ * Значения параметров экранируются, поэтому кавычки в названиях не ломают локатор.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see BasePage
+ */
+public final class Locators {
+    /**
+     * Место подстановки параметра в шаблоне локатора.
+     */
+    private static final String PLACEHOLDER = "{}";
+
+    /**
+     * Построенные локаторы по виду, шаблону и значению параметра.
+     */
+    private static final Map<String, By> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Закрытый конструктор, реестр содержит только статические методы.
+     */
+    private Locators() {
+    }
+
+    /**
+     * Метод для получения локатора по CSS-селектору.
+     *
+     * @param selector CSS-селектор
+     * @return локатор из реестра
+     */
+    public static By css(String selector) {
+        return CACHE.computeIfAbsent("css\u0000" + selector, key -> By.cssSelector(selector));
+    }
+
+    /**
+     * Метод для получения локатора по CSS-селектору с параметром.
+     * Параметр подставляется вместо {} как строка CSS в кавычках.
+     *
+     * @param template шаблон CSS-селектора, например "a[title={}]"
+     * @param value    значение параметра
+     * @return локатор из реестра
+     */
+    public static By css(String template, String value) {
+        return CACHE.computeIfAbsent("css\u0000" + template + "\u0000" + value,
+                key -> By.cssSelector(template.replace(PLACEHOLDER, cssString(value))));
+    }
+
+    /**
+     * Метод для получения локатора по XPath.
+     *
+     * @param expression выражение XPath
+     * @return локатор из реестра
+     */
+    public static By xpath(String expression) {
+        return CACHE.computeIfAbsent("xpath\u0000" + expression, key -> By.xpath(expression));
+    }
+
+    /**
+     * Метод для получения локатора по XPath с параметром.
+     * Параметр подставляется вместо {} как строковый литерал XPath.
+     *
+     * @param template шаблон выражения XPath, например "//a[text()={}]"
+     * @param value    значение параметра
+     * @return локатор из реестра
+     */
+    public static By xpath(String template, String value) {
+        return CACHE.computeIfAbsent("xpath\u0000" + template + "\u0000" + value,
+                key -> By.xpath(template.replace(PLACEHOLDER, xpathLiteral(value))));
+    }
+
+    /**
+     * Метод для получения количества локаторов в реестре.
+     *
+     * @return количество построенных локаторов
+     */
+    public static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Метод для записи значения в виде строки CSS в двойных кавычках.
+     *
+     * @param value значение
+     * @return строка CSS с экранированными кавычками и обратной косой чертой
+     */
+    static String cssString(String value) {
+        StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                result.append('\\');
+            }
+            result.append(c);
+        }
+        return result.append('"').toString();
+    }
+
+    /**
+     * Метод для записи значения в виде строкового литерала XPath.
+     * В XPath 1.0 нет экранирования, поэтому значение с обоими видами кавычек собирается через concat().
+     *
+     * @param value значение
+     * @return строковый литерал XPath
+     */
+    static String xpathLiteral(String value) {
+        if (value.indexOf('\'') < 0) {
+            return "'" + value + "'";
+        }
+        if (value.indexOf('"') < 0) {
+            return "\"" + value + "\"";
+        }
+        StringBuilder result = new StringBuilder("concat(");
+        String[] parts = value.split("'", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                result.append(", \"'\", ");
+            }
+            result.append('\'').append(parts[i]).append('\'');
+        }
+        return result.append(')').toString();
+    }
+}
@@ -1,6 +1,7 @@
 package yandex.pages.home;
 
 import yandex.pages.base.BasePage;
+import yandex.pages.base.Locators;
 import helpers.ConfigProvider;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
@@ -21,7 +22,17 @@ public class YandexMarketHomePageCatalog extends BasePage {
     /**
      * Локатор кнопки для открытия каталога.
      */
-    private final By BUTTON_CATALOG_LOCATOR = By.xpath("//button[./span[text()='Каталог']]");
+    private final By BUTTON_CATALOG_LOCATOR = Locators.xpath("//button[./span[text()='Каталог']]");
+
+    /**
+     * Шаблон локатора категории каталога, вместо {} подставляется название категории.
+     */
+    private static final String CATEGORY_TEMPLATE = "//div[@data-auto='catalog-content']//li[.//span[text()={}]]";
+
+    /**
+     * Шаблон локатора подкатегории каталога, вместо {} подставляется название подкатегории.
+     */
+    private static final String SUBCATEGORY_TEMPLATE = "//div[@role='tabpanel']//div[@data-zone-name='linkSnippet']//a[text()={}]";
 
     /**
      * Конструктор класса Главной страницы Яндекс маркета.
@@ -56,7 +67,7 @@ public class YandexMarketHomePageCatalog extends BasePage {
      * @return локатор категории.
      */
     private By getCategoryLocator(String categoryName) {
-        return By.xpath("//div[@data-auto='catalog-content']//li[.//span[text()='" + categoryName + "']]");
+        return Locators.xpath(CATEGORY_TEMPLATE, categoryName);
     }
 
     /**
@@ -66,7 +77,7 @@ public class YandexMarketHomePageCatalog extends BasePage {
      * @return локатор подкатегории.
      */
     private By getSubcategoryLocator(String subcategoryName) {
-        return By.xpath("//div[@role='tabpanel']//div[@data-zone-name='linkSnippet']//a[text()='" + subcategoryName + "']");
+        return Locators.xpath(SUBCATEGORY_TEMPLATE, subcategoryName);
     }
 
     /**
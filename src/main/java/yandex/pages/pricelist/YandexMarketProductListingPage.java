@@ -1,5 +1,7 @@
 package yandex.pages.pricelist;
 
+import helpers.ConfigProvider;
+import yandex.pages.base.Locators;
 import yandex.pages.home.YandexMarketHomePageCatalog;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
@@ -8,7 +10,12 @@ import yandex.pages.pricelist.components.filters.FiltersComponent;
 import yandex.pages.pricelist.components.ProductListComponent;
 import yandex.pages.pricelist.components.filters.SearchComponent;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
 
 /**
  * Класс для работы со страницей после выбора категорий и подкатегорий в Яндекс Маркете.
@@ -23,7 +30,27 @@ public class YandexMarketProductListingPage extends YandexMarketHomePageCatalog
     /**
      * Локатор заголовка страницы.
      */
-    private final By PAGE_TITLE = By.xpath("//h1[@data-auto='title']");
+    private final By PAGE_TITLE = Locators.css("h1[data-auto='title']");
+
+    /**
+     * Режим применения фильтров через адрес страницы.
+     */
+    private static final String URL_FILTERS_MODE = "url";
+
+    /**
+     * Параметр адреса с минимальной ценой.
+     */
+    private static final String PRICE_FROM = "pricefrom";
+
+    /**
+     * Параметр адреса с максимальной ценой.
+     */
+    private static final String PRICE_TO = "priceto";
+
+    /**
+     * Параметр адреса с фильтром по значениям характеристики.
+     */
+    private static final String BRAND_FILTER = "glfilter";
 
     /**
      * Компонент для работы со списком товаров.
@@ -88,6 +115,107 @@ public class YandexMarketProductListingPage extends YandexMarketHomePageCatalog
         productList.load.waitForProductsLoad();
     }
 
+    /**
+     * Метод для фильтрации товаров по стоимости и брендам способом из конфигурации.
+     * В режиме url фильтры применяются одним переходом по адресу с параметрами,
+     * в режиме ui - через элементы фильтров на странице.
+     *
+     * @param min    минимальная цена для фильтрации
+     * @param max    максимальная цена для фильтрации
+     * @param brands список брендов для фильтрации
+     */
+    public void applyFilters(double min, double max, List<String> brands) {
+        if (URL_FILTERS_MODE.equalsIgnoreCase(ConfigProvider.FILTERS_MODE)) {
+            applyFiltersByUrl(min, max, brands);
+        } else {
+            filterByPrice(min, max);
+            filterByBrands(brands);
+        }
+    }
+
+    /**
+     * Метод для фильтрации товаров переходом по адресу списка с параметрами фильтров.
+     * Бренды без известного идентификатора выбираются через элементы фильтров на странице.
+     *
+     * @param min    минимальная цена для фильтрации
+     * @param max    максимальная цена для фильтрации
+     * @param brands список брендов для фильтрации
+     */
+    @Step("Фильтрация через адрес страницы: цена от '{min}' до '{max}' рублей, бренды: {brands}")
+    public void applyFiltersByUrl(double min, double max, List<String> brands) {
+        List<String> brandIds = new ArrayList<>(brands.size());
+        List<String> unknownBrands = new ArrayList<>();
+        for (String brand : brands) {
+            String brandId = ConfigProvider.BRAND_IDS.get(brand);
+            if (brandId != null) {
+                brandIds.add(brandId);
+            } else {
+                unknownBrands.add(brand);
+            }
+        }
+
+        driver.get(buildFilterUrl(driver.getCurrentUrl(), (long) Math.ceil(min), (long) Math.floor(max),
+                ConfigProvider.BRAND_FILTER_ID, brandIds));
+        waitElementVisible(PAGE_TITLE);
+        productList.load.waitForProductsLoad();
+        if (!unknownBrands.isEmpty()) {
+            filterByBrands(unknownBrands);
+        }
+    }
+
+    /**
+     * Метод для построения адреса списка товаров с параметрами фильтров.
+     * Прежние параметры цены и фильтра брендов заменяются, остальные параметры сохраняются.
+     *
+     * @param listingUrl    адрес списка товаров
+     * @param min           минимальная цена
+     * @param max           максимальная цена
+     * @param brandFilterId идентификатор фильтра брендов
+     * @param brandIds      идентификаторы брендов, пустой список - без фильтра брендов
+     * @return адрес списка товаров с фильтрами
+     */
+    static String buildFilterUrl(String listingUrl, long min, long max, String brandFilterId, List<String> brandIds) {
+        int fragmentStart = listingUrl.indexOf('#');
+        String fragment = fragmentStart < 0 ? "" : listingUrl.substring(fragmentStart);
+        String withoutFragment = fragmentStart < 0 ? listingUrl : listingUrl.substring(0, fragmentStart);
+        int queryStart = withoutFragment.indexOf('?');
+        String base = queryStart < 0 ? withoutFragment : withoutFragment.substring(0, queryStart);
+
+        StringJoiner query = new StringJoiner("&", "?", "");
+        if (queryStart >= 0) {
+            String brandFilterPrefix = encode(brandFilterId + ":");
+            for (String parameter : withoutFragment.substring(queryStart + 1).split("&")) {
+                String name = parameter.split("=", 2)[0];
+                String value = parameter.length() > name.length() ? parameter.substring(name.length() + 1) : "";
+                boolean replaced = name.equals(PRICE_FROM) || name.equals(PRICE_TO)
+                        || name.equals(BRAND_FILTER) && (value.startsWith(brandFilterPrefix) || value.startsWith(brandFilterId + ":"));
+                if (!parameter.isEmpty() && !replaced) {
+                    query.add(parameter);
+                }
+            }
+        }
+        query.add(PRICE_FROM + "=" + min);
+        query.add(PRICE_TO + "=" + max);
+        if (!brandIds.isEmpty()) {
+            query.add(BRAND_FILTER + "=" + encode(brandFilterId + ":" + String.join(",", brandIds)));
+        }
+        return base + query + fragment;
+    }
+
+    /**
+     * Метод для кодирования значения параметра адреса.
+     *
+     * @param value значение параметра
+     * @return значение, закодированное для адреса
+     */
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Метод для проверки количества товаров на первой странице.
      *
@@ -112,6 +240,19 @@ public class YandexMarketProductListingPage extends YandexMarketHomePageCatalog
         return productList.checkAllPagesMatchFilters(minPrice, maxPrice, brands);
     }
 
+    /**
+     * Метод для проверки соответствия всех товаров на всех страницах заданным фильтрам по ответам API списка товаров.
+     *
+     * @param minPrice минимальная цена для фильтрации
+     * @param maxPrice максимальная цена для фильтрации
+     * @param brands   список брендов для фильтрации
+     * @return true если все товары на всех страницах соответствуют фильтрам
+     */
+    @Step("Проверка всех страниц по ответам API на соответствие фильтрам: цена - от {minPrice} до {maxPrice}, бренды - {brands}")
+    public boolean checkAllPagesMatchFiltersFromResponses(double minPrice, double maxPrice, List<String> brands) {
+        return productList.checkAllPagesMatchFiltersFromResponses(minPrice, maxPrice, brands);
+    }
+
     /**
      * Метод для получения названия первого товара на странице.
      *
@@ -0,0 +1,280 @@
+package yandex.pages.pricelist.card;
+
+import helpers.ConfigProvider;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Класс файлового кэша брендов товаров.
+ * Хранит бренд, полученный из карточки товара, по идентификатору товара или адресу карточки,
+ * чтобы не открывать одну и ту же карточку при каждом запуске.
+ * Записи старше заданного срока удаляются, при превышении размера удаляются давно использованные записи.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductCardPage
+ */
+public class BrandCache {
+    /**
+     * Разделитель полей в файле кэша.
+     */
+    private static final char SEPARATOR = '\t';
+
+    /**
+     * Общий экземпляр кэша, загружаемый из файла при первом обращении.
+     */
+    private static BrandCache instance;
+
+    /**
+     * Путь к файлу кэша.
+     */
+    private final Path file;
+
+    /**
+     * Время жизни записи в миллисекундах.
+     */
+    private final long ttlMillis;
+
+    /**
+     * Максимальное количество записей.
+     */
+    private final int maxEntries;
+
+    /**
+     * Записи кэша в порядке последнего использования: ключ товара - запись.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Конструктор кэша брендов.
+     *
+     * @param file       путь к файлу кэша
+     * @param ttl        время жизни записи
+     * @param maxEntries максимальное количество записей
+     */
+    public BrandCache(Path file, Duration ttl, int maxEntries) {
+        this.file = file;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        load();
+    }
+
+    /**
+     * Метод для получения общего экземпляра кэша с настройками из конфигурации.
+     *
+     * @return общий экземпляр кэша брендов
+     */
+    public static synchronized BrandCache getInstance() {
+        if (instance == null) {
+            instance = new BrandCache(Paths.get(ConfigProvider.BRAND_CACHE_PATH),
+                    Duration.ofHours(ConfigProvider.BRAND_CACHE_TTL_HOURS),
+                    ConfigProvider.BRAND_CACHE_MAX_ENTRIES);
+        }
+        return instance;
+    }
+
+    /**
+     * Метод для получения бренда товара из кэша.
+     *
+     * @param productUrl адрес карточки товара
+     * @return бренд товара или null если записи нет или срок ее жизни истек
+     */
+    public synchronized String get(String productUrl) {
+        String key = productKey(productUrl);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.brand;
+    }
+
+    /**
+     * Метод для сохранения бренда товара в кэш.
+     * Пустой бренд не сохраняется, чтобы карточка была открыта повторно.
+     *
+     * @param productUrl адрес карточки товара
+     * @param brand      бренд товара
+     */
+    public synchronized void put(String productUrl, String brand) {
+        if (brand.isEmpty()) {
+            return;
+        }
+        entries.put(productKey(productUrl), new Entry(brand, System.currentTimeMillis()));
+        evictOverflow();
+    }
+
+    /**
+     * Метод для записи кэша в файл.
+     * Запись выполняется во временный файл рядом с кэшем, который затем атомарно заменяет файл кэша,
+     * чтобы прерванный запуск не повредил кэш. При ошибке временный файл удаляется, а прежний файл остается.
+     */
+    public synchronized void save() {
+        Path tempFile = null;
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            long now = System.currentTimeMillis();
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    if (isExpired(entry.getValue(), now)) {
+                        continue;
+                    }
+                    writer.write(entry.getKey());
+                    writer.write(SEPARATOR);
+                    writer.write(entry.getValue().brand);
+                    writer.write(SEPARATOR);
+                    writer.write(Long.toString(entry.getValue().createdAt));
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteQuietly(tempFile);
+            throw new UncheckedIOException("Не удалось сохранить кэш брендов в " + file, e);
+        }
+    }
+
+    /**
+     * Метод для удаления временного файла после неудачной записи кэша.
+     *
+     * @param tempFile временный файл или null если он не создан
+     */
+    private static void deleteQuietly(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException ignored) {
+            // Оставшийся временный файл не мешает следующей записи, она создает новый.
+        }
+    }
+
+    /**
+     * Метод для загрузки кэша из файла без устаревших и поврежденных записей.
+     */
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(String.valueOf(SEPARATOR));
+                if (fields.length != 3) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = new Entry(fields[1], Long.parseLong(fields[2]));
+                } catch (NumberFormatException e) {
+                    // Поврежденная строка пропускается, остальные записи кэша остаются.
+                    continue;
+                }
+                if (!isExpired(entry, now)) {
+                    entries.put(fields[0], entry);
+                }
+            }
+        } catch (IOException e) {
+            entries.clear();
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Метод для удаления давно использованных записей сверх максимального размера.
+     */
+    private void evictOverflow() {
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Метод для проверки истечения срока жизни записи.
+     *
+     * @param entry запись кэша
+     * @param now   текущее время в миллисекундах
+     * @return true если срок жизни записи истек
+     */
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.createdAt > ttlMillis;
+    }
+
+    /**
+     * Метод для получения ключа товара по адресу карточки.
+     * Если адрес оканчивается числовым идентификатором товара, ключом служит идентификатор,
+     * иначе адрес без фрагмента.
+     *
+     * @param productUrl адрес карточки товара
+     * @return ключ товара в кэше
+     */
+    static String productKey(String productUrl) {
+        try {
+            URI uri = new URI(productUrl);
+            String path = uri.getPath();
+            if (path != null) {
+                String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+                if (!lastSegment.isEmpty() && lastSegment.chars().allMatch(Character::isDigit)) {
+                    return "id:" + lastSegment;
+                }
+            }
+            return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null).toString();
+        } catch (URISyntaxException e) {
+            return productUrl;
+        }
+    }
+
+    /**
+     * Запись кэша с брендом и временем его получения.
+     */
+    private static class Entry {
+        /**
+         * Бренд товара.
+         */
+        private final String brand;
+
+        /**
+         * Время получения бренда в миллисекундах.
+         */
+        private final long createdAt;
+
+        /**
+         * Конструктор записи кэша.
+         *
+         * @param brand     бренд товара
+         * @param createdAt время получения бренда в миллисекундах
+         */
+        Entry(String brand, long createdAt) {
+            this.brand = brand;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package yandex.pages.pricelist.card;
+
+import helpers.WaitMetrics;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Класс пула дополнительных сессий браузера для проверки брендов в карточках товаров.
+ * Каждый поток пула открывает карточки по адресу в собственной сессии,
+ * поэтому основная сессия не покидает страницу со списком товаров.
+ * Ожидания в потоках пула записываются в метрики теста, создавшего пул.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductCardPage
+ */
+public class BrandVerificationPool implements AutoCloseable {
+    /**
+     * Исполнитель задач с фиксированным количеством потоков.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Фабрика для создания сессий браузера.
+     */
+    private final Supplier<WebDriver> driverFactory;
+
+    /**
+     * Сессия браузера, закрепленная за потоком пула.
+     */
+    private final ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
+
+    /**
+     * Все созданные сессии браузера для закрытия вместе с пулом.
+     */
+    private final List<WebDriver> drivers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Метрики ожиданий теста, в потоке которого создан пул.
+     */
+    private final WaitMetrics waitMetrics = WaitMetrics.current();
+
+    /**
+     * Конструктор пула сессий для проверки брендов.
+     *
+     * @param size          количество сессий браузера
+     * @param driverFactory фабрика для создания сессий браузера
+     */
+    public BrandVerificationPool(int size, Supplier<WebDriver> driverFactory) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "brand-check-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.driverFactory = driverFactory;
+    }
+
+    /**
+     * Метод для асинхронного получения бренда товара по адресу его карточки.
+     * Сессия браузера создается при первой задаче потока и переиспользуется далее.
+     *
+     * @param productUrl адрес карточки товара
+     * @return бренд товара или пустая строка если бренд не найден
+     */
+    public CompletableFuture<String> fetchBrand(String productUrl) {
+        return CompletableFuture.supplyAsync(() -> {
+            WaitMetrics.attach(waitMetrics);
+            WebDriver driver = getThreadDriver();
+            driver.get(productUrl);
+            return new ProductCardPage(driver).readBrandFromImage();
+        }, executor);
+    }
+
+    /**
+     * Метод для получения сессии браузера текущего потока пула.
+     *
+     * @return сессия браузера текущего потока
+     */
+    private WebDriver getThreadDriver() {
+        WebDriver driver = threadDriver.get();
+        if (driver == null) {
+            driver = driverFactory.get();
+            drivers.add(driver);
+            threadDriver.set(driver);
+        }
+        return driver;
+    }
+
+    /**
+     * Метод для остановки потоков пула и закрытия всех сессий браузера.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (WebDriver driver : drivers) {
+            driver.quit();
+        }
+        drivers.clear();
+    }
+}
@@ -1,11 +1,14 @@
 package yandex.pages.pricelist.card;
 
+import helpers.ConfigProvider;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import yandex.pages.base.BasePage;
+import yandex.pages.base.Locators;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -21,7 +24,7 @@ public class ProductCardPage extends BasePage {
     /**
      * Локатор изображения бренда в карточке товара.
      */
-    private final By BRAND_IMAGE = By.xpath("//div[@data-zone-name='showAll']//img");
+    private final By BRAND_IMAGE = Locators.css("div[data-zone-name='showAll'] img");
 
     /**
      * Конструктор страницы карточки товара.
@@ -40,7 +43,21 @@ public class ProductCardPage extends BasePage {
      */
     @Step("Получение бренда товара из карточки через изображение")
     public String getBrandFromImage() {
-        List<WebElement> brandImages = findElements(BRAND_IMAGE);
+        return readBrandFromImage();
+    }
+
+    /**
+     * Метод для чтения названия бренда из изображения без создания шага в отчете.
+     * Используется вспомогательными сессиями, которые работают вне потока теста.
+     * Изображение ожидается недолго после полной загрузки документа карточки: на карточке, которую
+     * отрисовывает скрипт, изображения еще может не быть, и поиск без ожидания дал бы ложное несоответствие бренда.
+     *
+     * @return название бренда или пустую строку если бренд не найден
+     */
+    public String readBrandFromImage() {
+        waitDocumentReady();
+        List<WebElement> brandImages = waitForElementsPresence(BRAND_IMAGE,
+                Duration.ofMillis(ConfigProvider.BRAND_IMAGE_WAIT_MILLIS));
         if (brandImages.isEmpty()) {
             return "";
         }
@@ -64,7 +81,17 @@ public class ProductCardPage extends BasePage {
      */
     @Step("Проверка соответствия бренда товара ожидаемым брендам: {expectedBrands}")
     public boolean isBrandMatches(List<String> brands) {
-        String actualBrand = getBrandFromImage();
+        return isBrandMatches(getBrandFromImage(), brands);
+    }
+
+    /**
+     * Метод для проверки соответствия названия бренда ожидаемым брендам.
+     *
+     * @param actualBrand название бренда из карточки товара
+     * @param brands      список ожидаемых брендов для проверки
+     * @return true если бренд соответствует одному из ожидаемых брендов, а иначе false.
+     */
+    public static boolean isBrandMatches(String actualBrand, List<String> brands) {
         if (actualBrand.isEmpty()) {
             return false;
         }
@@ -76,4 +103,4 @@ public class ProductCardPage extends BasePage {
         }
         return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,294 @@
+package yandex.pages.pricelist.components;
+
+import helpers.CdpSupport;
+import org.openqa.selenium.WebDriver;
+import yandex.pages.base.BasePage;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Класс для извлечения данных карточек товаров из снимка DOM.
+ * Снимок всей страницы с текстом, атрибутами и отрисовкой узлов получается одной командой
+ * DOMSnapshot.captureSnapshot протокола Chrome DevTools и разбирается в памяти, поэтому чтение
+ * карточек не требует запросов к отдельным элементам и не вызывает пересчет раскладки страницы.
+ * Правила поиска совпадают со скриптом {@link JsExecutor}: наименование - span[itemprop='name'] внутри article,
+ * цена - span с текстом "Цена", адрес - ссылка, в которую вложено наименование.
+ * Ссылки на элементы из снимка не извлекаются, карточка товара открывается по адресу.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductExtractor
+ * @see CdpSupport
+ */
+public class DomSnapshotExtractor extends BasePage implements ProductExtractor {
+    /**
+     * Тип узла DOM для текста.
+     */
+    private static final int TEXT_NODE = 3;
+
+    /**
+     * Вычисляемые стили, которые запрашиваются для отрисованных узлов.
+     */
+    private static final List<String> COMPUTED_STYLES = Collections.singletonList("visibility");
+
+    /**
+     * Текст, по которому находится элемент с ценой.
+     */
+    private static final String PRICE_MARKER = "Цена";
+
+    /**
+     * Идентификаторы узлов карточек, уже переданных на проверку.
+     * Идентификатор узла не меняется, пока карточка остается на странице.
+     */
+    private final Set<Long> extractedArticles = new HashSet<>();
+
+    /**
+     * Конструктор класса для извлечения данных карточек товаров из снимка DOM.
+     *
+     * @param driver экземпляр WebDriver для взаимодействия с браузером.
+     */
+    public DomSnapshotExtractor(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Метод для извлечения данных всех карточек товаров на странице из одного снимка DOM.
+     *
+     * @return список данных товаров в порядке их следования на странице
+     */
+    @Override
+    public List<ProductData> extractProducts() {
+        return new ArrayList<>(capture().values());
+    }
+
+    /**
+     * Метод для извлечения данных только тех карточек товаров, которые не извлекались ранее.
+     * Карточка без наименования еще не догрузилась и не запоминается, чтобы попасть в следующую партию.
+     *
+     * @return список данных новых товаров в порядке их следования на странице
+     */
+    @Override
+    public List<ProductData> extractNewProducts() {
+        List<ProductData> products = new ArrayList<>();
+        for (Map.Entry<Long, ProductData> product : capture().entrySet()) {
+            if (extractedArticles.add(product.getKey())) {
+                products.add(product.getValue());
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Метод для сброса извлеченных карточек.
+     */
+    @Override
+    public void resetExtractedProducts() {
+        extractedArticles.clear();
+    }
+
+    /**
+     * Метод для получения снимка DOM и извлечения из него карточек товаров.
+     *
+     * @return данные товаров по идентификатору узла карточки в порядке следования на странице
+     */
+    private Map<Long, ProductData> capture() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("computedStyles", COMPUTED_STYLES);
+        return parse(CdpSupport.execute(driver, "DOMSnapshot.captureSnapshot", params));
+    }
+
+    /**
+     * Метод для разбора снимка DOM основного документа страницы.
+     * Узлы снимка хранятся в виде параллельных массивов, строки - индексами в общей таблице строк,
+     * а родитель каждого узла находится в снимке раньше самого узла.
+     *
+     * @param snapshot результат команды DOMSnapshot.captureSnapshot
+     * @return данные товаров по идентификатору узла карточки в порядке следования на странице
+     */
+    @SuppressWarnings("unchecked")
+    static Map<Long, ProductData> parse(Map<String, Object> snapshot) {
+        List<Object> strings = (List<Object>) snapshot.get("strings");
+        Map<String, Object> document = ((List<Map<String, Object>>) snapshot.get("documents")).get(0);
+        Map<String, Object> nodes = (Map<String, Object>) document.get("nodes");
+        int[] parents = ints(nodes.get("parentIndex"));
+        int[] types = ints(nodes.get("nodeType"));
+        int[] names = ints(nodes.get("nodeName"));
+        int[] values = ints(nodes.get("nodeValue"));
+        long[] backendIds = longs(nodes.get("backendNodeId"));
+        List<Object> attributes = (List<Object>) nodes.get("attributes");
+        int count = parents.length;
+
+        int[] articles = new int[count];
+        boolean[] spans = new boolean[count];
+        boolean[] nameSpans = new boolean[count];
+        int[] links = new int[count];
+        for (int i = 0; i < count; i++) {
+            int parent = parents[i];
+            String nodeName = string(strings, names[i]);
+            articles[i] = "ARTICLE".equals(nodeName) ? i : parent >= 0 ? articles[parent] : -1;
+            links[i] = "A".equals(nodeName) ? i : parent >= 0 ? links[parent] : -1;
+            spans[i] = "SPAN".equals(nodeName) && articles[i] >= 0;
+            nameSpans[i] = spans[i] && "name".equals(attribute(strings, attributes, i, "itemprop"));
+        }
+
+        Map<Integer, StringBuilder> texts = new HashMap<>();
+        Map<Integer, StringBuilder> ownTexts = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (types[i] != TEXT_NODE || parents[i] < 0 || articles[i] < 0) {
+                continue;
+            }
+            String value = string(strings, values[i]);
+            if (spans[parents[i]]) {
+                ownTexts.computeIfAbsent(parents[i], key -> new StringBuilder()).append(value);
+            }
+            for (int node = parents[i]; node >= 0 && node != articles[i]; node = parents[node]) {
+                if (spans[node]) {
+                    texts.computeIfAbsent(node, key -> new StringBuilder()).append(value);
+                }
+            }
+        }
+
+        Map<Integer, Integer> nameNodes = new LinkedHashMap<>();
+        Map<Integer, Integer> priceNodes = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (nameSpans[i]) {
+                nameNodes.putIfAbsent(articles[i], i);
+            }
+            if (spans[i] && ownTexts.containsKey(i) && ownTexts.get(i).indexOf(PRICE_MARKER) >= 0) {
+                priceNodes.putIfAbsent(articles[i], i);
+            }
+        }
+
+        Set<Integer> visibleNodes = visibleNodes(strings, (Map<String, Object>) document.get("layout"));
+        String baseUrl = string(strings, ((Number) document.get("baseURL")).intValue());
+        Map<Long, ProductData> products = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Integer> article : nameNodes.entrySet()) {
+            int nameNode = article.getValue();
+            String name = texts.containsKey(nameNode) ? texts.get(nameNode).toString().trim() : "";
+            if (name.isEmpty()) {
+                continue;
+            }
+            Integer priceNode = priceNodes.get(article.getKey());
+            String price = priceNode != null ? texts.get(priceNode).toString() : "";
+            int link = links[nameNode];
+            String href = link >= 0 && articles[link] == article.getKey()
+                    ? resolve(baseUrl, attribute(strings, attributes, link, "href")) : "";
+            products.put(backendIds[article.getKey()],
+                    new ProductData(name, price, href, null, visibleNodes.contains(nameNode)));
+        }
+        return products;
+    }
+
+    /**
+     * Метод для получения отрисованных узлов с ненулевыми размерами и видимым стилем.
+     *
+     * @param strings таблица строк снимка
+     * @param layout  данные отрисовки документа
+     * @return индексы видимых узлов
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<Integer> visibleNodes(List<Object> strings, Map<String, Object> layout) {
+        Set<Integer> visible = new HashSet<>();
+        int[] nodeIndexes = ints(layout.get("nodeIndex"));
+        List<Object> bounds = (List<Object>) layout.get("bounds");
+        List<Object> styles = (List<Object>) layout.get("styles");
+        for (int i = 0; i < nodeIndexes.length; i++) {
+            List<Object> rect = (List<Object>) bounds.get(i);
+            List<Object> style = (List<Object>) styles.get(i);
+            String visibility = style.isEmpty() ? "visible" : string(strings, ((Number) style.get(0)).intValue());
+            if (((Number) rect.get(2)).doubleValue() > 0 && ((Number) rect.get(3)).doubleValue() > 0
+                    && "visible".equals(visibility)) {
+                visible.add(nodeIndexes[i]);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Метод для получения значения атрибута узла снимка.
+     *
+     * @param strings    таблица строк снимка
+     * @param attributes атрибуты узлов: индексы имен и значений подряд
+     * @param node       индекс узла
+     * @param name       имя атрибута
+     * @return значение атрибута или null если атрибута нет
+     */
+    @SuppressWarnings("unchecked")
+    private static String attribute(List<Object> strings, List<Object> attributes, int node, String name) {
+        List<Object> pairs = (List<Object>) attributes.get(node);
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            if (name.equals(string(strings, ((Number) pairs.get(i)).intValue()))) {
+                return string(strings, ((Number) pairs.get(i + 1)).intValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Метод для получения абсолютного адреса ссылки, как его возвращает свойство href элемента.
+     *
+     * @param baseUrl базовый адрес документа
+     * @param href    значение атрибута href
+     * @return абсолютный адрес или пустая строка если атрибута нет
+     */
+    private static String resolve(String baseUrl, String href) {
+        if (href == null || href.isEmpty()) {
+            return "";
+        }
+        try {
+            return URI.create(baseUrl).resolve(href.trim()).toString();
+        } catch (IllegalArgumentException e) {
+            return href;
+        }
+    }
+
+    /**
+     * Метод для получения строки из таблицы строк снимка.
+     *
+     * @param strings таблица строк снимка
+     * @param index   индекс строки, -1 если строки нет
+     * @return строка или пустая строка для индекса -1
+     */
+    private static String string(List<Object> strings, int index) {
+        return index < 0 ? "" : (String) strings.get(index);
+    }
+
+    /**
+     * Метод для преобразования числового массива снимка в массив int.
+     *
+     * @param values числовой массив снимка
+     * @return массив int
+     */
+    @SuppressWarnings("unchecked")
+    private static int[] ints(Object values) {
+        List<Object> list = values instanceof List ? (List<Object>) values : Collections.emptyList();
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((Number) list.get(i)).intValue();
+        }
+        return result;
+    }
+
+    /**
+     * Метод для преобразования числового массива снимка в массив long.
+     *
+     * @param values числовой массив снимка
+     * @return массив long
+     */
+    @SuppressWarnings("unchecked")
+    private static long[] longs(Object values) {
+        List<Object> list = values instanceof List ? (List<Object>) values : Collections.emptyList();
+        long[] result = new long[list.size()];
+        Arrays.setAll(result, i -> ((Number) list.get(i)).longValue());
+        return result;
+    }
+}
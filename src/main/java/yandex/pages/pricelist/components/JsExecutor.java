@@ -5,6 +5,10 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import yandex.pages.base.BasePage;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Класс для выполнения JavaScript команд в браузере.
  * Предоставляет методы для прокрутки страницы и взаимодействия с элементами через JavaScript.
@@ -13,8 +17,39 @@ import yandex.pages.base.BasePage;
  * @version 2
  * @see BasePage
  * @see JavascriptExecutor
+ * @see ProductExtractor
  */
-public class JsExecutor extends BasePage {
+public class JsExecutor extends BasePage implements ProductExtractor {
+    /**
+     * Атрибут, которым помечаются карточки товаров, уже переданные на проверку.
+     */
+    private static final String EXTRACTED_ATTRIBUTE = "data-autotest-extracted";
+
+    /**
+     * Скрипт для извлечения наименования, цены и ссылки карточек товаров за один вызов.
+     * Если первый аргумент равен true, извлекаются только непомеченные карточки, и они помечаются.
+     * Карточка без наименования еще не догрузилась и не помечается, чтобы попасть в следующую партию.
+     */
+    private static final String EXTRACT_PRODUCTS_SCRIPT =
+            "var onlyNew = arguments[0] === true;" +
+            "var result = [];" +
+            "var articles = document.querySelectorAll(onlyNew ? 'article:not([" + EXTRACTED_ATTRIBUTE + "])' : 'article');" +
+            "for (var i = 0; i < articles.length; i++) {" +
+            "  var name = articles[i].querySelector(\"span[itemprop='name']\");" +
+            "  if (!name) continue;" +
+            "  if (onlyNew) articles[i].setAttribute('" + EXTRACTED_ATTRIBUTE + "', '');" +
+            "  var price = document.evaluate(\".//span[contains(text(),'Цена')]\", articles[i], null," +
+            "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  var link = name.closest('a');" +
+            "  result.push({" +
+            "    name: name.textContent || name.innerText || ''," +
+            "    price: price ? (price.textContent || price.innerText || '') : ''," +
+            "    href: link ? link.href : ''," +
+            "    link: link" +
+            "  });" +
+            "}" +
+            "return result;";
+
     /**
      * Экземпляр JavascriptExecutor для выполнения JavaScript команд.
      */
@@ -54,4 +89,56 @@ public class JsExecutor extends BasePage {
     public void clickWithJS(WebElement element) {
         js.executeScript("arguments[0].click();", element);
     }
+
+    /**
+     * Метод для извлечения данных всех карточек товаров на странице за один вызов скрипта.
+     * Наименование, цена и ссылка берутся из одной и той же карточки, поэтому не могут рассинхронизироваться.
+     *
+     * @return список данных товаров в порядке их следования на странице
+     */
+    @Override
+    public List<ProductData> extractProducts() {
+        return extractProducts(false);
+    }
+
+    /**
+     * Метод для извлечения данных только тех карточек товаров, которые появились после предыдущего вызова.
+     * Извлеченные карточки помечаются на странице, поэтому каждая карточка передается на проверку один раз,
+     * а объем данных за вызов не растет вместе с количеством загруженных товаров.
+     *
+     * @return список данных новых товаров в порядке их следования на странице
+     */
+    @Override
+    public List<ProductData> extractNewProducts() {
+        return extractProducts(true);
+    }
+
+    /**
+     * Метод для снятия пометок с карточек товаров, чтобы следующее извлечение новых товаров вернуло все карточки.
+     */
+    @Override
+    public void resetExtractedProducts() {
+        js.executeScript("var marked = document.querySelectorAll('article[" + EXTRACTED_ATTRIBUTE + "]');" +
+                "for (var i = 0; i < marked.length; i++) marked[i].removeAttribute('" + EXTRACTED_ATTRIBUTE + "');");
+    }
+
+    /**
+     * Метод для извлечения данных карточек товаров за один вызов скрипта.
+     *
+     * @param onlyNew true если нужны только карточки, не извлеченные ранее
+     * @return список данных товаров в порядке их следования на странице
+     */
+    @SuppressWarnings("unchecked")
+    private List<ProductData> extractProducts(boolean onlyNew) {
+        List<Map<String, Object>> rawProducts = (List<Map<String, Object>>) js.executeScript(EXTRACT_PRODUCTS_SCRIPT, onlyNew);
+        List<ProductData> products = new ArrayList<>(rawProducts.size());
+        for (Map<String, Object> rawProduct : rawProducts) {
+            products.add(new ProductData(
+                    ((String) rawProduct.get("name")).trim(),
+                    (String) rawProduct.get("price"),
+                    (String) rawProduct.get("href"),
+                    (WebElement) rawProduct.get("link")));
+        }
+        return products;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,364 @@
+package yandex.pages.pricelist.components;
+
+import helpers.CdpSupport;
+import helpers.ConfigProvider;
+import helpers.ResourceBlocker;
+import helpers.SessionRecorder;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+import yandex.pages.utils.PriceParserComponent;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Класс для перехвата ответов API списка товаров через протокол Chrome DevTools.
+ * Список товаров на странице строится из JSON, который страница получает от сайта, поэтому товары
+ * можно проверять по этим данным: наименование, цена числом и производитель без чтения карточек на странице
+ * и без открытия карточек товаров.
+ * Ответы выбираются по шаблонам адресов из настроек, тела ответов запрашиваются через Network.getResponseBody
+ * в отдельном потоке и разбираются потоково: каждый объект JSON, в котором есть поля наименования и цены,
+ * считается товаром.
+ * Соединение DevTools общее с записью сессии и блокировкой ресурсов, поэтому при остановке
+ * перехват снимает только свои обработчики событий.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductRecord
+ * @see CdpSupport
+ */
+public class ListingResponseCapture {
+    /**
+     * Максимальное время ожидания разбора уже отправленных запросов в секундах.
+     */
+    private static final int DRAIN_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Соединение DevTools с вкладкой со списком товаров.
+     */
+    private final DevTools devTools;
+
+    /**
+     * Поток получения и разбора тел ответов.
+     */
+    private final ExecutorService bodyReader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "listing-response-capture");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Идентификаторы отправленных запросов списка товаров, ответы на которые еще не разобраны.
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Разобранные товары, которые еще не переданы на проверку.
+     */
+    private final Queue<ProductRecord> records = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Количество разобранных ответов.
+     */
+    private final AtomicInteger responsesCount = new AtomicInteger();
+
+    /**
+     * Количество ответов, тела которых браузер не вернул или которые не удалось разобрать.
+     */
+    private final AtomicInteger missedCount = new AtomicInteger();
+
+    /**
+     * Отписки обработчиков перехвата от событий соединения.
+     */
+    private final List<Runnable> subscriptions = new ArrayList<>();
+
+    /**
+     * Признак того, что перехват не остановлен.
+     */
+    private volatile boolean active = true;
+
+    /**
+     * Конструктор перехвата.
+     *
+     * @param devTools соединение DevTools с вкладкой со списком товаров
+     */
+    private ListingResponseCapture(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Метод для начала перехвата ответов API списка товаров в текущей вкладке.
+     *
+     * @param driver веб-драйвер
+     * @return перехват, который нужно остановить методом {@link #stop()}
+     */
+    public static ListingResponseCapture start(WebDriver driver) {
+        ListingResponseCapture capture = new ListingResponseCapture(CdpSupport.openDevTools(driver));
+        capture.subscriptions.add(CdpSupport.addListener(capture.devTools, "Network.requestWillBeSent", capture::onRequest));
+        capture.subscriptions.add(CdpSupport.addListener(capture.devTools, "Network.loadingFinished", capture::onFinished));
+        capture.subscriptions.add(CdpSupport.addListener(capture.devTools, "Network.loadingFailed", params -> {
+            if (capture.complete(CdpSupport.string(params, "requestId"))) {
+                capture.missedCount.incrementAndGet();
+            }
+        }));
+        CdpSupport.send(capture.devTools, "Network.enable", Collections.emptyMap());
+        return capture;
+    }
+
+    /**
+     * Метод для получения товаров из ответов, полученных после предыдущего вызова.
+     * Перед этим ожидается разбор ответов на уже отправленные запросы.
+     * Запросы, ответы на которые не разобраны за время ожидания, считаются пропущенными.
+     *
+     * @return товары в порядке получения ответов
+     */
+    public List<ProductRecord> drainRecords() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        synchronized (pending) {
+            long remaining = deadline - System.nanoTime();
+            while (!pending.isEmpty() && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(pending, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            missedCount.addAndGet(pending.size());
+            pending.clear();
+        }
+        List<ProductRecord> drained = new ArrayList<>();
+        for (ProductRecord record = records.poll(); record != null; record = records.poll()) {
+            drained.add(record);
+        }
+        return drained;
+    }
+
+    /**
+     * Метод для остановки перехвата.
+     * Сетевые события выключаются, только если они не нужны записи сессии и блокировке ресурсов.
+     */
+    public void stop() {
+        active = false;
+        for (Runnable subscription : subscriptions) {
+            subscription.run();
+        }
+        bodyReader.shutdownNow();
+        if (ResourceBlocker.current() == null && SessionRecorder.current() == null) {
+            try {
+                CdpSupport.send(devTools, "Network.disable", Collections.emptyMap());
+            } catch (WebDriverException e) {
+                // Вкладка уже закрыта.
+            }
+        }
+    }
+
+    /**
+     * Метод для получения количества разобранных ответов.
+     *
+     * @return количество ответов
+     */
+    public int getResponsesCount() {
+        return responsesCount.get();
+    }
+
+    /**
+     * Метод для получения количества ответов, которые не удалось получить, разобрать или дождаться.
+     *
+     * @return количество ответов
+     */
+    public int getMissedCount() {
+        return missedCount.get();
+    }
+
+    /**
+     * Обработчик отправки запроса: запоминаются запросы, адрес которых подходит под шаблоны из настроек.
+     *
+     * @param params параметры события Network.requestWillBeSent
+     */
+    private void onRequest(Map<String, Object> params) {
+        if (!active) {
+            return;
+        }
+        String url = CdpSupport.string(CdpSupport.object(params, "request"), "url");
+        for (String pattern : ConfigProvider.VALIDATION_URL_PATTERNS) {
+            if (url.contains(pattern)) {
+                pending.add(CdpSupport.string(params, "requestId"));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Обработчик завершения загрузки ответа: тело ответа запрашивается и разбирается в отдельном потоке.
+     *
+     * @param params параметры события Network.loadingFinished
+     */
+    private void onFinished(Map<String, Object> params) {
+        String requestId = CdpSupport.string(params, "requestId");
+        if (!active || !pending.contains(requestId)) {
+            return;
+        }
+        bodyReader.execute(() -> {
+            List<ProductRecord> parsed = null;
+            try {
+                Map<String, Object> result = CdpSupport.send(devTools, "Network.getResponseBody",
+                        Collections.singletonMap("requestId", requestId));
+                String body = CdpSupport.string(result, "body");
+                if (Boolean.TRUE.equals(result.get("base64Encoded"))) {
+                    body = new String(Base64.getDecoder().decode(body), StandardCharsets.UTF_8);
+                }
+                parsed = parse(new StringReader(body));
+            } catch (WebDriverException e) {
+                // Тело не получено или не является JSON, ответ будет учтен как пропущенный.
+            }
+            synchronized (pending) {
+                if (!pending.contains(requestId)) {
+                    // Ответ уже учтен как пропущенный по истечении времени ожидания.
+                    return;
+                }
+                if (parsed != null) {
+                    records.addAll(parsed);
+                    responsesCount.incrementAndGet();
+                } else {
+                    missedCount.incrementAndGet();
+                }
+                complete(requestId);
+            }
+        });
+    }
+
+    /**
+     * Метод для отметки запроса завершенным и пробуждения ожидающего потока теста.
+     *
+     * @param requestId идентификатор запроса
+     * @return true если запрос ожидал разбора
+     */
+    private boolean complete(String requestId) {
+        synchronized (pending) {
+            if (pending.remove(requestId)) {
+                pending.notifyAll();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Метод для потокового разбора ответа API списка товаров без построения дерева JSON.
+     * Имена полей наименования, цены и производителя берутся из настроек.
+     *
+     * @param body тело ответа
+     * @return товары в порядке следования в ответе
+     * @throws JsonException если ответ не является JSON
+     */
+    static List<ProductRecord> parse(Reader body) {
+        List<ProductRecord> parsed = new ArrayList<>();
+        try (JsonInput input = new Json().newInput(body)) {
+            readValue(input, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Метод для разбора значения JSON с поиском товаров во вложенных объектах и массивах.
+     *
+     * @param input  поток JSON
+     * @param parsed найденные товары
+     */
+    private static void readValue(JsonInput input, List<ProductRecord> parsed) {
+        JsonType type = input.peek();
+        if (type == JsonType.START_MAP) {
+            readObject(input, parsed);
+        } else if (type == JsonType.START_COLLECTION) {
+            input.beginArray();
+            while (input.hasNext()) {
+                readValue(input, parsed);
+            }
+            input.endArray();
+        } else {
+            input.skipValue();
+        }
+    }
+
+    /**
+     * Метод для разбора объекта JSON.
+     * Объект с полями наименования и цены добавляется как товар, остальные поля просматриваются дальше.
+     *
+     * @param input  поток JSON
+     * @param parsed найденные товары
+     */
+    private static void readObject(JsonInput input, List<ProductRecord> parsed) {
+        String name = null;
+        long price = PriceParserComponent.NO_PRICE;
+        String vendor = "";
+        input.beginObject();
+        while (input.hasNext()) {
+            String field = input.nextName();
+            if (field.equals(ConfigProvider.VALIDATION_NAME_FIELD) && input.peek() == JsonType.STRING) {
+                name = input.nextString().trim();
+            } else if (field.equals(ConfigProvider.VALIDATION_PRICE_FIELD)) {
+                price = readPrice(input);
+            } else if (field.equals(ConfigProvider.VALIDATION_VENDOR_FIELD) && input.peek() == JsonType.STRING) {
+                vendor = input.nextString().trim();
+            } else {
+                readValue(input, parsed);
+            }
+        }
+        input.endObject();
+        if (name != null && price != PriceParserComponent.NO_PRICE) {
+            parsed.add(new ProductRecord(name, price, vendor));
+        }
+    }
+
+    /**
+     * Метод для чтения цены: числа, строки с ценой или объекта с полем value.
+     *
+     * @param input поток JSON
+     * @return цена в рублях или {@link PriceParserComponent#NO_PRICE} если цена не распознана
+     */
+    private static long readPrice(JsonInput input) {
+        JsonType type = input.peek();
+        if (type == JsonType.NUMBER) {
+            return input.nextNumber().longValue();
+        }
+        if (type == JsonType.STRING) {
+            return PriceParserComponent.extractPriceFromText(input.nextString());
+        }
+        if (type != JsonType.START_MAP) {
+            input.skipValue();
+            return PriceParserComponent.NO_PRICE;
+        }
+        long price = PriceParserComponent.NO_PRICE;
+        input.beginObject();
+        while (input.hasNext()) {
+            if ("value".equals(input.nextName()) && price == PriceParserComponent.NO_PRICE) {
+                price = readPrice(input);
+            } else {
+                input.skipValue();
+            }
+        }
+        input.endObject();
+        return price;
+    }
+}
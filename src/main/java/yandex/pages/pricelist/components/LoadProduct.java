@@ -1,14 +1,16 @@
 package yandex.pages.pricelist.components;
 
+import helpers.ConfigProvider;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import yandex.pages.base.BasePage;
 
-import java.util.List;
-
 /**
  * Класс для ожидания загрузки товаров на странице прайс-листа.
  * Обеспечивает ожидание исчезновения индикаторов загрузки перед взаимодействием с товарами.
+ * Ожидание выполняется на стороне страницы через MutationObserver одним асинхронным скриптом,
+ * без опроса локаторов через WebDriver.
  *
  *
  * @author Габбасова Лилиана Альбертовна
@@ -17,6 +19,51 @@ import java.util.List;
  * @see BasePage
  */
 public class LoadProduct extends BasePage implements ProductListLocators {
+    /**
+     * Асинхронный скрипт ожидания загрузки товаров.
+     * Завершается, когда на странице нет видимых индикаторов загрузки, а количество карточек
+     * не меняется в течение периода тишины. Возвращает false, если это не произошло за время ожидания.
+     */
+    private static final String WAIT_FOR_PRODUCTS_SCRIPT =
+            "var busySelector = arguments[0], articleSelector = arguments[1];" +
+            "var quietMillis = arguments[2], timeoutMillis = arguments[3];" +
+            "var callback = arguments[arguments.length - 1];" +
+            "var lastCount = -1, quietTimer = null, done = false, observer, deadline;" +
+            "function isBusy() {" +
+            "  var nodes = document.querySelectorAll(busySelector);" +
+            "  for (var i = 0; i < nodes.length; i++) {" +
+            "    if (nodes[i].getClientRects().length > 0) return true;" +
+            "  }" +
+            "  return false;" +
+            "}" +
+            "function finish(result) {" +
+            "  if (done) return;" +
+            "  done = true;" +
+            "  observer.disconnect();" +
+            "  clearTimeout(quietTimer);" +
+            "  clearTimeout(deadline);" +
+            "  callback(result);" +
+            "}" +
+            "function check() {" +
+            "  if (done) return;" +
+            "  if (isBusy()) { clearTimeout(quietTimer); quietTimer = null; lastCount = -1; return; }" +
+            "  var count = document.querySelectorAll(articleSelector).length;" +
+            "  if (count !== lastCount || quietTimer === null) {" +
+            "    lastCount = count;" +
+            "    clearTimeout(quietTimer);" +
+            "    quietTimer = setTimeout(function () {" +
+            "      quietTimer = null;" +
+            "      if (!isBusy() && document.querySelectorAll(articleSelector).length === lastCount) finish(true);" +
+            "      else check();" +
+            "    }, quietMillis);" +
+            "  }" +
+            "}" +
+            "observer = new MutationObserver(check);" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true," +
+            "    attributeFilter: ['style', 'class', 'hidden']});" +
+            "deadline = setTimeout(function () { finish(false); }, timeoutMillis);" +
+            "check();";
+
     /**
      * Конструктор класса для ожидания загрузки товаров.
      *
@@ -28,17 +75,16 @@ public class LoadProduct extends BasePage implements ProductListLocators {
 
     /**
      * Метод для ожидания полной загрузки товаров.
-     * Ожидает исчезновения загрузки.
+     * Ожидает исчезновения загрузки и стабилизации количества карточек товаров.
+     *
+     * @throws TimeoutException если товары не загрузились за время явного ожидания
      */
     public void waitForProductsLoad() {
-        List<WebElement> loaders = findElements(LOADER);
-        if (!loaders.isEmpty() && loaders.get(0).isDisplayed()) {
-            waitInvisibilityElement(LOADER);
-        }
-
-        List<WebElement> loadingIndicators = findElements(LOADING_INDICATOR);
-        if (!loadingIndicators.isEmpty() && loadingIndicators.get(0).isDisplayed()) {
-            waitInvisibilityElement(LOADING_INDICATOR);
+        Object loaded = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_FOR_PRODUCTS_SCRIPT,
+                BUSY_INDICATORS_CSS, PRODUCT_ARTICLES_CSS,
+                ConfigProvider.LOAD_QUIET_MILLIS, ConfigProvider.EXPLICIT_WAIT * 1000);
+        if (!Boolean.TRUE.equals(loaded)) {
+            throw new TimeoutException("Товары не загрузились за " + ConfigProvider.EXPLICIT_WAIT + " секунд");
         }
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import yandex.pages.base.BasePage;
+import yandex.pages.base.Locators;
 
 import java.util.List;
 
@@ -19,12 +20,12 @@ public class PaginationComponent extends BasePage {
     /**
      * Локатор элемента пагинации.
      */
-    private final By PAGINATION_PAGE = By.xpath("//div[@data-auto='pagination-page']");
+    private final By PAGINATION_PAGE = Locators.css("div[data-auto='pagination-page']");
 
     /**
      * Локатор кнопки перехода на следующую страницу.
      */
-    private final By NEXT_PAGE_BUTTON = By.xpath("//div[@data-zone-name='next']");
+    private final By NEXT_PAGE_BUTTON = Locators.css("div[data-zone-name='next']");
 
     /**
      * JavascriptExecutor для выполнения JavaScript команд.
@@ -45,12 +46,13 @@ public class PaginationComponent extends BasePage {
      * Метод для прокрутки страницы к элементу пагинации.
      */
     public void scrollToPagination() {
-        List<WebElement> paginationElement = findElements(PAGINATION_PAGE);
+        List<WebElement> paginationElement = waitForElementsPresence(PAGINATION_PAGE);
         js.scrollToElement(paginationElement.get(0));
     }
 
     /**
      * Метод для проверки доступности следующей страницы.
+     * Проверка выполняется без ожидания: на последней странице кнопки нет, и ждать ее появления не нужно.
      *
      * @return true если кнопка следующей страницы доступна и отображается, false в противном случае
      */
@@ -0,0 +1,113 @@
+package yandex.pages.pricelist.components;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * Класс с данными товара, извлеченными из карточки на странице прайс-листа.
+ * Содержит наименование, текст цены, адрес и ссылку на карточку товара и признак видимости карточки.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see JsExecutor#extractProducts()
+ * @see DomSnapshotExtractor#extractProducts()
+ */
+public class ProductData {
+    /**
+     * Наименование товара.
+     */
+    private final String name;
+
+    /**
+     * Текст цены товара в том виде, в котором он отображается на странице.
+     */
+    private final String priceText;
+
+    /**
+     * Адрес карточки товара.
+     */
+    private final String href;
+
+    /**
+     * Ссылка на карточку товара.
+     */
+    private final WebElement link;
+
+    /**
+     * Признак того, что наименование товара отрисовано на странице.
+     */
+    private final boolean visible;
+
+    /**
+     * Конструктор данных видимого товара.
+     *
+     * @param name      наименование товара
+     * @param priceText текст цены товара
+     * @param href      адрес карточки товара
+     * @param link      ссылка на карточку товара
+     */
+    public ProductData(String name, String priceText, String href, WebElement link) {
+        this(name, priceText, href, link, true);
+    }
+
+    /**
+     * Конструктор данных товара.
+     *
+     * @param name      наименование товара
+     * @param priceText текст цены товара
+     * @param href      адрес карточки товара
+     * @param link      ссылка на карточку товара или null если ссылка не извлекалась
+     * @param visible   отрисовано ли наименование товара на странице
+     */
+    public ProductData(String name, String priceText, String href, WebElement link, boolean visible) {
+        this.name = name;
+        this.priceText = priceText;
+        this.href = href;
+        this.link = link;
+        this.visible = visible;
+    }
+
+    /**
+     * Метод для получения наименования товара.
+     *
+     * @return наименование товара
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Метод для получения текста цены товара.
+     *
+     * @return текст цены или пустая строка если цена не найдена
+     */
+    public String getPriceText() {
+        return priceText;
+    }
+
+    /**
+     * Метод для получения адреса карточки товара.
+     *
+     * @return адрес карточки или пустая строка если ссылка не найдена
+     */
+    public String getHref() {
+        return href;
+    }
+
+    /**
+     * Метод для получения ссылки на карточку товара.
+     *
+     * @return веб-элемент ссылки или null если ссылка не найдена
+     */
+    public WebElement getLink() {
+        return link;
+    }
+
+    /**
+     * Метод для проверки видимости товара.
+     *
+     * @return true если наименование товара отрисовано на странице
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+}
@@ -0,0 +1,42 @@
+package yandex.pages.pricelist.components;
+
+import java.util.List;
+
+/**
+ * Интерфейс извлечения данных карточек товаров со страницы прайс-листа.
+ * Данные всех карточек извлекаются за один вызов, а не отдельными запросами к каждому элементу.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see JsExecutor
+ * @see DomSnapshotExtractor
+ */
+public interface ProductExtractor {
+    /**
+     * Метод для извлечения данных всех карточек товаров на странице.
+     *
+     * @return список данных товаров в порядке их следования на странице
+     */
+    List<ProductData> extractProducts();
+
+    /**
+     * Метод для извлечения данных только тех карточек товаров, которые появились после предыдущего вызова.
+     *
+     * @return список данных новых товаров в порядке их следования на странице
+     */
+    List<ProductData> extractNewProducts();
+
+    /**
+     * Метод для сброса извлеченных карточек, чтобы следующее извлечение новых товаров вернуло все карточки.
+     */
+    void resetExtractedProducts();
+
+    /**
+     * Метод для получения таблицы товаров на странице.
+     *
+     * @return таблица товаров
+     */
+    default ProductTable captureProductTable() {
+        return new ProductTable(extractProducts());
+    }
+}
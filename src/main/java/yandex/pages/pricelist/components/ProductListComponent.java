@@ -1,17 +1,34 @@
 package yandex.pages.pricelist.components;
 
+import helpers.CdpSupport;
+import helpers.ConfigProvider;
+import helpers.DriverFactory;
+import helpers.ProductResultSink;
+import helpers.ResourceBlocker;
+import helpers.SessionRecorder;
 import io.qameta.allure.Allure;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import yandex.pages.base.BasePage;
+import yandex.pages.pricelist.card.BrandCache;
+import yandex.pages.pricelist.card.BrandVerificationPool;
 import yandex.pages.pricelist.card.ProductCardPage;
+import yandex.pages.utils.BrandMatcher;
+import yandex.pages.utils.LongHashSet;
 import yandex.pages.utils.PriceParserComponent;
+import yandex.pages.utils.ProductFingerprint;
 
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Класс для работы со списком товаров на странице прайс-листа.
@@ -23,18 +40,77 @@ import java.util.Set;
  * @see ProductListLocators
  * @see PaginationComponent
  * @see LoadProduct
+ * @see ProductExtractor
+ * @see ListingResponseCapture
+ * @see ProductStepReport
  */
 public class ProductListComponent extends BasePage implements ProductListLocators {
     /**
-     * Множество для отслеживания проверенных товаров.
+     * Отпечатки проверенных товаров.
+     * Компонент принадлежит одному тесту и используется только его потоком.
      */
-    private Set<String> checkedProducts = new HashSet<>();
+    private final LongHashSet checkedProducts = new LongHashSet();
 
     /**
      * Константа для ожидаемого количества окон при открытии карточки товара.
      */
     private static final int EXPECTED_WINDOWS_COUNT = 2;
 
+    /**
+     * Название способа извлечения карточек товаров из снимка DOM.
+     */
+    private static final String SNAPSHOT_EXTRACTION_MODE = "snapshot";
+
+    /**
+     * Название источника данных проверки фильтров из ответов API списка товаров.
+     */
+    private static final String NETWORK_VALIDATION_SOURCE = "network";
+
+    /**
+     * Источник бренда: бренд найден в наименовании товара.
+     */
+    private static final String BRAND_SOURCE_NAME = "name";
+
+    /**
+     * Источник бренда: кэш брендов.
+     */
+    private static final String BRAND_SOURCE_CACHE = "cache";
+
+    /**
+     * Источник бренда: карточка товара, открытая в основном окне.
+     */
+    private static final String BRAND_SOURCE_CARD = "card";
+
+    /**
+     * Источник бренда: карточка товара, открытая в пуле дополнительных сессий.
+     */
+    private static final String BRAND_SOURCE_POOL = "pool";
+
+    /**
+     * Источник бренда: производитель из ответа API списка товаров.
+     */
+    private static final String BRAND_SOURCE_RESPONSE = "response";
+
+    /**
+     * Результат проверки: товар соответствует фильтрам.
+     */
+    private static final String VERDICT_PASSED = "passed";
+
+    /**
+     * Результат проверки: товар уже проверен на предыдущей странице.
+     */
+    private static final String VERDICT_DUPLICATE = "duplicate";
+
+    /**
+     * Результат проверки: цена не распознана или вне диапазона фильтра.
+     */
+    private static final String VERDICT_PRICE_MISMATCH = "price_mismatch";
+
+    /**
+     * Результат проверки: бренд не входит в фильтр.
+     */
+    private static final String VERDICT_BRAND_MISMATCH = "brand_mismatch";
+
     /**
      * Компонент для работы с пагинацией.
      */
@@ -45,6 +121,31 @@ public class ProductListComponent extends BasePage implements ProductListLocator
      */
     public LoadProduct load;
 
+    /**
+     * Компонент для извлечения данных карточек товаров.
+     */
+    private final ProductExtractor extractor;
+
+    /**
+     * Пул дополнительных сессий для проверки брендов, null если проверка выполняется в основном окне.
+     */
+    private BrandVerificationPool brandPool;
+
+    /**
+     * Кэш брендов, полученных из карточек товаров.
+     */
+    private final BrandCache brandCache = BrandCache.getInstance();
+
+    /**
+     * Количество брендов, найденных в кэше за время проверки.
+     */
+    private int brandCacheHits;
+
+    /**
+     * Количество брендов, отсутствующих в кэше за время проверки.
+     */
+    private int brandCacheMisses;
+
     /**
      * Конструктор компонента списка товаров.
      *
@@ -54,6 +155,23 @@ public class ProductListComponent extends BasePage implements ProductListLocator
         super(driver);
         this.pagination = new PaginationComponent(driver);
         this.load = new LoadProduct(driver);
+        this.extractor = createExtractor(driver, pagination.js);
+    }
+
+    /**
+     * Метод для выбора способа извлечения данных карточек товаров.
+     * Снимок DOM используется, если он включен в настройках и браузер поддерживает протокол DevTools,
+     * иначе данные извлекаются скриптом.
+     *
+     * @param driver     экземпляр WebDriver для взаимодействия с браузером
+     * @param jsExecutor компонент для выполнения скриптов
+     * @return компонент для извлечения данных карточек товаров
+     */
+    private static ProductExtractor createExtractor(WebDriver driver, JsExecutor jsExecutor) {
+        if (SNAPSHOT_EXTRACTION_MODE.equals(ConfigProvider.EXTRACTION_MODE) && CdpSupport.isSupported(driver)) {
+            return new DomSnapshotExtractor(driver);
+        }
+        return jsExecutor;
     }
 
     /**
@@ -84,6 +202,8 @@ public class ProductListComponent extends BasePage implements ProductListLocator
 
     /**
      * Метод для проверки соответствия всех товаров на всех страницах заданным фильтрам.
+     * Если в настройках выбран источник network и браузер поддерживает протокол DevTools,
+     * товары проверяются по ответам API списка товаров, иначе по карточкам на странице.
      *
      * @param minPrice минимальная цена для фильтрации
      * @param maxPrice максимальная цена для фильтрации
@@ -91,118 +211,387 @@ public class ProductListComponent extends BasePage implements ProductListLocator
      * @return true если все товары на всех страницах соответствуют фильтрам
      */
     public boolean checkAllPagesMatchFilters(double minPrice, double maxPrice, List<String> brands) {
+        if (NETWORK_VALIDATION_SOURCE.equals(ConfigProvider.VALIDATION_SOURCE) && CdpSupport.isSupported(driver)) {
+            return checkAllPagesMatchFiltersFromResponses(minPrice, maxPrice, brands);
+        }
+        return checkRenderedPagesMatchFilters(minPrice, maxPrice, brands);
+    }
+
+    /**
+     * Метод для проверки соответствия всех товаров на всех страницах заданным фильтрам по ответам API списка товаров.
+     * Первая страница списка уже загружена до начала перехвата, поэтому страница перезагружается
+     * с теми же фильтрами в адресе. Затем товары догружаются прокруткой, и после каждой догрузки проверяются
+     * товары из новых ответов. Бренд сверяется с производителем из ответа, карточки товаров не открываются.
+     * Если ответы проверены не полностью, товары проверяются по странице, перезагруженной с начала списка:
+     * ни одного ответа не перехвачено, например адреса API сайта изменились, часть ответов не получена
+     * или не разобрана, или товаров в ответах меньше, чем карточек на странице, например первая страница
+     * пришла готовой разметкой без ответа API.
+     *
+     * @param minPrice минимальная цена для фильтрации
+     * @param maxPrice максимальная цена для фильтрации
+     * @param brands   список брендов для фильтрации
+     * @return true если все товары на всех страницах соответствуют фильтрам
+     */
+    public boolean checkAllPagesMatchFiltersFromResponses(double minPrice, double maxPrice, List<String> brands) {
         checkedProducts.clear();
-        while (pagination.isNextPageAvailable()) {
-            pagination.scrollToPagination();
+        ListingResponseCapture capture = ListingResponseCapture.start(driver);
+        int recordsCount = 0;
+        int renderedCount = 0;
+        int page = 0;
+        try {
+            driver.navigate().refresh();
             load.waitForProductsLoad();
+            getProductCards();
+            boolean hasNextPage;
+            do {
+                page++;
+                hasNextPage = pagination.isNextPageAvailable();
+                pagination.scrollToPagination();
+                load.waitForProductsLoad();
+                List<ProductRecord> records = capture.drainRecords();
+                recordsCount += records.size();
+                ProductStepReport steps = new ProductStepReport(page);
+                try {
+                    if (!checkRecordsMatchFilters(records, steps, minPrice, maxPrice, brands)) {
+                        return false;
+                    }
+                } finally {
+                    steps.report();
+                }
+            } while (hasNextPage);
+            renderedCount = driver.findElements(PRODUCT_CARDS).size();
+        } finally {
+            capture.stop();
+            Allure.step("Ответов со списком товаров: " + capture.getResponsesCount()
+                    + ", товаров в ответах: " + recordsCount + ", карточек на странице: " + renderedCount
+                    + ", не получено или не разобрано ответов: " + capture.getMissedCount());
         }
-        pagination.scrollToPagination();
-        load.waitForProductsLoad();
+        String incompleteReason = capture.getResponsesCount() == 0 ? "Ответы со списком товаров не перехвачены"
+                : capture.getMissedCount() > 0 ? "Часть ответов со списком товаров не получена"
+                : recordsCount < renderedCount ? "Товаров в ответах меньше, чем карточек на странице"
+                : null;
+        if (incompleteReason != null) {
+            Allure.step(incompleteReason + ", проверка по карточкам на странице");
+            driver.navigate().refresh();
+            load.waitForProductsLoad();
+            getProductCards();
+            return checkRenderedPagesMatchFilters(minPrice, maxPrice, brands);
+        }
+        return true;
+    }
 
-        if (!checkCurrentPageMatchesFilters(minPrice, maxPrice, brands)) {
-            return false;
+    /**
+     * Метод для проверки соответствия товаров из ответов API заданным фильтрам.
+     * Если производитель в ответе не указан, бренд ищется в наименовании товара.
+     *
+     * @param records  товары из ответов
+     * @param steps    отчет по загруженной странице списка
+     * @param minPrice минимальная цена для фильтрации
+     * @param maxPrice максимальная цена для фильтрации
+     * @param brands   список брендов для фильтрации
+     * @return true если все товары соответствуют фильтрам
+     */
+    private boolean checkRecordsMatchFilters(List<ProductRecord> records, ProductStepReport steps, double minPrice, double maxPrice,
+                                             List<String> brands) {
+        BrandMatcher brandMatcher = BrandMatcher.forBrands(brands);
+        for (ProductRecord record : records) {
+            long startNanos = System.nanoTime();
+            long productKey = productKey(record.getName(), record.getPrice());
+            String brandSource = record.getVendor().isEmpty() ? BRAND_SOURCE_NAME : BRAND_SOURCE_RESPONSE;
+            if (!checkedProducts.add(productKey)) {
+                recordResult(steps, record.getName(), record.getPrice(), brandSource, record.getVendor(), VERDICT_DUPLICATE, startNanos);
+                continue;
+            }
+            if (record.getPrice() < minPrice || record.getPrice() > maxPrice) {
+                recordResult(steps, record.getName(), record.getPrice(), brandSource, record.getVendor(), VERDICT_PRICE_MISMATCH, startNanos);
+                return false;
+            }
+            boolean brandValid = record.getVendor().isEmpty()
+                    ? brandMatcher.matches(record.getName())
+                    : ProductCardPage.isBrandMatches(record.getVendor(), brands);
+            recordResult(steps, record.getName(), record.getPrice(), brandSource, record.getVendor(),
+                    brandValid ? VERDICT_PASSED : VERDICT_BRAND_MISMATCH, startNanos);
+            if (!brandValid) {
+                return false;
+            }
         }
         return true;
     }
 
     /**
-     * Метод для проверки соответствия товаров на текущей странице заданным фильтрам.
+     * Метод для проверки соответствия всех товаров на всех страницах заданным фильтрам по карточкам на странице.
+     * Товары проверяются партиями по мере догрузки: после каждой прокрутки проверяются только новые карточки,
+     * и проверка останавливается на первом несоответствии, не дожидаясь загрузки остальных страниц.
      *
      * @param minPrice минимальная цена для фильтрации
      * @param maxPrice максимальная цена для фильтрации
      * @param brands   список брендов для фильтрации
-     * @return true если все товары на текущей странице соответствуют фильтрам
+     * @return true если все товары на всех страницах соответствуют фильтрам
      */
-    private boolean checkCurrentPageMatchesFilters(double minPrice, double maxPrice, List<String> brands) {
-        load.waitForProductsLoad();
+    private boolean checkRenderedPagesMatchFilters(double minPrice, double maxPrice, List<String> brands) {
+        checkedProducts.clear();
+        brandCacheHits = 0;
+        brandCacheMisses = 0;
+        extractor.resetExtractedProducts();
 
-        List<WebElement> productCards = driver.findElements(PRODUCT_CARDS);
-        List<WebElement> priceElements = driver.findElements(PRODUCT_PRICE);
+        if (ConfigProvider.BRAND_POOL_SIZE > 0) {
+            brandPool = new BrandVerificationPool(ConfigProvider.BRAND_POOL_SIZE, brandSessionFactory());
+        }
+        try {
+            int page = 0;
+            boolean hasNextPage;
+            do {
+                page++;
+                hasNextPage = pagination.isNextPageAvailable();
+                pagination.scrollToPagination();
+                load.waitForProductsLoad();
+                ProductStepReport steps = new ProductStepReport(page);
+                try {
+                    if (!checkProductsMatchFilters(extractor.extractNewProducts(), steps, minPrice, maxPrice, brands)) {
+                        return false;
+                    }
+                } finally {
+                    steps.report();
+                }
+            } while (hasNextPage);
+            return true;
+        } finally {
+            if (brandPool != null) {
+                brandPool.close();
+                brandPool = null;
+            }
+            brandCache.save();
+            Allure.step("Кэш брендов: попаданий " + brandCacheHits + " (карточек не открыто), промахов " + brandCacheMisses);
+        }
+    }
 
+    /**
+     * Метод для проверки соответствия партии товаров заданным фильтрам.
+     * Партия содержит только карточки, догруженные после предыдущей проверки.
+     *
+     * @param products товары партии
+     * @param steps    отчет по загруженной странице списка
+     * @param minPrice минимальная цена для фильтрации
+     * @param maxPrice максимальная цена для фильтрации
+     * @param brands   список брендов для фильтрации
+     * @return true если все товары партии соответствуют фильтрам
+     */
+    private boolean checkProductsMatchFilters(List<ProductData> products, ProductStepReport steps, double minPrice,
+                                              double maxPrice, List<String> brands) {
         String originalWindow = driver.getWindowHandle();
+        Map<Long, PendingBrand> pendingBrands = new LinkedHashMap<>();
+        BrandMatcher brandMatcher = BrandMatcher.forBrands(brands);
 
-        for (int i = 0; i < productCards.size(); i++) {
-            WebElement productCard = productCards.get(i);
-            WebElement priceElement = priceElements.get(i);
-
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            String productName = (String) js.executeScript(
-                    "return arguments[0].textContent || arguments[0].innerText;", productCard);
+        for (ProductData product : products) {
+            long startNanos = System.nanoTime();
+            String productName = product.getName();
 
-            String priceText = (String) js.executeScript(
-                    "return arguments[0].textContent || arguments[0].innerText;", priceElement);
-            productName = productName.trim();
+            long productPrice = PriceParserComponent.extractPriceFromText(product.getPriceText());
 
-            PriceParserComponent priceParser = new PriceParserComponent();
-            double productPrice = priceParser.extractPriceFromText(priceText);
-
-            String productKey = productName + "_" + productPrice;
-            Allure.step("Товар: " + productName + ", цена: " + productPrice);
-            if (checkedProducts.contains(productKey)) {
+            long productKey = productKey(productName, productPrice);
+            if (checkedProducts.contains(productKey) || pendingBrands.containsKey(productKey)) {
+                recordResult(steps, productName, productPrice, BRAND_SOURCE_NAME, "", VERDICT_DUPLICATE, startNanos);
                 continue;
             }
 
-            if (productPrice < minPrice || productPrice > maxPrice) {
+            if (productPrice == PriceParserComponent.NO_PRICE || productPrice < minPrice || productPrice > maxPrice) {
+                recordResult(steps, productName, productPrice, BRAND_SOURCE_NAME, "", VERDICT_PRICE_MISMATCH, startNanos);
                 return false;
             }
 
-            boolean brandValid = isProductBrandValid(productName, brands);
+            String brandSource = BRAND_SOURCE_NAME;
+            String brand = "";
+            boolean brandValid = brandMatcher.matches(productName);
             if (!brandValid) {
-                brandValid = checkBrandInProductCard(productCard, brands, originalWindow);
+                String cachedBrand = getCachedBrand(product);
+                if (cachedBrand != null) {
+                    brandSource = BRAND_SOURCE_CACHE;
+                    brand = cachedBrand;
+                } else if (brandPool != null && !product.getHref().isEmpty()) {
+                    pendingBrands.put(productKey, new PendingBrand(product, productPrice, startNanos,
+                            brandPool.fetchBrand(product.getHref())
+                                    .thenApply(fetchedBrand -> {
+                                        brandCache.put(product.getHref(), fetchedBrand);
+                                        return fetchedBrand;
+                                    })));
+                    continue;
+                } else {
+                    brandSource = BRAND_SOURCE_CARD;
+                    brand = getBrandFromProductCard(product, originalWindow);
+                }
+                brandValid = brand != null && ProductCardPage.isBrandMatches(brand, brands);
             }
 
+            recordResult(steps, productName, productPrice, brandSource, brand == null ? "" : brand,
+                    brandValid ? VERDICT_PASSED : VERDICT_BRAND_MISMATCH, startNanos);
             if (brandValid) {
                 checkedProducts.add(productKey);
             } else {
                 return false;
             }
         }
-        return true;
+        return checkPendingBrands(pendingBrands, steps, brands, originalWindow);
+    }
+
+    /**
+     * Метод для записи результата проверки товара.
+     * Результат добавляется в отчет по странице и, если ведется файл результатов теста, дописывается в него.
+     *
+     * @param steps       отчет по загруженной странице списка
+     * @param name        наименование товара
+     * @param price       цена товара
+     * @param brandSource откуда взят бренд
+     * @param brand       бренд товара или пустая строка если бренд найден в наименовании
+     * @param verdict     результат проверки
+     * @param startNanos  время начала проверки товара в наносекундах
+     */
+    private static void recordResult(ProductStepReport steps, String name, long price, String brandSource,
+                                     String brand, String verdict, long startNanos) {
+        long checkNanos = System.nanoTime() - startNanos;
+        steps.add(name, price, brandSource, brand, verdict, VERDICT_PASSED.equals(verdict),
+                VERDICT_DUPLICATE.equals(verdict));
+        ProductResultSink sink = ProductResultSink.current();
+        if (sink != null) {
+            sink.record(steps.getPage(), name, price, brandSource, brand, verdict, checkNanos);
+        }
     }
 
     /**
-     * Метод для проверки бренда товара через открытие карточки товара.
+     * Метод для получения фабрики дополнительных сессий проверки брендов.
+     * Блокировка ресурсов и запись сессии текущего теста действуют и в дополнительных сессиях.
      *
-     * @param productCard    веб-элемент карточки товара
+     * @return фабрика сессий браузера
+     */
+    private static Supplier<WebDriver> brandSessionFactory() {
+        ResourceBlocker blocker = ResourceBlocker.current();
+        SessionRecorder recorder = SessionRecorder.current();
+        return () -> {
+            WebDriver session = DriverFactory.createChromeDriver();
+            if (blocker != null) {
+                blocker.attach(session);
+            }
+            if (recorder != null) {
+                recorder.attach(session);
+            }
+            return session;
+        };
+    }
+
+    /**
+     * Метод для ожидания результатов проверки брендов в пуле дополнительных сессий.
+     * Результат каждой проверки ожидается не дольше brand_check.pool_timeout_seconds. Если карточку не удалось
+     * прочитать в дополнительной сессии за это время, например из-за зависшего или упавшего браузера,
+     * бренд проверяется открытием карточки в основном окне.
+     *
+     * @param pendingBrands  незавершенные проверки брендов по ключам товаров
+     * @param steps          отчет по загруженной странице списка
      * @param brands         список ожидаемых брендов
      * @param originalWindow идентификатор исходного окна браузера
-     * @return true если бренд товара соответствует одному из ожидаемых брендов
-     */
-    private boolean checkBrandInProductCard(WebElement productCard, List<String> brands, String originalWindow) {
-        String productName = productCard.getText();
-        List<WebElement> productLinks = findElements(PRODUCT_CARDS_LINK);
-        int index = -1;
-        for (int i = 0; i < productLinks.size(); i++) {
-            if (productLinks.get(i).getText().contains(productName)) {
-                index = i;
-                break;
+     * @return true если бренды всех товаров соответствуют одному из ожидаемых брендов
+     */
+    private boolean checkPendingBrands(Map<Long, PendingBrand> pendingBrands, ProductStepReport steps,
+                                       List<String> brands, String originalWindow) {
+        for (PendingBrand pendingBrand : pendingBrands.values()) {
+            String brandSource = BRAND_SOURCE_POOL;
+            String brand;
+            try {
+                brand = pendingBrand.brand.get(ConfigProvider.BRAND_POOL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException | CancellationException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                pendingBrand.brand.cancel(true);
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                Allure.step("Бренд товара " + pendingBrand.product.getName() + " не получен в дополнительной сессии ("
+                        + cause.getClass().getSimpleName() + "), проверка в основном окне");
+                brandSource = BRAND_SOURCE_CARD;
+                brand = getBrandFromProductCard(pendingBrand.product, originalWindow);
             }
+            boolean brandValid = brand != null && ProductCardPage.isBrandMatches(brand, brands);
+            recordResult(steps, pendingBrand.product.getName(), pendingBrand.price, brandSource, brand == null ? "" : brand,
+                    brandValid ? VERDICT_PASSED : VERDICT_BRAND_MISMATCH, pendingBrand.startNanos);
+            if (!brandValid) {
+                return false;
+            }
+        }
+        for (Long productKey : pendingBrands.keySet()) {
+            checkedProducts.add(productKey);
         }
+        return true;
+    }
 
-        if (index == -1) return false;
-        WebElement productLink = productLinks.get(index);
+    /**
+     * Метод для получения бренда товара через открытие карточки товара.
+     * Если ссылка на элемент не извлекалась, карточка открывается по адресу в новой вкладке.
+     *
+     * @param product        данные товара со ссылкой на его карточку
+     * @param originalWindow идентификатор исходного окна браузера
+     * @return бренд товара или null если карточку товара нельзя открыть
+     */
+    private String getBrandFromProductCard(ProductData product, String originalWindow) {
+        WebElement productLink = product.getLink();
+        if (productLink == null && product.getHref().isEmpty()) return null;
         load.waitForProductsLoad();
 
         String currentPageUrl = driver.getCurrentUrl();
-        pagination.js.clickWithJS(productLink);
-        webDriverWait.until(ExpectedConditions.numberOfWindowsToBe(EXPECTED_WINDOWS_COUNT));
-
-        for (String windowHandle : driver.getWindowHandles()) {
-            if (!originalWindow.equals(windowHandle)) {
-                driver.switchTo().window(windowHandle);
-                break;
+        if (productLink != null) {
+            pagination.js.clickWithJS(productLink);
+            webDriverWait.until(ExpectedConditions.numberOfWindowsToBe(EXPECTED_WINDOWS_COUNT));
+
+            for (String windowHandle : driver.getWindowHandles()) {
+                if (!originalWindow.equals(windowHandle)) {
+                    driver.switchTo().window(windowHandle);
+                    break;
+                }
             }
+        } else {
+            driver.switchTo().newWindow(WindowType.TAB);
+            driver.get(product.getHref());
         }
 
         ProductCardPage productCardPage = new ProductCardPage(driver);
-        boolean brandMatches = productCardPage.isBrandMatches(brands);
+        String brand = productCardPage.getBrandFromImage();
+        if (!product.getHref().isEmpty()) {
+            brandCache.put(product.getHref(), brand);
+        }
 
         driver.close();
         driver.switchTo().window(originalWindow);
 
         load.waitForProductsLoad();
         webDriverWait.until(d -> d.getCurrentUrl().equals(currentPageUrl));
-        return brandMatches;
+        return brand;
+    }
+
+    /**
+     * Метод для получения бренда товара из кэша с подсчетом попаданий и промахов.
+     *
+     * @param product данные товара с адресом его карточки
+     * @return бренд товара из кэша или null если его нужно получить из карточки
+     */
+    private String getCachedBrand(ProductData product) {
+        if (product.getHref().isEmpty()) {
+            return null;
+        }
+        String cachedBrand = brandCache.get(product.getHref());
+        if (cachedBrand != null) {
+            brandCacheHits++;
+        } else {
+            brandCacheMisses++;
+        }
+        return cachedBrand;
+    }
+
+    /**
+     * Метод для построения ключа товара, по которому отслеживаются проверенные товары.
+     *
+     * @param productName  название товара
+     * @param productPrice цена товара
+     * @return 64-битный отпечаток названия и цены
+     * @see ProductFingerprint
+     */
+    static long productKey(String productName, long productPrice) {
+        return ProductFingerprint.of(productName, productPrice);
     }
 
     /**
@@ -210,27 +599,23 @@ public class ProductListComponent extends BasePage implements ProductListLocator
      *
      * @param productName название товара
      * @param brands      список ожидаемых брендов
-     * @return true если название товара содержит один из ожидаемых брендов
+     * @return true если название товара содержит один из ожидаемых брендов отдельным словом
+     * @see BrandMatcher
      */
-    public boolean isProductBrandValid(String productName, List<String> brands) {
-        for (String brand : brands) {
-            if (productName.toLowerCase().contains(brand.toLowerCase())) {
-                return true;
-            }
-        }
-        return false;
+    public static boolean isProductBrandValid(String productName, List<String> brands) {
+        return BrandMatcher.forBrands(brands).matches(productName);
     }
 
     /**
      * Метод для получения названия первого товара на странице.
      *
-     * @return название первого товара или пустую строку если товаров нет
+     * @return название первого видимого товара или пустую строку если товаров нет
      */
     public String getFirstProductName() {
         pagination.js.scrollToTop();
         load.waitForProductsLoad();
-        List<WebElement> products = getProductCards();
-        return products.isEmpty() ? "" : products.get(0).getText();
+        getProductCards();
+        return extractor.captureProductTable().getFirstName();
     }
 
     /**
@@ -243,13 +628,47 @@ public class ProductListComponent extends BasePage implements ProductListLocator
         pagination.scrollToPagination();
         load.waitForProductsLoad();
 
-        List<WebElement> products = getProductCards();
-        for (WebElement product : products) {
-            String actualProductName = product.getText();
-            if (actualProductName.contains(productName)) {
-                return true;
-            }
+        getProductCards();
+        return extractor.captureProductTable().findByName(productName) != null;
+    }
+
+    /**
+     * Товар, бренд которого проверяется в пуле дополнительных сессий.
+     */
+    private static class PendingBrand {
+        /**
+         * Данные товара со ссылкой на его карточку.
+         */
+        private final ProductData product;
+
+        /**
+         * Цена товара.
+         */
+        private final long price;
+
+        /**
+         * Время начала проверки товара в наносекундах.
+         */
+        private final long startNanos;
+
+        /**
+         * Бренд из карточки товара.
+         */
+        private final CompletableFuture<String> brand;
+
+        /**
+         * Конструктор товара с незавершенной проверкой бренда.
+         *
+         * @param product    данные товара со ссылкой на его карточку
+         * @param price      цена товара
+         * @param startNanos время начала проверки товара в наносекундах
+         * @param brand      бренд из карточки товара
+         */
+        PendingBrand(ProductData product, long price, long startNanos, CompletableFuture<String> brand) {
+            this.product = product;
+            this.price = price;
+            this.startNanos = startNanos;
+            this.brand = brand;
         }
-        return false;
     }
 }
\ No newline at end of file
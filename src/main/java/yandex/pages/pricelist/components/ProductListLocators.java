@@ -1,6 +1,7 @@
 package yandex.pages.pricelist.components;
 
 import org.openqa.selenium.By;
+import yandex.pages.base.Locators;
 
 /**
  * Интерфейс с локаторами для списка товаров на странице прайс-листа.
@@ -13,25 +14,35 @@ public interface ProductListLocators {
     /**
      * Локатор карточек товаров.
      */
-    By PRODUCT_CARDS = By.xpath("//article//span[@itemprop='name']");
+    By PRODUCT_CARDS = Locators.css("article span[itemprop='name']");
 
     /**
      * Локатор ссылок на карточки товаров.
      */
-    By PRODUCT_CARDS_LINK = By.xpath("//article//a[span[@itemprop='name']]");
+    By PRODUCT_CARDS_LINK = Locators.xpath("//article//a[span[@itemprop='name']]");
 
     /**
      * Локатор элементов с ценами товаров.
      */
-    By PRODUCT_PRICE = By.xpath("//article//span[contains(text(),'Цена')]");
+    By PRODUCT_PRICE = Locators.xpath("//article//span[contains(text(),'Цена')]");
 
     /**
      * Локатор индикатора загрузки.
      */
-    By LOADING_INDICATOR = By.xpath("//div[@data-auto='rollSkeleton']");
+    By LOADING_INDICATOR = Locators.css("div[data-auto='rollSkeleton']");
 
     /**
      * Локатор загрузки.
      */
-    By LOADER = By.xpath("//div[contains(@data-auto,'loader')]");
+    By LOADER = Locators.css("div[data-auto*='loader']");
+
+    /**
+     * CSS-селектор индикаторов загрузки и скелетонов для проверки на стороне страницы.
+     */
+    String BUSY_INDICATORS_CSS = "div[data-auto='rollSkeleton'], div[data-auto*='loader']";
+
+    /**
+     * CSS-селектор карточек товаров для проверки на стороне страницы.
+     */
+    String PRODUCT_ARTICLES_CSS = "article";
 }
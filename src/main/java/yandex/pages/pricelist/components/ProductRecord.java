@@ -0,0 +1,66 @@
+package yandex.pages.pricelist.components;
+
+/**
+ * Класс с данными товара из ответа API списка товаров.
+ * В отличие от {@link ProductData} цена уже числовая, а производитель известен без открытия карточки товара.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ListingResponseCapture
+ */
+public class ProductRecord {
+    /**
+     * Наименование товара.
+     */
+    private final String name;
+
+    /**
+     * Цена товара в рублях.
+     */
+    private final long price;
+
+    /**
+     * Производитель товара или пустая строка если ответ его не содержит.
+     */
+    private final String vendor;
+
+    /**
+     * Конструктор данных товара.
+     *
+     * @param name   наименование товара
+     * @param price  цена товара в рублях
+     * @param vendor производитель товара или пустая строка
+     */
+    public ProductRecord(String name, long price, String vendor) {
+        this.name = name;
+        this.price = price;
+        this.vendor = vendor;
+    }
+
+    /**
+     * Метод для получения наименования товара.
+     *
+     * @return наименование товара
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Метод для получения цены товара.
+     *
+     * @return цена товара в рублях
+     */
+    public long getPrice() {
+        return price;
+    }
+
+    /**
+     * Метод для получения производителя товара.
+     *
+     * @return производитель товара или пустая строка если ответ его не содержит
+     */
+    public String getVendor() {
+        return vendor;
+    }
+}
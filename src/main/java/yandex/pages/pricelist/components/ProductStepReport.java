@@ -0,0 +1,194 @@
+package yandex.pages.pricelist.components;
+
+import helpers.ConfigProvider;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+import yandex.pages.utils.PriceParserComponent;
+
+import java.util.Arrays;
+
+/**
+ * Класс для вывода в отчет Allure результатов проверки товаров одной загруженной страницы списка.
+ * Тысячи шагов по одному на товар замедляют построение отчета и его просмотр, поэтому в режиме summary
+ * результаты страницы собираются в один итоговый шаг: количество товаров по результатам проверки,
+ * минимальная, медианная, 90-процентильная и максимальная цена, а все товары страницы прикладываются
+ * к шагу компактной таблицей CSV. Отдельным шагом выводятся только не прошедшие проверку товары.
+ * В режиме detailed, как и раньше, на каждый товар выводится свой шаг.
+ * Экземпляр создается на каждую страницу и используется только потоком теста.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductListComponent
+ */
+final class ProductStepReport {
+    /**
+     * Название режима с одним итоговым шагом на страницу.
+     */
+    private static final String SUMMARY_MODE = "summary";
+
+    /**
+     * Заголовок таблицы товаров страницы.
+     */
+    private static final String TABLE_HEADER = "name,price,brand,brandSource,verdict\n";
+
+    /**
+     * Номер загруженной страницы списка.
+     */
+    private final int page;
+
+    /**
+     * Признак вывода отдельного шага на каждый товар.
+     */
+    private final boolean detailed = !SUMMARY_MODE.equals(ConfigProvider.REPORTING_PRODUCT_STEPS);
+
+    /**
+     * Таблица товаров страницы в формате CSV.
+     */
+    private final StringBuilder table = new StringBuilder(TABLE_HEADER);
+
+    /**
+     * Распознанные цены товаров страницы, заполнены первые pricesCount элементов.
+     */
+    private long[] prices = new long[64];
+
+    /**
+     * Количество распознанных цен.
+     */
+    private int pricesCount;
+
+    /**
+     * Количество товаров страницы.
+     */
+    private int productsCount;
+
+    /**
+     * Количество товаров, прошедших проверку.
+     */
+    private int passedCount;
+
+    /**
+     * Количество товаров, проверенных на предыдущих страницах.
+     */
+    private int duplicatesCount;
+
+    /**
+     * Количество товаров, не прошедших проверку.
+     */
+    private int failedCount;
+
+    /**
+     * Конструктор отчета по странице.
+     *
+     * @param page номер загруженной страницы списка
+     */
+    ProductStepReport(int page) {
+        this.page = page;
+    }
+
+    /**
+     * Метод для получения номера загруженной страницы списка.
+     *
+     * @return номер страницы
+     */
+    int getPage() {
+        return page;
+    }
+
+    /**
+     * Метод для добавления результата проверки товара.
+     * Не прошедший проверку товар сразу выводится отдельным шагом со статусом failed.
+     *
+     * @param name        наименование товара
+     * @param price       цена товара
+     * @param brandSource откуда взят бренд
+     * @param brand       бренд товара или пустая строка если бренд найден в наименовании
+     * @param verdict     результат проверки
+     * @param passed      true если товар прошел проверку
+     * @param duplicate   true если товар проверен на предыдущей странице
+     */
+    void add(String name, long price, String brandSource, String brand, String verdict, boolean passed,
+             boolean duplicate) {
+        productsCount++;
+        if (passed) {
+            passedCount++;
+        } else if (duplicate) {
+            duplicatesCount++;
+        } else {
+            failedCount++;
+        }
+        if (price != PriceParserComponent.NO_PRICE) {
+            if (pricesCount == prices.length) {
+                prices = Arrays.copyOf(prices, pricesCount * 2);
+            }
+            prices[pricesCount++] = price;
+        }
+
+        String description = "Товар: " + name + ", цена: " + price + (brand.isEmpty() ? "" : ", бренд: " + brand);
+        if (detailed) {
+            Allure.step(description, passed || duplicate ? Status.PASSED : Status.FAILED);
+            return;
+        }
+        if (!passed && !duplicate) {
+            Allure.step("Не прошел проверку (" + verdict + ", бренд из " + brandSource + "). " + description,
+                    Status.FAILED);
+        }
+        appendCell(name).append(',').append(price).append(',');
+        appendCell(brand).append(',').append(brandSource).append(',').append(verdict).append('\n');
+    }
+
+    /**
+     * Метод для вывода итогового шага страницы с таблицей товаров.
+     * В режиме detailed и для страницы без товаров шаг не выводится.
+     */
+    void report() {
+        if (detailed || productsCount == 0) {
+            return;
+        }
+        StringBuilder title = new StringBuilder("Страница ").append(page)
+                .append(": товаров ").append(productsCount)
+                .append(", прошли ").append(passedCount)
+                .append(", повторы ").append(duplicatesCount)
+                .append(", не прошли ").append(failedCount);
+        if (pricesCount > 0) {
+            long[] sorted = Arrays.copyOf(prices, pricesCount);
+            Arrays.sort(sorted);
+            title.append("; цена мин ").append(sorted[0])
+                    .append(", p50 ").append(percentile(sorted, 50))
+                    .append(", p90 ").append(percentile(sorted, 90))
+                    .append(", макс ").append(sorted[sorted.length - 1]);
+        }
+        String csv = table.toString();
+        Allure.step(title.toString(), () ->
+                Allure.addAttachment("Товары страницы " + page, "text/csv", csv, ".csv"));
+    }
+
+    /**
+     * Метод для получения процентиля отсортированных значений по ближайшему рангу.
+     *
+     * @param sorted     значения по возрастанию, не пустой массив
+     * @param percentile процентиль от 1 до 100
+     * @return значение процентиля
+     */
+    static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Метод для добавления ячейки CSV: значение с запятой, кавычкой или переводом строки берется в кавычки.
+     *
+     * @param value значение ячейки
+     * @return таблица товаров страницы
+     */
+    private StringBuilder appendCell(String value) {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            return table.append(value);
+        }
+        return table.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
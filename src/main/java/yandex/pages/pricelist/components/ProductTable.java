@@ -0,0 +1,91 @@
+package yandex.pages.pricelist.components;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Класс таблицы товаров, извлеченных со страницы прайс-листа за один вызов.
+ * Запросы к таблице выполняются в памяти и не обращаются к браузеру.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductExtractor
+ */
+public class ProductTable {
+    /**
+     * Товары в порядке их следования на странице.
+     */
+    private final List<ProductData> products;
+
+    /**
+     * Конструктор таблицы товаров.
+     *
+     * @param products товары в порядке их следования на странице
+     */
+    public ProductTable(List<ProductData> products) {
+        this.products = Collections.unmodifiableList(new ArrayList<>(products));
+    }
+
+    /**
+     * Метод для получения всех товаров таблицы.
+     *
+     * @return товары в порядке их следования на странице
+     */
+    public List<ProductData> getProducts() {
+        return products;
+    }
+
+    /**
+     * Метод для получения товаров, наименования которых отрисованы на странице.
+     *
+     * @return видимые товары в порядке их следования на странице
+     */
+    public List<ProductData> getVisibleProducts() {
+        List<ProductData> visible = new ArrayList<>(products.size());
+        for (ProductData product : products) {
+            if (product.isVisible()) {
+                visible.add(product);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Метод для получения количества товаров в таблице.
+     *
+     * @return количество товаров
+     */
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * Метод для получения наименования первого видимого товара.
+     *
+     * @return наименование первого видимого товара или пустую строку если видимых товаров нет
+     */
+    public String getFirstName() {
+        for (ProductData product : products) {
+            if (product.isVisible()) {
+                return product.getName();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Метод для поиска первого товара, наименование которого содержит заданный текст.
+     *
+     * @param text искомый текст
+     * @return товар или null если такого товара нет
+     */
+    public ProductData findByName(String text) {
+        for (ProductData product : products) {
+            if (product.getName().contains(text)) {
+                return product;
+            }
+        }
+        return null;
+    }
+}
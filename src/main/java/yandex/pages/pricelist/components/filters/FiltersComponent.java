@@ -1,6 +1,7 @@
 package yandex.pages.pricelist.components.filters;
 
 import yandex.pages.base.BasePage;
+import yandex.pages.base.Locators;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -20,22 +21,27 @@ public class FiltersComponent extends BasePage {
     /**
      * Локатор поля для ввода минимальной цены.
      */
-    private final By MIN_PRICE = By.xpath("//input[contains(@id,'min') and contains(@id,'price')]");
+    private final By MIN_PRICE = Locators.css("input[id*='min'][id*='price']");
 
     /**
      * Локатор поля для ввода максимальной цены.
      */
-    private final By MAX_PRICE = By.xpath("//input[contains(@id,'max') and contains(@id,'price')]");
+    private final By MAX_PRICE = Locators.css("input[id*='max'][id*='price']");
 
     /**
      * Локатор кнопки "Показать еще" для отображения всех брендов.
      */
-    private final By SHOW_MORE_BUTTON = By.xpath("//div[@data-auto='filter' and contains(.//span,'Бренд')]//div[@data-zone-name='showMoreFilters']//button");
+    private final By SHOW_MORE_BUTTON = Locators.xpath("//div[@data-auto='filter' and contains(.//span,'Бренд')]//div[@data-zone-name='showMoreFilters']//button");
 
     /**
      * Локатор поля ввода для поиска бренда.
      */
-    private final By INPUT_BRAND = By.xpath("//div[@data-auto='filter' and contains(.//span,'Бренд')]//input");
+    private final By INPUT_BRAND = Locators.xpath("//div[@data-auto='filter' and contains(.//span,'Бренд')]//input");
+
+    /**
+     * Шаблон локатора бренда в фильтре, вместо {} подставляется название бренда.
+     */
+    private static final String BRAND_TEMPLATE = "//div[@data-auto='filter' and contains(.//span,'Бренд')]//label[@role='checkbox']//span[text()={}]";
 
     /**
      * Конструктор фильтрации на странице прайс-листа.
@@ -48,12 +54,13 @@ public class FiltersComponent extends BasePage {
 
     /**
      * Метод для получения локатора бренда по названию.
+     * Локатор строится один раз для каждого бренда и берется из реестра.
      *
      * @param brand название бренда.
      * @return локатор бренда.
      */
     private By getBrandLocator(String brand) {
-        return By.xpath("//div[@data-auto='filter' and contains(.//span,'Бренд')]//label[@role='checkbox']//span[text()='" + brand + "']");
+        return Locators.xpath(BRAND_TEMPLATE, brand);
     }
 
 
@@ -105,7 +112,7 @@ public class FiltersComponent extends BasePage {
      * После нажатия кнопки, открывается список всех доступных брендов.
      */
     public void showAllBrands() {
-        List<WebElement> showMoreButton = findElements(SHOW_MORE_BUTTON);
+        List<WebElement> showMoreButton = waitForElementsPresence(SHOW_MORE_BUTTON);
         if (showMoreButton.get(0).isDisplayed()) {
             showMoreButton.get(0).click();
         } else {
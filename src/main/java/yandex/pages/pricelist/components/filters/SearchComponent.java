@@ -5,6 +5,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import yandex.pages.base.BasePage;
+import yandex.pages.base.Locators;
 
 /**
  * Класс для работы с поисковым компонентом на странице прайс-листа.
@@ -23,7 +24,7 @@ public class SearchComponent extends BasePage {
     /**
      * Локатор кнопки поиска.
      */
-    private final By SEARCH_BUTTON = By.xpath("//button[@data-auto='search-button']");
+    private final By SEARCH_BUTTON = Locators.css("button[data-auto='search-button']");
 
     /**
      * Конструктор поискового компонента.
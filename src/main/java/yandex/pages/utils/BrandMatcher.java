@@ -0,0 +1,288 @@
+package yandex.pages.utils;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Класс для поиска брендов в наименованиях товаров.
+ * Строит автомат Ахо-Корасик по списку брендов один раз и затем находит любой из брендов
+ * за один проход по наименованию независимо от количества брендов.
+ * Бренд засчитывается только как отдельное слово: "HP" найдется в "Ноутбук HP 255", но не в "HPE".
+ * Регистр не учитывается, а кириллические буквы, которые в том же регистре пишутся так же, как латинские,
+ * приравниваются к латинским, поэтому "НР", набранное кириллицей, совпадет с брендом "HP".
+ * Строчные "в", "н", "т" и другие буквы, не похожие на латинские, не приводятся, чтобы русские слова
+ * вроде "вт" не совпадали с латинскими брендами.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+public final class BrandMatcher {
+    /**
+     * Скомпилированные автоматы по спискам брендов.
+     */
+    private static final Map<List<String>, BrandMatcher> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Количество символов, для которых приведение рассчитано заранее: латиница и кириллица.
+     */
+    private static final int FOLD_TABLE_SIZE = 0x500;
+
+    /**
+     * Заранее рассчитанное приведение символов для быстрого прохода по наименованию.
+     */
+    private static final char[] FOLD_TABLE = new char[FOLD_TABLE_SIZE];
+
+    static {
+        for (char c = 0; c < FOLD_TABLE_SIZE; c++) {
+            FOLD_TABLE[c] = foldSlow(c);
+        }
+    }
+
+    /**
+     * Индекс корневого состояния автомата.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * Исходные названия брендов.
+     */
+    private final String[] brands;
+
+    /**
+     * Длина каждого бренда в символах.
+     */
+    private final int[] brandLengths;
+
+    /**
+     * Отсортированные символы переходов для каждого состояния.
+     */
+    private final char[][] labels;
+
+    /**
+     * Целевые состояния переходов, в том же порядке что и символы.
+     */
+    private final int[][] targets;
+
+    /**
+     * Суффиксная ссылка каждого состояния.
+     */
+    private final int[] fail;
+
+    /**
+     * Индексы брендов, которые заканчиваются в каждом состоянии, с учетом суффиксных ссылок.
+     */
+    private final int[][] outputs;
+
+    /**
+     * Конструктор автомата по списку брендов.
+     *
+     * @param brands список брендов
+     */
+    private BrandMatcher(List<String> brands) {
+        this.brands = brands.toArray(new String[0]);
+        this.brandLengths = new int[this.brands.length];
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieOutputs.add(new ArrayList<>());
+        for (int brandIndex = 0; brandIndex < this.brands.length; brandIndex++) {
+            String brand = this.brands[brandIndex].trim();
+            brandLengths[brandIndex] = brand.length();
+            if (brand.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < brand.length(); i++) {
+                char c = fold(brand.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    trieOutputs.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            trieOutputs.get(state).add(brandIndex);
+        }
+
+        int size = trie.size();
+        labels = new char[size][];
+        targets = new int[size][];
+        for (int state = 0; state < size; state++) {
+            TreeMap<Character, Integer> transitions = trie.get(state);
+            labels[state] = new char[transitions.size()];
+            targets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                labels[state][i] = transition.getKey();
+                targets[state][i] = transition.getValue();
+                i++;
+            }
+        }
+
+        fail = new int[size];
+        outputs = new int[size][];
+        outputs[ROOT] = new int[0];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> stateOutputs = new ArrayList<>(trieOutputs.get(state));
+            for (int output : outputs[fail[state]]) {
+                stateOutputs.add(output);
+            }
+            outputs[state] = stateOutputs.stream().mapToInt(Integer::intValue).toArray();
+
+            for (int i = 0; i < labels[state].length; i++) {
+                int child = targets[state][i];
+                int fallback = fail[state];
+                int next = transition(fallback, labels[state][i]);
+                while (next < 0 && fallback != ROOT) {
+                    fallback = fail[fallback];
+                    next = transition(fallback, labels[state][i]);
+                }
+                fail[child] = next < 0 || next == child ? ROOT : next;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Метод для получения автомата по списку брендов.
+     * Автомат строится один раз для каждого списка и переиспользуется.
+     *
+     * @param brands список брендов
+     * @return автомат для поиска брендов
+     */
+    public static BrandMatcher forBrands(List<String> brands) {
+        return CACHE.computeIfAbsent(Collections.unmodifiableList(new ArrayList<>(brands)), BrandMatcher::new);
+    }
+
+    /**
+     * Метод для проверки, содержит ли наименование товара один из брендов.
+     *
+     * @param productName наименование товара
+     * @return true если наименование содержит один из брендов отдельным словом
+     */
+    public boolean matches(CharSequence productName) {
+        return find(productName) != null;
+    }
+
+    /**
+     * Метод для поиска первого бренда в наименовании товара.
+     *
+     * @param productName наименование товара
+     * @return название бренда в том виде, в котором оно задано в списке, или null если бренд не найден
+     */
+    public String find(CharSequence productName) {
+        int length = productName.length();
+        int state = ROOT;
+        for (int i = 0; i < length; i++) {
+            char c = fold(productName.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state != ROOT) {
+                state = fail[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? ROOT : next;
+
+            for (int brandIndex : outputs[state]) {
+                int start = i - brandLengths[brandIndex] + 1;
+                if (isWordBoundary(productName, start - 1) && isWordBoundary(productName, i + 1)) {
+                    return brands[brandIndex];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Метод для получения перехода автомата по символу.
+     *
+     * @param state текущее состояние
+     * @param c     приведенный символ
+     * @return следующее состояние или -1 если перехода нет
+     */
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index < 0 ? -1 : targets[state][index];
+    }
+
+    /**
+     * Метод для проверки, что позиция в тексте является границей слова.
+     * Цифры границей слова считаются, чтобы бренд находился в названиях вида "HP15s".
+     *
+     * @param text     текст
+     * @param position позиция символа рядом с найденным брендом
+     * @return true если позиция вне текста или символ в ней не является буквой
+     */
+    private static boolean isWordBoundary(CharSequence text, int position) {
+        return position < 0 || position >= text.length() || !Character.isLetter(text.charAt(position));
+    }
+
+    /**
+     * Метод для приведения символа к общему виду без учета регистра.
+     * Кириллические буквы, совпадающие по написанию с латинскими в том же регистре, заменяются латинскими.
+     *
+     * @param c исходный символ
+     * @return приведенный символ
+     */
+    static char fold(char c) {
+        return c < FOLD_TABLE_SIZE ? FOLD_TABLE[c] : foldSlow(c);
+    }
+
+    /**
+     * Метод для расчета приведения символа без таблицы.
+     *
+     * @param c исходный символ
+     * @return приведенный символ
+     */
+    private static char foldSlow(char c) {
+        switch (c) {
+            case 'А':
+            case 'а':
+                return 'a';
+            case 'В':
+                return 'b';
+            case 'Е':
+            case 'е':
+                return 'e';
+            case 'К':
+                return 'k';
+            case 'М':
+                return 'm';
+            case 'Н':
+                return 'h';
+            case 'О':
+            case 'о':
+                return 'o';
+            case 'Р':
+            case 'р':
+                return 'p';
+            case 'С':
+            case 'с':
+                return 'c';
+            case 'Т':
+                return 't';
+            case 'У':
+            case 'у':
+                return 'y';
+            case 'Х':
+            case 'х':
+                return 'x';
+            default:
+                return Character.toLowerCase(Character.toUpperCase(c));
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package yandex.pages.utils;
+
+import java.util.Arrays;
+
+/**
+ * Множество значений long с открытой адресацией и линейным пробированием.
+ * Значения хранятся в одном массиве long без объектов-оберток и узлов, поэтому элемент занимает
+ * от 8 до 16 байт вместо сотен байт для строки, ее массива символов и узла HashMap.
+ * Ячейка выбирается фибоначчиевым хешированием старших битов произведения, пустая ячейка обозначается нулем,
+ * а сам ноль хранится отдельным признаком. Массив удваивается, когда заполнен наполовину.
+ * Перед массивом можно включить фильтр Блума: отсутствующее значение в большинстве случаев отсекается
+ * проверкой трех битов в массиве, который в 16 раз меньше основного и помещается в кэш процессора.
+ * Биты фильтра выбираются двойным хешированием от перемешанного значения.
+ * Класс не потокобезопасен.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductFingerprint
+ */
+public final class LongHashSet {
+    /**
+     * Емкость массива по умолчанию.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Множитель фибоначчиева хеширования.
+     */
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Количество битов фильтра Блума, которые устанавливаются для одного значения.
+     */
+    private static final int BLOOM_HASHES = 3;
+
+    /**
+     * Отношение числа ячеек основного массива к числу слов фильтра Блума: 4 бита фильтра на ячейку.
+     */
+    private static final int CELLS_PER_BLOOM_WORD = 16;
+
+    /**
+     * Признак того, что перед массивом используется фильтр Блума.
+     */
+    private final boolean bloomFilter;
+
+    /**
+     * Ячейки множества, ноль обозначает пустую ячейку.
+     */
+    private long[] cells;
+
+    /**
+     * Биты фильтра Блума или null если фильтр выключен.
+     */
+    private long[] bloom;
+
+    /**
+     * Количество битов сдвига для выбора ячейки: 64 минус логарифм емкости.
+     */
+    private int shift;
+
+    /**
+     * Признак того, что множество содержит ноль.
+     */
+    private boolean containsZero;
+
+    /**
+     * Количество значений в множестве.
+     */
+    private int size;
+
+    /**
+     * Конструктор пустого множества без фильтра Блума.
+     */
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY / 2, false);
+    }
+
+    /**
+     * Конструктор пустого множества.
+     *
+     * @param expectedSize ожидаемое количество значений, до которого массив не будет расти
+     * @param bloomFilter  true если перед массивом нужен фильтр Блума
+     */
+    public LongHashSet(int expectedSize, boolean bloomFilter) {
+        this.bloomFilter = bloomFilter;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Метод для добавления значения.
+     *
+     * @param value значение
+     * @return true если значения еще не было в множестве
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = cells.length - 1;
+        for (int index = index(value); ; index = (index + 1) & mask) {
+            long cell = cells[index];
+            if (cell == value) {
+                return false;
+            }
+            if (cell == 0) {
+                cells[index] = value;
+                if (bloom != null) {
+                    setBloomBits(value);
+                }
+                if (++size * 2 > cells.length) {
+                    allocate(cells.length << 1);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Метод для проверки наличия значения.
+     *
+     * @param value значение
+     * @return true если значение есть в множестве
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        if (bloom != null && !mightContain(value)) {
+            return false;
+        }
+        int mask = cells.length - 1;
+        for (int index = index(value); ; index = (index + 1) & mask) {
+            long cell = cells[index];
+            if (cell == value) {
+                return true;
+            }
+            if (cell == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Метод для получения количества значений.
+     *
+     * @return количество значений
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Метод для проверки того, что множество пустое.
+     *
+     * @return true если в множестве нет значений
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Метод для удаления всех значений. Емкость массива сохраняется.
+     */
+    public void clear() {
+        Arrays.fill(cells, 0);
+        if (bloom != null) {
+            Arrays.fill(bloom, 0);
+        }
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Метод для выделения массивов заданной емкости и переноса в них имеющихся значений.
+     *
+     * @param capacity новая емкость, степень двойки
+     */
+    private void allocate(int capacity) {
+        long[] previous = cells;
+        cells = new long[capacity];
+        bloom = bloomFilter ? new long[Math.max(1, capacity / CELLS_PER_BLOOM_WORD)] : null;
+        shift = Long.numberOfLeadingZeros(capacity) + 1;
+        if (previous == null) {
+            return;
+        }
+        int mask = capacity - 1;
+        for (long value : previous) {
+            if (value != 0) {
+                int index = index(value);
+                while (cells[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                cells[index] = value;
+                if (bloom != null) {
+                    setBloomBits(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Метод для выбора начальной ячейки значения.
+     *
+     * @param value значение
+     * @return индекс ячейки
+     */
+    private int index(long value) {
+        return (int) ((value * GOLDEN_RATIO) >>> shift);
+    }
+
+    /**
+     * Метод для установки битов значения в фильтре Блума.
+     *
+     * @param value значение
+     */
+    private void setBloomBits(long value) {
+        long bitMask = (long) bloom.length * Long.SIZE - 1;
+        long hash = ProductFingerprint.mix(value);
+        int first = (int) hash;
+        int step = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (first + (long) i * step) & bitMask;
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Метод для проверки битов значения в фильтре Блума.
+     *
+     * @param value значение
+     * @return false если значения точно нет в множестве
+     */
+    private boolean mightContain(long value) {
+        long bitMask = (long) bloom.length * Long.SIZE - 1;
+        long hash = ProductFingerprint.mix(value);
+        int first = (int) hash;
+        int step = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (first + (long) i * step) & bitMask;
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
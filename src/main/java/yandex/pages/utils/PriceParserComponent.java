@@ -3,38 +3,103 @@ package yandex.pages.utils;
 /**
  * Класс для парсинга цен из текста.
  * Предоставляет методы для извлечения числового значения цены.
+ * Разбор выполняется за один проход по символам без создания промежуточных строк.
  *
  *
  * @author Габбасова Лилиана Альбертовна
  * @version 2
  */
-public class PriceParserComponent {
+public final class PriceParserComponent {
     /**
-     * Константа для обозначения невалидной цены.
+     * Константа для обозначения отсутствующей или невалидной цены.
      */
-    private static final double INVALID_PRICE = 0.0;
+    public static final long NO_PRICE = -1L;
+
+    /**
+     * Максимальное значение цены, которое можно умножить на 10 и прибавить цифру без переполнения.
+     */
+    private static final long MAX_PRICE_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+
+    /**
+     * Конструктор закрыт, так как класс содержит только статические методы.
+     */
+    private PriceParserComponent() {
+    }
 
     /**
      * Метод для извлечения числового значения цены из текста.
-     * Удаляет все нечисловые символы и преобразует оставшуюся строку в число.
+     * Берет первое число в тексте, пропуская разделители разрядов: пробел, неразрывный пробел,
+     * тонкий и узкий неразрывный пробелы. Разделитель засчитывается, только если перед ним группа
+     * не длиннее трех цифр, а после него ровно три цифры, поэтому в "Цена 1 2 3" распознается 1, а не 123.
+     * Дробная часть после запятой или точки отбрасывается.
      *
-     * @param priceText текст содержащий цену
-     * @return числовое значение цены или 0.0 если цена не может быть распознана
+     * @param priceText текст содержащий цену, например "Цена 15 990 ₽"
+     * @return цена в рублях или {@link #NO_PRICE} если цена не может быть распознана
      */
-    public static double extractPriceFromText(String priceText) {
-        if (priceText == null) return INVALID_PRICE;
-        String cleanPrice = priceText
-                .replace("Цена", "")
-                .replace("₽", "")
-                .replace(" ", "")
-                .replace(" ", "")
-                .trim();
-        cleanPrice = cleanPrice.replaceAll("[^\\d]", "");
-
-        if (!cleanPrice.isEmpty() && cleanPrice.matches("\\d+")) {
-            return Double.parseDouble(cleanPrice);
+    public static long extractPriceFromText(CharSequence priceText) {
+        if (priceText == null) return NO_PRICE;
+
+        int length = priceText.length();
+        long price = 0;
+        boolean hasDigits = false;
+        int groupDigits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = priceText.charAt(i);
+            if (isDigit(c)) {
+                if (price > MAX_PRICE_BEFORE_DIGIT) {
+                    return NO_PRICE;
+                }
+                price = price * 10 + (c - '0');
+                hasDigits = true;
+                groupDigits++;
+            } else if (hasDigits) {
+                if (!isGroupSeparator(c) || groupDigits > 3 || !isThreeDigitGroup(priceText, i + 1)) {
+                    break;
+                }
+                groupDigits = 0;
+            }
         }
 
-        return INVALID_PRICE;
+        return hasDigits ? price : NO_PRICE;
+    }
+
+    /**
+     * Метод для проверки, является ли символ цифрой от 0 до 9.
+     *
+     * @param c символ для проверки
+     * @return true если символ является цифрой
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Метод для проверки, что с заданной позиции идут ровно три цифры.
+     *
+     * @param text  текст с ценой
+     * @param start позиция после разделителя разрядов
+     * @return true если три символа с позиции - цифры, а следующий символ не цифра или текст закончился
+     */
+    private static boolean isThreeDigitGroup(CharSequence text, int start) {
+        int end = start + 3;
+        if (end > text.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return end == text.length() || !isDigit(text.charAt(end));
+    }
+
+    /**
+     * Метод для проверки, является ли символ разделителем разрядов.
+     *
+     * @param c символ для проверки
+     * @return true если символ является обычным, неразрывным, тонким, узким неразрывным или цифровым пробелом
+     */
+    private static boolean isGroupSeparator(char c) {
+        return c == ' ' || c == '\u00A0' || c == '\u2009' || c == '\u202F' || c == '\u2007';
     }
-}
\ No newline at end of file
+}
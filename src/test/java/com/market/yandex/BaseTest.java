@@ -1,52 +1,198 @@
 package com.market.yandex;
 
+import helpers.BrowserMemory;
 import helpers.ConfigProvider;
 import helpers.CustomAllure;
+import helpers.DriverFactory;
+import helpers.DriverPool;
+import helpers.FixtureServer;
+import helpers.ProductResultSink;
+import helpers.ReplayArchive;
+import helpers.ResourceBlocker;
+import helpers.SessionRecorder;
+import helpers.WaitMetrics;
+import io.qameta.allure.Allure;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
-import org.openqa.selenium.PageLoadStrategy;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
 import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-import java.util.concurrent.TimeUnit;
 /**
  * Базовый абстрактный класс для настройки браузера в тестах.
  * Настраивает Chrome браузер перед каждым тестом и закрывает его после.
+ * Если включен пул сессий, браузер берется из пула и возвращается в него после теста.
+ * Если включен встроенный сервер, страницы открываются на нем без обращения к сети.
+ * Если включена блокировка ресурсов, страницы загружаются без изображений, шрифтов, счетчиков и рекламы.
+ * Если включена запись, ответы сайта сохраняются в архив для воспроизведения встроенным сервером.
+ * Если включена запись результатов, результаты проверки товаров дописываются в файл теста и прикладываются к отчету.
+ * Тесты могут выполняться параллельно: для каждого теста создается свой экземпляр класса,
+ * поэтому браузер и страницы теста используются только потоком, в котором выполняется тест.
  *
  * @author Габбасова Лилиана Альбертовна
  * @version 2
  */
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
 public abstract class BaseTest {
     /**
      * Веб-драйвер для управления браузером.
      */
     protected WebDriver driver;
 
+    /**
+     * Сессия браузера без наблюдателей, которая возвращается в пул после теста.
+     */
+    private WebDriver sessionDriver;
+
+    /**
+     * Наблюдатель для создания скриншотов в отчете Allure.
+     */
+    private CustomAllure customAllure;
+
+    /**
+     * Замер памяти браузера перед тестом.
+     */
+    private Map<String, Object> memoryBefore;
+
+    /**
+     * Блокировка ненужных ресурсов страниц, null если блокировка выключена.
+     */
+    private ResourceBlocker resourceBlocker;
+
+    /**
+     * Запись ответов сайта, null если запись выключена.
+     */
+    private SessionRecorder sessionRecorder;
+
+    /**
+     * Путь к архиву записи теста.
+     */
+    private Path recordingArchive;
+
+    /**
+     * Файл результатов проверки товаров, null если запись результатов выключена.
+     */
+    private ProductResultSink productResultSink;
+
+    /**
+     * Расширение, которое создает скриншот при падении теста, пока браузер еще открыт.
+     */
+    @RegisterExtension
+    final TestExecutionExceptionHandler screenshotOnFailure = (context, throwable) -> {
+        if (customAllure != null) {
+            customAllure.onTestFailure();
+        }
+        throw throwable;
+    };
+
+    /**
+     * Метод, который выполняется перед тестами класса.
+     * Запускает встроенный сервер с локальной копией Маркета, если он включен в профиле.
+     */
+    @BeforeAll
+    static void startFixtureServer() {
+        if (ConfigProvider.FIXTURE_SERVER_ENABLED) {
+            FixtureServer.getInstance();
+        }
+    }
+
     /**
      * Метод, который выполняется перед каждым тестом.
      * Инициализирует веб-драйвер и настраивает параметры браузера.
+     *
+     * @param testInfo сведения о тесте, по которым называются архив записи и файл результатов
      */
     @BeforeEach
-    void setUp() {
-        System.setProperty("webdriver.chrome.driver", ConfigProvider.CHROME_DRIVER_PATH);
-        ChromeOptions chromeOptions = new ChromeOptions();
-        chromeOptions.setPageLoadStrategy(PageLoadStrategy.NORMAL);
-        driver = new ChromeDriver(chromeOptions);
-        driver.manage().deleteAllCookies();
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(ConfigProvider.IMPLICIT_WAIT, TimeUnit.SECONDS);
-        CustomAllure customAllure = new CustomAllure(driver);
-        driver = new EventFiringDecorator<>(customAllure).decorate(driver);
+    void setUp(TestInfo testInfo) {
+        WaitMetrics.start();
+        String testName = getClass().getSimpleName() + "."
+                + testInfo.getTestMethod().map(method -> method.getName()).orElse("test");
+        if (ConfigProvider.RESULTS_ENABLED) {
+            productResultSink = ProductResultSink.start(Paths.get(ConfigProvider.RESULTS_DIRECTORY, testName + ".ndjson"));
+        }
+        sessionDriver = ConfigProvider.DRIVER_POOL_ENABLED
+                ? DriverPool.getInstance().acquire()
+                : DriverFactory.createChromeDriver();
+        memoryBefore = BrowserMemory.sample(sessionDriver);
+        customAllure = new CustomAllure(sessionDriver);
+        List<WebDriverListener> listeners = new ArrayList<>();
+        listeners.add(customAllure);
+        if (ConfigProvider.BLOCKING_ENABLED) {
+            resourceBlocker = ResourceBlocker.start(sessionDriver);
+            listeners.add(resourceBlocker);
+        }
+        if (ConfigProvider.RECORDING_ENABLED) {
+            sessionRecorder = SessionRecorder.start(sessionDriver);
+            recordingArchive = Paths.get(ConfigProvider.RECORDING_DIRECTORY, testName + ".zip");
+            listeners.add(sessionRecorder);
+        }
+        driver = new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(sessionDriver);
     }
 
     /**
      * Метод, который выполняется после каждого теста.
-     * Закрывает веб-драйвер.
+     * Дожидается записи скриншотов, прикладывает метрики ожиданий, замеры памяти браузера, файл результатов
+     * и отчет о блокировке ресурсов, сохраняет архив записи и закрывает веб-драйвер или возвращает его в пул.
      */
     @AfterEach
     void quitDriver() {
-        driver.quit();
+        try {
+            Allure.addAttachment("Метрики ожиданий", "application/json", WaitMetrics.current().toJson(), ".json");
+            Map<String, Object> memory = new LinkedHashMap<>();
+            memory.put("profile", ConfigProvider.DRIVER_PROFILE);
+            memory.put("before", memoryBefore);
+            memory.put("after", BrowserMemory.sample(sessionDriver));
+            Allure.addAttachment("Память браузера", "application/json", new Json().toJson(memory), ".json");
+            if (productResultSink != null) {
+                attachProductResults(productResultSink.close());
+            }
+            if (sessionRecorder != null) {
+                ReplayArchive archive = sessionRecorder.stop(recordingArchive);
+                Allure.step("Запись сессии: " + (archive == null ? "ответов не получено"
+                        : archive.getEntries().size() + " ответов, " + archive.getBodiesCount()
+                        + " различных тел, архив " + recordingArchive.toAbsolutePath()));
+            }
+            if (resourceBlocker != null) {
+                resourceBlocker.stop();
+                Allure.addAttachment("Блокировка ресурсов", "text/plain", resourceBlocker.report());
+            }
+            customAllure.flush();
+        } finally {
+            if (ConfigProvider.DRIVER_POOL_ENABLED) {
+                DriverPool.getInstance().release(sessionDriver);
+            } else {
+                sessionDriver.quit();
+            }
+        }
+    }
+
+    /**
+     * Метод для прикладывания файла результатов проверки товаров к отчету одним вложением.
+     * Файл читается потоком, поэтому не загружается в память целиком.
+     *
+     * @param file путь к файлу результатов
+     */
+    private static void attachProductResults(Path file) {
+        try (InputStream content = Files.newInputStream(file)) {
+            Allure.addAttachment("Результаты проверки товаров", "application/x-ndjson", content, ".ndjson");
+        } catch (IOException e) {
+            Allure.step("Не удалось приложить файл результатов " + file + ": " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.market.yandex;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Базовый абстрактный класс для тестов с замерами производительности на локальных фикстурах и встроенном сервере.
+ * Фикстуры лежат в ресурсах fixtures и не требуют доступа к сети.
+ * Замеры выполняются последовательно и без параллельно запущенных тестов, чтобы те не влияли на время.
+ * Каждый тест сравнивает ускоренный способ с прежним, проверяет совпадение их результатов
+ * и прикладывает результаты замера к отчету.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+@Owner("Габбасова Лилиана Альбертовна")
+@Feature("Производительность")
+public abstract class BenchmarkTest extends BaseTest {
+    /**
+     * Адрес списка ноутбуков на встроенном сервере.
+     */
+    protected static final String OFFLINE_LISTING_PATH = "catalog--noutbuki/54544/list";
+
+    /**
+     * Метод для получения адреса локальной фикстуры.
+     *
+     * @param fileName имя файла фикстуры
+     * @return адрес фикстуры в файловой системе
+     */
+    static String fixtureUrl(String fileName) {
+        return BenchmarkTest.class.getResource("/fixtures/" + fileName).toString();
+    }
+
+    /**
+     * Метод для получения времени, прошедшего с начала замера.
+     *
+     * @param startNanos начало замера по System.nanoTime()
+     * @return прошедшее время в миллисекундах
+     */
+    static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Метод для вложения результатов замера в отчет Allure.
+     *
+     * @param results текст результатов замера
+     */
+    static void attachResults(String results) {
+        Allure.addAttachment("Результаты замера", "text/plain", results);
+    }
+
+    /**
+     * Наблюдатель, который подсчитывает переходы по адресу.
+     */
+    static class NavigationCounter implements WebDriverListener {
+        /**
+         * Счетчик переходов.
+         */
+        private final AtomicInteger navigations = new AtomicInteger();
+
+        @Override
+        public void beforeGet(WebDriver driver, String url) {
+            navigations.incrementAndGet();
+        }
+
+        /**
+         * Метод для получения текущего количества переходов.
+         *
+         * @return количество переходов
+         */
+        int get() {
+            return navigations.get();
+        }
+    }
+
+    /**
+     * Наблюдатель, который подсчитывает обращения к WebDriver и веб-элементам.
+     */
+    static class CallCounter implements WebDriverListener {
+        /**
+         * Счетчик обращений.
+         */
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            calls.incrementAndGet();
+        }
+
+        /**
+         * Метод для получения текущего количества обращений.
+         *
+         * @return количество обращений
+         */
+        int get() {
+            return calls.get();
+        }
+    }
+}
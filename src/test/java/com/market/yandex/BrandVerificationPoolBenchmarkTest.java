@@ -0,0 +1,85 @@
+package com.market.yandex;
+
+import helpers.ConfigProvider;
+import helpers.DriverFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import yandex.pages.pricelist.card.BrandVerificationPool;
+import yandex.pages.pricelist.card.ProductCardPage;
+import yandex.pages.pricelist.components.JsExecutor;
+import yandex.pages.pricelist.components.ProductData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Тестовый класс для сравнения проверки брендов в карточках товаров в основном окне и в пуле дополнительных сессий.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see BrandVerificationPool
+ */
+public class BrandVerificationPoolBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество карточек товаров для проверки брендов.
+     */
+    private static final int BRAND_CHECK_PRODUCTS_COUNT = 20;
+
+    /**
+     * Количество дополнительных сессий браузера в пуле.
+     */
+    private static final int POOL_SESSIONS = 2;
+
+    /**
+     * Тестовый метод, который проверяет бренды карточек фикстуры по очереди в основном окне
+     * и параллельно в пуле дополнительных сессий.
+     * Сессии пула запускаются до замера, чтобы время запуска браузеров не входило в сравнение.
+     * Пул должен находить те же бренды не медленнее основного окна, а основная сессия - оставаться на странице списка.
+     */
+    @DisplayName("Бенчмарк - параллельная проверка брендов в пуле сессий")
+    @Test
+    public void brandVerificationPoolBenchmark() {
+        driver.get(fixtureUrl("listing.html") + "?count=" + BRAND_CHECK_PRODUCTS_COUNT);
+        String listingUrl = driver.getCurrentUrl();
+        List<ProductData> products = new JsExecutor(driver).extractProducts();
+
+        long start = System.nanoTime();
+        List<String> inlineBrands = new ArrayList<>(products.size());
+        for (ProductData product : products) {
+            driver.get(product.getHref());
+            inlineBrands.add(new ProductCardPage(driver).readBrandFromImage());
+        }
+        long inlineMillis = millisSince(start);
+        driver.get(listingUrl);
+
+        long poolMillis;
+        try (BrandVerificationPool pool = new BrandVerificationPool(POOL_SESSIONS, DriverFactory::createChromeDriver)) {
+            List<CompletableFuture<String>> warmUp = new ArrayList<>(POOL_SESSIONS);
+            for (int i = 0; i < POOL_SESSIONS; i++) {
+                warmUp.add(pool.fetchBrand(products.get(i).getHref()));
+            }
+            warmUp.forEach(CompletableFuture::join);
+
+            start = System.nanoTime();
+            List<CompletableFuture<String>> brands = new ArrayList<>(products.size());
+            for (ProductData product : products) {
+                brands.add(pool.fetchBrand(product.getHref()));
+            }
+            for (int i = 0; i < products.size(); i++) {
+                String brand = brands.get(i).join();
+                Assertions.assertTrue(ProductCardPage.isBrandMatches(brand, ConfigProvider.BRANDS),
+                        "Бренд '" + brand + "' товара " + products.get(i).getName() + " не найден в карточке");
+                Assertions.assertEquals(inlineBrands.get(i), brand, "Бренд из пула не совпадает с брендом из основного окна");
+            }
+            poolMillis = millisSince(start);
+        }
+
+        attachResults("Карточек: " + products.size() + "\n"
+                + "В основном окне: " + inlineMillis + " мс\n"
+                + "В пуле из " + POOL_SESSIONS + " сессий: " + poolMillis + " мс");
+        Assertions.assertEquals(listingUrl, driver.getCurrentUrl(), "Основная сессия не должна покидать страницу списка");
+        Assertions.assertTrue(poolMillis <= inlineMillis, "Проверка в пуле сессий не должна быть медленнее проверки в основном окне");
+    }
+}
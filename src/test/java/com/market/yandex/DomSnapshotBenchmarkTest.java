@@ -0,0 +1,164 @@
+package com.market.yandex;
+
+import helpers.CdpSupport;
+import helpers.ConfigProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebElement;
+import yandex.pages.pricelist.components.DomSnapshotExtractor;
+import yandex.pages.pricelist.components.JsExecutor;
+import yandex.pages.pricelist.components.ProductData;
+import yandex.pages.pricelist.components.ProductExtractor;
+import yandex.pages.pricelist.components.ProductListLocators;
+import yandex.pages.pricelist.components.ProductTable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Тестовый класс для сравнения извлечения карточек товаров через WebElement, скриптом и из снимка DOM через DevTools.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see DomSnapshotExtractor
+ */
+public class DomSnapshotBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество карточек товаров на большой странице фикстуры.
+     */
+    private static final int LARGE_LISTING_PRODUCTS_COUNT = 2000;
+
+    /**
+     * Количество пачек товаров на фикстуре с отложенной загрузкой для сравнения способов извлечения партиями.
+     */
+    private static final int BATCHED_EXTRACTION_BATCHES = 20;
+
+    /**
+     * Количество карточек в одной пачке для сравнения способов извлечения партиями.
+     */
+    private static final int BATCHED_EXTRACTION_BATCH_SIZE = 50;
+
+    /**
+     * Интервал между пачками в миллисекундах.
+     */
+    private static final int DELAYED_BATCH_MILLIS = 400;
+
+    /**
+     * Тестовый метод, который сравнивает чтение наименований товаров большой страницы фикстуры
+     * поштучно через WebElement, скриптом и из снимка DOM через DevTools.
+     * Снимок должен давать те же товары, что и скрипт, и не быть медленнее поштучного чтения.
+     */
+    @DisplayName("Бенчмарк - извлечение товаров из снимка DOM")
+    @Test
+    public void domSnapshotExtractionBenchmark() {
+        Assumptions.assumeTrue(CdpSupport.isSupported(driver), "Браузер не поддерживает протокол DevTools");
+        driver.get(fixtureUrl("listing.html") + "?count=" + LARGE_LISTING_PRODUCTS_COUNT);
+
+        long start = System.nanoTime();
+        List<String> perElementNames = new ArrayList<>(LARGE_LISTING_PRODUCTS_COUNT);
+        for (WebElement productCard : driver.findElements(ProductListLocators.PRODUCT_CARDS)) {
+            perElementNames.add(productCard.getText());
+        }
+        long perElementMillis = millisSince(start);
+
+        start = System.nanoTime();
+        List<ProductData> scriptProducts = new JsExecutor(driver).extractProducts();
+        long scriptMillis = millisSince(start);
+
+        start = System.nanoTime();
+        ProductTable snapshotTable = new DomSnapshotExtractor(driver).captureProductTable();
+        long snapshotMillis = millisSince(start);
+
+        attachResults("Карточек: " + LARGE_LISTING_PRODUCTS_COUNT + "\n"
+                + "Поштучно через WebElement: " + perElementMillis + " мс\n"
+                + "Скриптом: " + scriptMillis + " мс\n"
+                + "Снимком DOM: " + snapshotMillis + " мс, видимых карточек " + snapshotTable.getVisibleProducts().size());
+
+        Assertions.assertEquals(LARGE_LISTING_PRODUCTS_COUNT, snapshotTable.size(), "Из снимка извлечены не все карточки");
+        for (int i = 0; i < snapshotTable.size(); i++) {
+            ProductData snapshotProduct = snapshotTable.getProducts().get(i);
+            Assertions.assertEquals(scriptProducts.get(i).getName(), snapshotProduct.getName(), "Наименование не совпадает со скриптом");
+            Assertions.assertEquals(scriptProducts.get(i).getPriceText(), snapshotProduct.getPriceText(), "Цена не совпадает со скриптом");
+            Assertions.assertEquals(scriptProducts.get(i).getHref(), snapshotProduct.getHref(), "Адрес не совпадает со скриптом");
+        }
+        Assertions.assertEquals(perElementNames.get(0), snapshotTable.getFirstName(), "Первое видимое наименование не совпадает");
+        Assertions.assertTrue(snapshotMillis <= perElementMillis, "Снимок DOM не должен быть медленнее поштучного чтения");
+    }
+
+    /**
+     * Тестовый метод, который сравнивает извлечение догруженных товаров партиями скриптом и снимком DOM,
+     * как при проверке всех страниц списка. Замеряется только время вызовов извлечения новых товаров:
+     * у скрипта время партии зависит от количества новых карточек, у снимка - от всех загруженных.
+     * Оба способа должны извлекать одни и те же товары, а скрипт, выбранный способом по умолчанию,
+     * не должен быть медленнее снимка.
+     *
+     * @throws InterruptedException если ожидание догрузки прервано
+     */
+    @DisplayName("Бенчмарк - извлечение догруженных товаров партиями скриптом и снимком DOM")
+    @Test
+    public void batchedExtractionBenchmark() throws InterruptedException {
+        Assumptions.assumeTrue(CdpSupport.isSupported(driver), "Браузер не поддерживает протокол DevTools");
+        Set<String> scriptNames = new HashSet<>();
+        List<Long> scriptBatchMicros = timeBatchedExtraction(new JsExecutor(driver), scriptNames);
+        Set<String> snapshotNames = new HashSet<>();
+        List<Long> snapshotBatchMicros = timeBatchedExtraction(new DomSnapshotExtractor(driver), snapshotNames);
+        long scriptMicros = sum(scriptBatchMicros);
+        long snapshotMicros = sum(snapshotBatchMicros);
+
+        attachResults("Пачек: " + BATCHED_EXTRACTION_BATCHES + " по " + BATCHED_EXTRACTION_BATCH_SIZE + " карточек\n"
+                + "Скриптом: всего " + scriptMicros / 1000 + " мс, партии в мкс " + scriptBatchMicros + "\n"
+                + "Снимком DOM: всего " + snapshotMicros / 1000 + " мс, партии в мкс " + snapshotBatchMicros);
+        Assertions.assertEquals(scriptNames, snapshotNames, "Скрипт и снимок DOM должны извлекать одни и те же товары");
+        Assertions.assertTrue(scriptMicros <= snapshotMicros, "Извлечение партиями скриптом не должно быть медленнее снимка DOM");
+    }
+
+    /**
+     * Метод для замера извлечения новых товаров партиями на фикстуре с отложенной загрузкой.
+     * Каждый товар фикстуры должен быть извлечен ровно один раз.
+     *
+     * @param extractor      способ извлечения карточек
+     * @param extractedNames наименования извлеченных товаров
+     * @return время извлечения каждой непустой партии в микросекундах
+     * @throws InterruptedException если ожидание догрузки прервано
+     */
+    private List<Long> timeBatchedExtraction(ProductExtractor extractor, Set<String> extractedNames) throws InterruptedException {
+        driver.get(fixtureUrl("delayed-listing.html") + "?batches=" + BATCHED_EXTRACTION_BATCHES
+                + "&size=" + BATCHED_EXTRACTION_BATCH_SIZE + "&delay=" + DELAYED_BATCH_MILLIS);
+        int expectedCount = BATCHED_EXTRACTION_BATCHES * BATCHED_EXTRACTION_BATCH_SIZE;
+        List<Long> batchMicros = new ArrayList<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(ConfigProvider.EXPLICIT_WAIT * 4L).toNanos();
+        while (extractedNames.size() < expectedCount && System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            List<ProductData> batch = extractor.extractNewProducts();
+            long micros = (System.nanoTime() - start) / 1000;
+            if (!batch.isEmpty()) {
+                batchMicros.add(micros);
+            }
+            for (ProductData product : batch) {
+                Assertions.assertTrue(extractedNames.add(product.getName()), "Товар извлечен повторно: " + product.getName());
+            }
+            Thread.sleep(DELAYED_BATCH_MILLIS / 2);
+        }
+        Assertions.assertEquals(expectedCount, extractedNames.size(), "Извлечены не все товары фикстуры");
+        return batchMicros;
+    }
+
+    /**
+     * Метод для подсчета суммы значений.
+     *
+     * @param values значения
+     * @return сумма значений
+     */
+    private static long sum(List<Long> values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
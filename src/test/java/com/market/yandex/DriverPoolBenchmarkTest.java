@@ -0,0 +1,86 @@
+package com.market.yandex;
+
+import helpers.DriverFactory;
+import helpers.DriverPool;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Тестовый класс для замера времени набора коротких тестов с пулом сессий браузера и без него.
+ * Оба режима замеряются в одном запуске: без пула для каждого теста запускается и закрывается браузер,
+ * с пулом сессия берется из отдельного пула и сбрасывается после теста так же, как в {@link BaseTest}.
+ * Класс не наследует {@link BaseTest}, чтобы сессия базового класса не влияла на замер.
+ * Замеры выполняются последовательно и без параллельно запущенных тестов, чтобы те не влияли на время.
+ * Вспомогательные методы замеров общие с {@link BenchmarkTest}.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ */
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+@Owner("Габбасова Лилиана Альбертовна")
+@Feature("Производительность")
+public class DriverPoolBenchmarkTest {
+    /**
+     * Количество повторов короткого теста в каждом режиме.
+     */
+    private static final int REPETITIONS = 10;
+
+    /**
+     * Тестовый метод, который сравнивает время набора коротких тестов без пула сессий и с пулом.
+     * С пулом тесты должны проходить так же и быстрее, чем с запуском браузера для каждого теста.
+     */
+    @DisplayName("Бенчмарк - набор тестов с пулом сессий браузера")
+    @Test
+    public void driverPoolBenchmark() {
+        long withoutPoolMillis = timeShortTests(DriverFactory::createChromeDriver, WebDriver::quit);
+
+        DriverPool pool = new DriverPool(1, REPETITIONS + 1, DriverFactory::createChromeDriver);
+        long withPoolMillis;
+        try {
+            withPoolMillis = timeShortTests(pool::acquire, pool::release);
+        } finally {
+            pool.close();
+        }
+
+        BenchmarkTest.attachResults("Коротких тестов в каждом режиме: " + REPETITIONS + "\n"
+                + "Без пула сессий: " + withoutPoolMillis + " мс\n"
+                + "С пулом сессий: " + withPoolMillis + " мс\n"
+                + "Сэкономлено: " + (withoutPoolMillis - withPoolMillis) + " мс");
+        Assertions.assertTrue(withPoolMillis < withoutPoolMillis, "Набор тестов с пулом сессий должен выполняться быстрее");
+    }
+
+    /**
+     * Метод для замера времени набора коротких тестов: получение сессии, открытие локальной фикстуры,
+     * проверка заголовка и освобождение сессии. Основное время такого теста - подготовка браузера.
+     *
+     * @param acquire получение сессии браузера перед тестом
+     * @param release освобождение сессии браузера после теста
+     * @return время набора тестов в миллисекундах
+     */
+    private static long timeShortTests(Supplier<WebDriver> acquire, Consumer<WebDriver> release) {
+        String url = BenchmarkTest.fixtureUrl("listing.html") + "?count=1";
+        long start = System.nanoTime();
+        for (int i = 0; i < REPETITIONS; i++) {
+            WebDriver driver = acquire.get();
+            try {
+                driver.get(url);
+                Assertions.assertEquals("Ноутбуки", driver.findElement(By.xpath("//h1[@data-auto='title']")).getText());
+            } finally {
+                release.accept(driver);
+            }
+        }
+        return BenchmarkTest.millisSince(start);
+    }
+}
@@ -0,0 +1,61 @@
+package com.market.yandex;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import yandex.pages.pricelist.components.ProductListLocators;
+
+/**
+ * Тестовый класс для сравнения поиска карточек товаров по XPath и по CSS-селектору на большой странице фикстуры.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see yandex.pages.base.Locators
+ */
+public class LocatorLookupBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество карточек товаров на большой странице фикстуры.
+     */
+    private static final int LARGE_LISTING_PRODUCTS_COUNT = 2000;
+
+    /**
+     * Количество поисков элементов для одного локатора.
+     */
+    private static final int LOOKUPS_COUNT = 20;
+
+    /**
+     * Тестовый метод, который сравнивает время поиска карточек товаров по XPath и по CSS-селектору
+     * на большой странице фикстуры. CSS-селектор должен находить те же карточки и не быть медленнее XPath.
+     */
+    @DisplayName("Бенчмарк - поиск карточек по CSS и XPath")
+    @Test
+    public void cssVersusXpathLookupBenchmark() {
+        driver.get(fixtureUrl("listing.html") + "?count=" + LARGE_LISTING_PRODUCTS_COUNT);
+        By xpathLocator = By.xpath("//article//span[@itemprop='name']");
+
+        long xpathMillis = timeLookups(xpathLocator);
+        long cssMillis = timeLookups(ProductListLocators.PRODUCT_CARDS);
+
+        attachResults("Карточек: " + LARGE_LISTING_PRODUCTS_COUNT + ", поисков: " + LOOKUPS_COUNT + "\n"
+                + xpathLocator + ": " + xpathMillis + " мс\n"
+                + ProductListLocators.PRODUCT_CARDS + ": " + cssMillis + " мс");
+        Assertions.assertEquals(driver.findElements(xpathLocator).size(),
+                driver.findElements(ProductListLocators.PRODUCT_CARDS).size(), "Локаторы должны находить одни и те же карточки");
+        Assertions.assertTrue(cssMillis <= xpathMillis, "Поиск по CSS-селектору не должен быть медленнее поиска по XPath");
+    }
+
+    /**
+     * Метод, который замеряет время нескольких поисков элементов по локатору.
+     *
+     * @param locator локатор элементов
+     * @return суммарное время поисков в миллисекундах
+     */
+    private long timeLookups(By locator) {
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS_COUNT; i++) {
+            Assertions.assertEquals(LARGE_LISTING_PRODUCTS_COUNT, driver.findElements(locator).size(), "Найдены не все карточки");
+        }
+        return millisSince(start);
+    }
+}
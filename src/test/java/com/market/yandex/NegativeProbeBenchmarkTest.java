@@ -0,0 +1,77 @@
+package com.market.yandex;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import yandex.pages.pricelist.components.PaginationComponent;
+
+import java.time.Duration;
+
+/**
+ * Тестовый класс для замера отрицательных проверок наличия элементов с прежним неявным ожиданием и без него.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see yandex.pages.base.AdaptiveWait
+ */
+public class NegativeProbeBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество карточек товаров на странице фикстуры.
+     */
+    private static final int FIXTURE_PRODUCTS_COUNT = 20;
+
+    /**
+     * Количество отрицательных проверок наличия элемента.
+     */
+    private static final int NEGATIVE_PROBES_COUNT = 5;
+
+    /**
+     * Неявное ожидание, которое использовалось до перехода на явные ожидания.
+     */
+    private static final Duration LEGACY_IMPLICIT_WAIT = Duration.ofSeconds(2);
+
+    /**
+     * Тестовый метод, который замеряет время отрицательных проверок наличия элементов
+     * с прежним неявным ожиданием и без него.
+     * На фикстуре нет пагинации, поэтому каждая проверка следующей страницы отрицательная.
+     * Без неявного ожидания проверки должны давать тот же результат и устранять простой.
+     */
+    @DisplayName("Бенчмарк - отрицательные проверки без неявного ожидания")
+    @Test
+    public void negativeProbeWithoutImplicitWaitBenchmark() {
+        driver.get(fixtureUrl("listing.html") + "?count=" + FIXTURE_PRODUCTS_COUNT);
+        PaginationComponent pagination = new PaginationComponent(driver);
+
+        long implicitMillis;
+        driver.manage().timeouts().implicitlyWait(LEGACY_IMPLICIT_WAIT);
+        try {
+            implicitMillis = timeNegativeProbes(pagination);
+        } finally {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+        long explicitMillis = timeNegativeProbes(pagination);
+        long removedStallMillis = implicitMillis - explicitMillis;
+
+        attachResults("Проверок: " + NEGATIVE_PROBES_COUNT + "\n"
+                + "С неявным ожиданием " + LEGACY_IMPLICIT_WAIT.getSeconds() + " с: " + implicitMillis + " мс\n"
+                + "Без неявного ожидания: " + explicitMillis + " мс\n"
+                + "Устраненный простой: " + removedStallMillis + " мс");
+        Assertions.assertTrue(removedStallMillis > 0, "Отказ от неявного ожидания должен устранять простой");
+        Assertions.assertTrue(explicitMillis < LEGACY_IMPLICIT_WAIT.toMillis(),
+                "Отрицательные проверки не должны ждать таймаута неявного ожидания");
+    }
+
+    /**
+     * Метод, который замеряет время нескольких отрицательных проверок следующей страницы.
+     *
+     * @param pagination компонент пагинации на странице без кнопки следующей страницы
+     * @return суммарное время проверок в миллисекундах
+     */
+    private long timeNegativeProbes(PaginationComponent pagination) {
+        long start = System.nanoTime();
+        for (int i = 0; i < NEGATIVE_PROBES_COUNT; i++) {
+            Assertions.assertFalse(pagination.isNextPageAvailable(), "На фикстуре нет следующей страницы");
+        }
+        return millisSince(start);
+    }
+}
@@ -0,0 +1,59 @@
+package com.market.yandex;
+
+import helpers.CdpSupport;
+import helpers.ConfigProvider;
+import helpers.FixtureServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import yandex.pages.pricelist.YandexMarketProductListingPage;
+
+/**
+ * Тестовый класс для сравнения проверки фильтров по карточкам на странице и по ответам API списка товаров.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see yandex.pages.pricelist.components.ListingResponseCapture
+ */
+public class NetworkValidationBenchmarkTest extends BenchmarkTest {
+    /**
+     * Тестовый метод, который сравнивает проверку фильтров по карточкам на странице и по ответам API списка товаров
+     * на встроенном сервере. Проверка по ответам должна давать тот же результат, не быть медленнее проверки
+     * по карточкам и также находить товары, не подходящие под фильтр.
+     */
+    @DisplayName("Бенчмарк - проверка фильтров по ответам API")
+    @Test
+    public void networkResponseValidationBenchmark() {
+        Assumptions.assumeTrue(CdpSupport.isSupported(driver), "Браузер не поддерживает протокол DevTools");
+        FixtureServer server = new FixtureServer(0, 0, 0, ConfigProvider.FIXTURE_SERVER_PRODUCTS);
+        try {
+            driver.get(server.getBaseUrl() + OFFLINE_LISTING_PATH);
+            YandexMarketProductListingPage listingPage = new YandexMarketProductListingPage(driver);
+            listingPage.applyFiltersByUrl(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE, ConfigProvider.BRANDS);
+            String filteredUrl = driver.getCurrentUrl();
+
+            long start = System.nanoTime();
+            Assertions.assertTrue(listingPage.checkAllPagesMatchFilters(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE, ConfigProvider.BRANDS),
+                    "Товары встроенного сервера должны соответствовать фильтрам по карточкам");
+            long renderedMillis = millisSince(start);
+
+            driver.get(filteredUrl);
+            start = System.nanoTime();
+            Assertions.assertTrue(listingPage.checkAllPagesMatchFiltersFromResponses(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE, ConfigProvider.BRANDS),
+                    "Товары встроенного сервера должны соответствовать фильтрам по ответам API");
+            long responsesMillis = millisSince(start);
+
+            driver.get(filteredUrl);
+            Assertions.assertFalse(listingPage.checkAllPagesMatchFiltersFromResponses(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE,
+                            ConfigProvider.BRANDS.subList(0, 1)),
+                    "Проверка по ответам API должна находить товары других брендов");
+
+            attachResults("По карточкам на странице: " + renderedMillis + " мс\n"
+                    + "По ответам API: " + responsesMillis + " мс");
+            Assertions.assertTrue(responsesMillis <= renderedMillis, "Проверка по ответам API не должна быть медленнее проверки по карточкам");
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.market.yandex;
+
+import helpers.ConfigProvider;
+import helpers.FixtureServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import yandex.pages.pricelist.YandexMarketProductListingPage;
+
+/**
+ * Тестовый класс для замера сценария фильтрации и проверки всех страниц списка на встроенном сервере.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see FixtureServer
+ */
+public class OfflineScenarioBenchmarkTest extends BenchmarkTest {
+    /**
+     * Задержка ответов сервера, имитирующая обращение к сети, в миллисекундах.
+     */
+    private static final int NETWORK_LATENCY_MILLIS = 100;
+
+    /**
+     * Тестовый метод, который выполняет фильтрацию и проверку всех страниц списка на встроенном сервере
+     * с задержкой ответов, как при обращении к сети, и без нее.
+     * Сценарий без задержки должен проходить так же, не покидать встроенный сервер и не быть медленнее.
+     */
+    @DisplayName("Бенчмарк - проверка фильтров на встроенном сервере")
+    @Test
+    public void offlineListingScenarioBenchmark() {
+        long networkMillis = timeScenario(NETWORK_LATENCY_MILLIS);
+        long offlineMillis = timeScenario(0);
+
+        attachResults("Товаров в каталоге: " + ConfigProvider.FIXTURE_SERVER_PRODUCTS + "\n"
+                + "С задержкой ответов " + NETWORK_LATENCY_MILLIS + " мс: " + networkMillis + " мс\n"
+                + "Без задержки: " + offlineMillis + " мс");
+        Assertions.assertTrue(offlineMillis <= networkMillis, "Сценарий на встроенном сервере не должен быть медленнее сценария с задержкой сети");
+    }
+
+    /**
+     * Метод, который выполняет сценарий на новом встроенном сервере и замеряет его время.
+     *
+     * @param latencyMillis задержка ответов сервера в миллисекундах
+     * @return время сценария в миллисекундах
+     */
+    private long timeScenario(int latencyMillis) {
+        FixtureServer server = new FixtureServer(0, latencyMillis, 0, ConfigProvider.FIXTURE_SERVER_PRODUCTS);
+        try {
+            long start = System.nanoTime();
+            driver.get(server.getBaseUrl() + OFFLINE_LISTING_PATH);
+            YandexMarketProductListingPage listingPage = new YandexMarketProductListingPage(driver);
+            listingPage.applyFiltersByUrl(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE, ConfigProvider.BRANDS);
+            Assertions.assertTrue(listingPage.checkFirstPageProductCount(ConfigProvider.MIN_PRODUCTS_ON_PAGE),
+                    "На первой странице меньше " + ConfigProvider.MIN_PRODUCTS_ON_PAGE + " товаров");
+            Assertions.assertTrue(listingPage.checkAllPagesMatchFilters(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE, ConfigProvider.BRANDS),
+                    "Товары встроенного сервера должны соответствовать фильтрам");
+            long scenarioMillis = millisSince(start);
+            Assertions.assertTrue(driver.getCurrentUrl().startsWith(server.getBaseUrl()), "Сценарий не должен покидать встроенный сервер");
+            return scenarioMillis;
+        } finally {
+            server.stop();
+        }
+    }
+}
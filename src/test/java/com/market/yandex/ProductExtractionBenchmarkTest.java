@@ -0,0 +1,83 @@
+package com.market.yandex;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import yandex.pages.pricelist.components.JsExecutor;
+import yandex.pages.pricelist.components.ProductData;
+import yandex.pages.pricelist.components.ProductListLocators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тестовый класс для сравнения поштучного и пакетного извлечения наименований и цен товаров со страницы.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see JsExecutor
+ */
+public class ProductExtractionBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество карточек товаров на странице фикстуры.
+     */
+    private static final int FIXTURE_PRODUCTS_COUNT = 300;
+
+    /**
+     * Тестовый метод, который сравнивает поштучное и пакетное извлечение наименований и цен товаров.
+     * Пакетное извлечение должно давать те же цены одним обращением к WebDriver и не быть медленнее поштучного.
+     */
+    @DisplayName("Бенчмарк - пакетное извлечение товаров со страницы")
+    @Test
+    public void batchProductExtractionBenchmark() {
+        CallCounter counter = new CallCounter();
+        WebDriver countedDriver = new EventFiringDecorator<>(counter).decorate(driver);
+        countedDriver.get(fixtureUrl("listing.html") + "?count=" + FIXTURE_PRODUCTS_COUNT);
+
+        int callsBefore = counter.get();
+        long start = System.nanoTime();
+        List<String> perCardPrices = extractPricesPerCard(countedDriver);
+        long perCardMillis = millisSince(start);
+        int perCardCalls = counter.get() - callsBefore;
+
+        callsBefore = counter.get();
+        start = System.nanoTime();
+        List<ProductData> products = new JsExecutor(countedDriver).extractProducts();
+        long batchMillis = millisSince(start);
+        int batchCalls = counter.get() - callsBefore;
+
+        attachResults("Товаров на странице: " + products.size() + "\n"
+                + "Поштучно: обращений " + perCardCalls + ", время " + perCardMillis + " мс\n"
+                + "Пакетно: обращений " + batchCalls + ", время " + batchMillis + " мс");
+
+        Assertions.assertEquals(FIXTURE_PRODUCTS_COUNT, products.size(), "Извлечены не все товары фикстуры");
+        for (int i = 0; i < products.size(); i++) {
+            Assertions.assertEquals(perCardPrices.get(i), products.get(i).getPriceText(), "Цена товара не совпадает с поштучным извлечением");
+        }
+        Assertions.assertEquals(1, batchCalls, "Пакетное извлечение должно выполняться одним обращением");
+        Assertions.assertTrue(batchCalls < perCardCalls, "Пакетное извлечение должно требовать меньше обращений");
+        Assertions.assertTrue(batchMillis <= perCardMillis, "Пакетное извлечение не должно быть медленнее поштучного");
+    }
+
+    /**
+     * Метод, который извлекает цены товаров поштучно, отдельным скриптом для каждой карточки.
+     *
+     * @param driver веб-драйвер для выполнения скриптов
+     * @return список текстов цен в порядке следования карточек
+     */
+    private List<String> extractPricesPerCard(WebDriver driver) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        List<WebElement> productCards = driver.findElements(ProductListLocators.PRODUCT_CARDS);
+        List<WebElement> priceElements = driver.findElements(ProductListLocators.PRODUCT_PRICE);
+        List<String> prices = new ArrayList<>(productCards.size());
+        for (int i = 0; i < productCards.size(); i++) {
+            js.executeScript("return arguments[0].textContent || arguments[0].innerText;", productCards.get(i));
+            prices.add((String) js.executeScript("return arguments[0].textContent || arguments[0].innerText;", priceElements.get(i)));
+        }
+        return prices;
+    }
+}
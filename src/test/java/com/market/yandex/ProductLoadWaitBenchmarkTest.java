@@ -0,0 +1,66 @@
+package com.market.yandex;
+
+import helpers.ConfigProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import yandex.pages.pricelist.components.LoadProduct;
+import yandex.pages.pricelist.components.ProductListLocators;
+
+/**
+ * Тестовый класс для замера ожидания загрузки товаров по событиям страницы на фикстуре с отложенной догрузкой.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see LoadProduct
+ */
+public class ProductLoadWaitBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество пачек товаров на фикстуре с отложенной загрузкой.
+     */
+    private static final int DELAYED_BATCHES = 4;
+
+    /**
+     * Количество карточек в одной пачке.
+     */
+    private static final int DELAYED_BATCH_SIZE = 25;
+
+    /**
+     * Интервал между пачками в миллисекундах.
+     */
+    private static final int DELAYED_BATCH_MILLIS = 400;
+
+    /**
+     * Тестовый метод, который проверяет ожидание загрузки товаров на фикстуре с отложенной догрузкой.
+     * Ожидание должно завершиться только после исчезновения скелетона и появления всех карточек,
+     * но не позже чем через период тишины и один интервал догрузки после последней пачки.
+     */
+    @DisplayName("Бенчмарк - ожидание загрузки товаров по событиям страницы")
+    @Test
+    public void eventDrivenProductLoadBenchmark() {
+        CallCounter counter = new CallCounter();
+        WebDriver countedDriver = new EventFiringDecorator<>(counter).decorate(driver);
+        countedDriver.get(fixtureUrl("delayed-listing.html") + "?batches=" + DELAYED_BATCHES
+                + "&size=" + DELAYED_BATCH_SIZE + "&delay=" + DELAYED_BATCH_MILLIS);
+
+        int callsBefore = counter.get();
+        long start = System.nanoTime();
+        new LoadProduct(countedDriver).waitForProductsLoad();
+        long waitMillis = millisSince(start);
+        int waitCalls = counter.get() - callsBefore;
+        int productsCount = countedDriver.findElements(ProductListLocators.PRODUCT_CARDS).size();
+
+        long loadMillis = (long) DELAYED_BATCHES * DELAYED_BATCH_MILLIS;
+        long lagMillis = waitMillis - loadMillis;
+        attachResults("Товаров: " + productsCount + ", загрузка фикстуры " + loadMillis + " мс\n"
+                + "Ожидание: обращений " + waitCalls + ", время " + waitMillis + " мс, "
+                + "запаздывание " + lagMillis + " мс");
+
+        Assertions.assertEquals(DELAYED_BATCHES * DELAYED_BATCH_SIZE, productsCount, "Ожидание завершилось до загрузки всех товаров");
+        Assertions.assertTrue(waitCalls <= 2, "Ожидание должно выполняться одним асинхронным скриптом");
+        Assertions.assertTrue(lagMillis < ConfigProvider.LOAD_QUIET_MILLIS + DELAYED_BATCH_MILLIS,
+                "Ожидание должно завершаться вскоре после периода тишины за последней пачкой");
+    }
+}
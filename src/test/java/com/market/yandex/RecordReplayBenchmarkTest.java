@@ -0,0 +1,108 @@
+package com.market.yandex;
+
+import helpers.ConfigProvider;
+import helpers.FixtureServer;
+import helpers.ReplayArchive;
+import helpers.SessionRecorder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import yandex.pages.pricelist.YandexMarketProductListingPage;
+import yandex.pages.pricelist.card.ProductCardPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Тестовый класс для замера записи сессии на встроенном сервере и ее воспроизведения.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see SessionRecorder
+ * @see ReplayArchive
+ */
+public class RecordReplayBenchmarkTest extends BenchmarkTest {
+    /**
+     * Задержка ответов сервера при записи сессии в миллисекундах.
+     */
+    private static final int RECORDED_LATENCY_MILLIS = 150;
+
+    /**
+     * Тестовый метод, который записывает сценарий на встроенном сервере с задержкой ответов
+     * и воспроизводит запись с исходным временем ответов и без задержек.
+     * Сценарий открывает список товаров с фильтрами и карточку первого товара.
+     * Воспроизведение должно показывать те же товары, а воспроизведение без задержек - быть быстрее записи
+     * и не медленнее воспроизведения с исходным временем.
+     *
+     * @throws IOException если не удалось получить размер архива
+     */
+    @DisplayName("Бенчмарк - запись и воспроизведение сессии")
+    @Test
+    public void recordAndReplayBenchmark() throws IOException {
+        Path archivePath = Paths.get(ConfigProvider.RECORDING_DIRECTORY, "recordAndReplayBenchmark.zip");
+        FixtureServer source = new FixtureServer(0, RECORDED_LATENCY_MILLIS, 0, ConfigProvider.FIXTURE_SERVER_PRODUCTS);
+        String recordedResult;
+        long recordedMillis;
+        ReplayArchive archive;
+        try {
+            SessionRecorder recorder = SessionRecorder.start(driver);
+            long start = System.nanoTime();
+            recordedResult = runRecordedScenario(source.getBaseUrl());
+            recordedMillis = millisSince(start);
+            archive = recorder.stop(archivePath);
+        } finally {
+            source.stop();
+        }
+        Assertions.assertNotNull(archive, "Во время сценария не записано ни одного ответа");
+
+        long originalMillis = timeReplay(ReplayArchive.read(archivePath), true, recordedResult);
+        long fastMillis = timeReplay(ReplayArchive.read(archivePath), false, recordedResult);
+
+        attachResults("Ответов в архиве: " + archive.getEntries().size() + ", различных тел: " + archive.getBodiesCount()
+                + ", размер архива " + Files.size(archivePath) / 1024 + " КБ\n"
+                + "Запись с задержкой " + RECORDED_LATENCY_MILLIS + " мс: " + recordedMillis + " мс\n"
+                + "Воспроизведение с исходным временем: " + originalMillis + " мс\n"
+                + "Воспроизведение без задержек: " + fastMillis + " мс");
+        Assertions.assertTrue(fastMillis < recordedMillis, "Воспроизведение без задержек должно быть быстрее записи");
+        Assertions.assertTrue(fastMillis <= originalMillis,
+                "Воспроизведение без задержек не должно быть медленнее воспроизведения с исходным временем");
+    }
+
+    /**
+     * Метод, который воспроизводит архив на новом сервере и замеряет время сценария.
+     *
+     * @param archive        архив записи
+     * @param originalTiming воспроизводить ли ответы с исходным временем
+     * @param expectedResult результат сценария при записи
+     * @return время сценария в миллисекундах
+     */
+    private long timeReplay(ReplayArchive archive, boolean originalTiming, String expectedResult) {
+        FixtureServer replay = new FixtureServer(0, archive, originalTiming);
+        try {
+            long start = System.nanoTime();
+            Assertions.assertEquals(expectedResult, runRecordedScenario(replay.getBaseUrl()),
+                    "Воспроизведение должно показывать те же товары, что и запись");
+            return millisSince(start);
+        } finally {
+            replay.stop();
+        }
+    }
+
+    /**
+     * Метод, который открывает список товаров с фильтрами и карточку первого товара.
+     *
+     * @param baseUrl адрес сервера
+     * @return название первого товара и бренд из его карточки
+     */
+    private String runRecordedScenario(String baseUrl) {
+        driver.get(baseUrl + OFFLINE_LISTING_PATH);
+        YandexMarketProductListingPage listingPage = new YandexMarketProductListingPage(driver);
+        listingPage.applyFiltersByUrl(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE, ConfigProvider.BRANDS);
+        String firstProductName = listingPage.getFirstProductName();
+        driver.get(driver.findElement(By.cssSelector("article a")).getDomProperty("href"));
+        return firstProductName + " / " + new ProductCardPage(driver).getBrandFromImage();
+    }
+}
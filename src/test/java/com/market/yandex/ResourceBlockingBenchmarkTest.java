@@ -0,0 +1,102 @@
+package com.market.yandex;
+
+import helpers.ConfigProvider;
+import helpers.DriverFactory;
+import helpers.FixtureServer;
+import helpers.ResourceBlocker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import yandex.pages.pricelist.components.LoadProduct;
+import yandex.pages.pricelist.components.ProductListLocators;
+
+/**
+ * Тестовый класс для замера загрузки страниц встроенного сервера без блокировки ресурсов и с блокировкой.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ResourceBlocker
+ */
+public class ResourceBlockingBenchmarkTest extends BenchmarkTest {
+    /**
+     * Задержка ответов сервера при замере блокировки ресурсов в миллисекундах.
+     */
+    private static final int BLOCKING_LATENCY_MILLIS = 200;
+
+    /**
+     * Страницы встроенного сервера для замера блокировки ресурсов: главная, список товаров и карточка товара.
+     */
+    private static final String[] BLOCKING_PAGES = {"", OFFLINE_LISTING_PATH, "product/100000"};
+
+    /**
+     * Тестовый метод, который сравнивает время загрузки страниц встроенного сервера
+     * без блокировки ресурсов и с блокировкой по профилю из конфигурации.
+     * Замер выполняется в отдельной сессии браузера, чтобы на него не влияли настройки теста.
+     * С блокировкой список должен показывать те же товары, а загрузка страниц - быть не медленнее.
+     */
+    @DisplayName("Бенчмарк - блокировка ненужных ресурсов страниц")
+    @Test
+    public void resourceBlockingBenchmark() {
+        FixtureServer server = new FixtureServer(0, BLOCKING_LATENCY_MILLIS, 0, ConfigProvider.FIXTURE_SERVER_PRODUCTS);
+        WebDriver session = DriverFactory.createChromeDriver();
+        try {
+            long fullMillis = timePageLoads(session, server.getBaseUrl());
+            int fullProducts = countListingProducts(session, server.getBaseUrl());
+            ResourceBlocker blocker = new ResourceBlocker(ConfigProvider.BLOCKED_RESOURCE_TYPES, ConfigProvider.BLOCKED_URL_PATTERNS);
+            blocker.attach(session);
+            long blockedMillis;
+            int blockedProducts;
+            try {
+                blockedMillis = timePageLoads(session, server.getBaseUrl());
+                blockedProducts = countListingProducts(session, server.getBaseUrl());
+            } finally {
+                blocker.stop();
+            }
+
+            attachResults("Задержка ответа сервера: " + BLOCKING_LATENCY_MILLIS + " мс, страниц: " + BLOCKING_PAGES.length + "\n"
+                    + "Без блокировки: " + fullMillis + " мс\n"
+                    + "С блокировкой: " + blockedMillis + " мс\n"
+                    + "Сэкономлено: " + (fullMillis - blockedMillis) + " мс\n"
+                    + blocker.report());
+            Assertions.assertTrue(blocker.getBlockedCount() > 0, "Профиль блокировки должен отменять запросы ресурсов");
+            Assertions.assertEquals(fullProducts, blockedProducts, "Блокировка не должна менять товары списка");
+            Assertions.assertTrue(blockedMillis <= fullMillis, "Загрузка с блокировкой не должна быть медленнее загрузки без нее");
+        } finally {
+            session.quit();
+            server.stop();
+        }
+    }
+
+    /**
+     * Метод, который замеряет время загрузки страниц встроенного сервера.
+     * Для списка товаров время включает загрузку первой страницы товаров.
+     *
+     * @param session сессия браузера
+     * @param baseUrl адрес сервера
+     * @return суммарное время загрузки страниц в миллисекундах
+     */
+    private long timePageLoads(WebDriver session, String baseUrl) {
+        long start = System.nanoTime();
+        for (String page : BLOCKING_PAGES) {
+            session.get(baseUrl + page);
+            if (page.equals(OFFLINE_LISTING_PATH)) {
+                new LoadProduct(session).waitForProductsLoad();
+            }
+        }
+        return millisSince(start);
+    }
+
+    /**
+     * Метод, который открывает список товаров встроенного сервера и подсчитывает загруженные карточки.
+     *
+     * @param session сессия браузера
+     * @param baseUrl адрес сервера
+     * @return количество карточек товаров первой страницы
+     */
+    private int countListingProducts(WebDriver session, String baseUrl) {
+        session.get(baseUrl + OFFLINE_LISTING_PATH);
+        new LoadProduct(session).waitForProductsLoad();
+        return session.findElements(ProductListLocators.PRODUCT_CARDS).size();
+    }
+}
@@ -0,0 +1,80 @@
+package com.market.yandex;
+
+import helpers.ConfigProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import yandex.pages.pricelist.components.JsExecutor;
+import yandex.pages.pricelist.components.ProductData;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Тестовый класс для проверки извлечения только новых карточек товаров по мере догрузки страницы.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see JsExecutor#extractNewProducts()
+ */
+public class StreamingExtractionBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество пачек товаров на фикстуре с отложенной загрузкой.
+     */
+    private static final int DELAYED_BATCHES = 4;
+
+    /**
+     * Количество карточек в одной пачке.
+     */
+    private static final int DELAYED_BATCH_SIZE = 25;
+
+    /**
+     * Интервал между пачками в миллисекундах.
+     */
+    private static final int DELAYED_BATCH_MILLIS = 400;
+
+    /**
+     * Тестовый метод, который проверяет извлечение только новых карточек на фикстуре с отложенной догрузкой.
+     * Каждая карточка должна попасть ровно в одну партию, размер партии не должен расти с количеством товаров,
+     * а все партии вместе должны совпадать с извлечением всей страницы после загрузки.
+     *
+     * @throws InterruptedException если ожидание догрузки прервано
+     */
+    @DisplayName("Бенчмарк - потоковое извлечение догруженных товаров")
+    @Test
+    public void streamingProductExtractionBenchmark() throws InterruptedException {
+        driver.get(fixtureUrl("delayed-listing.html") + "?batches=" + DELAYED_BATCHES
+                + "&size=" + DELAYED_BATCH_SIZE + "&delay=" + DELAYED_BATCH_MILLIS);
+        JsExecutor js = new JsExecutor(driver);
+        int expectedCount = DELAYED_BATCHES * DELAYED_BATCH_SIZE;
+
+        Set<String> extractedNames = new HashSet<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(ConfigProvider.EXPLICIT_WAIT).toNanos();
+        while (extractedNames.size() < expectedCount && System.nanoTime() < deadline) {
+            List<ProductData> batch = js.extractNewProducts();
+            if (!batch.isEmpty()) {
+                batchSizes.add(batch.size());
+            }
+            for (ProductData product : batch) {
+                Assertions.assertTrue(extractedNames.add(product.getName()), "Товар извлечен повторно: " + product.getName());
+            }
+            Thread.sleep(DELAYED_BATCH_MILLIS / 4);
+        }
+
+        attachResults("Товаров: " + extractedNames.size() + ", размеры партий: " + batchSizes);
+        Assertions.assertEquals(expectedCount, extractedNames.size(), "Извлечены не все товары фикстуры");
+        Assertions.assertTrue(js.extractNewProducts().isEmpty(), "После извлечения всех товаров новых быть не должно");
+        for (int batchSize : batchSizes) {
+            Assertions.assertTrue(batchSize <= DELAYED_BATCH_SIZE, "Партия содержит ранее извлеченные товары");
+        }
+        Set<String> pageNames = new HashSet<>();
+        for (ProductData product : js.extractProducts()) {
+            pageNames.add(product.getName());
+        }
+        Assertions.assertEquals(pageNames, extractedNames, "Партии должны совпадать с извлечением всей страницы");
+    }
+}
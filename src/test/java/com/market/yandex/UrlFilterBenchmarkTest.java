@@ -0,0 +1,51 @@
+package com.market.yandex;
+
+import helpers.ConfigProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import yandex.pages.pricelist.YandexMarketProductListingPage;
+
+/**
+ * Тестовый класс для замера применения фильтров списка товаров одним переходом по адресу.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see YandexMarketProductListingPage#applyFiltersByUrl(double, double, java.util.List)
+ */
+public class UrlFilterBenchmarkTest extends BenchmarkTest {
+    /**
+     * Количество карточек товаров на странице фикстуры.
+     */
+    private static final int FIXTURE_PRODUCTS_COUNT = 20;
+
+    /**
+     * Тестовый метод, который применяет фильтры одним переходом по адресу на странице фикстуры.
+     * Фильтры должны применяться одним переходом с сохранением прежних параметров адреса.
+     */
+    @DisplayName("Бенчмарк - применение фильтров через адрес страницы")
+    @Test
+    public void urlFilterApplicationBenchmark() {
+        NavigationCounter navigations = new NavigationCounter();
+        WebDriver countedDriver = new EventFiringDecorator<>(navigations).decorate(driver);
+        countedDriver.get(fixtureUrl("listing.html") + "?count=" + FIXTURE_PRODUCTS_COUNT);
+        YandexMarketProductListingPage listingPage = new YandexMarketProductListingPage(countedDriver);
+
+        int navigationsBefore = navigations.get();
+        long start = System.nanoTime();
+        listingPage.applyFiltersByUrl(ConfigProvider.MIN_PRICE, ConfigProvider.MAX_PRICE, ConfigProvider.BRANDS);
+        long filterMillis = millisSince(start);
+        int filterNavigations = navigations.get() - navigationsBefore;
+
+        String filteredUrl = countedDriver.getCurrentUrl();
+        attachResults("Адрес: " + filteredUrl + "\n"
+                + "Переходов: " + filterNavigations + ", время " + filterMillis + " мс");
+        Assertions.assertEquals(1, filterNavigations, "Фильтры должны применяться одним переходом");
+        Assertions.assertTrue(filteredUrl.contains("count=" + FIXTURE_PRODUCTS_COUNT), "Прежние параметры адреса должны сохраниться");
+        Assertions.assertTrue(filteredUrl.contains("pricefrom=" + ConfigProvider.MIN_PRICE), "В адресе нет минимальной цены");
+        Assertions.assertTrue(filteredUrl.contains("priceto=" + ConfigProvider.MAX_PRICE), "В адресе нет максимальной цены");
+        Assertions.assertTrue(filteredUrl.contains("glfilter=" + ConfigProvider.BRAND_FILTER_ID), "В адресе нет фильтра брендов");
+    }
+}
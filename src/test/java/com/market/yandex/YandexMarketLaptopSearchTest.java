@@ -58,9 +58,7 @@ public class YandexMarketLaptopSearchTest extends BaseTest {
         YandexMarketProductListingPage yandexMarketProductListingPage = new YandexMarketProductListingPage(driver);
         Assertions.assertTrue(yandexMarketProductListingPage.isTitleContains(subcategory), "Это не та страница, должен быть раздел с "+ subcategory);
 
-        yandexMarketProductListingPage.filterByPrice(minPrice, maxPrice);
-
-        yandexMarketProductListingPage.filterByBrands(listBrands);
+        yandexMarketProductListingPage.applyFilters(minPrice, maxPrice, listBrands);
 
         Assertions.assertTrue(yandexMarketProductListingPage.checkFirstPageProductCount(countProducts), "На странице меньше "+countProducts+" товаров");
 
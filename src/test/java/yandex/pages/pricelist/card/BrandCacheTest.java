@@ -0,0 +1,216 @@
+package yandex.pages.pricelist.card;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Тестовый класс для проверки файлового кэша брендов во временном каталоге без браузера.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see BrandCache
+ */
+public class BrandCacheTest {
+    /**
+     * Адрес карточки товара с числовым идентификатором.
+     */
+    private static final String PRODUCT_URL = "https://market.yandex.ru/product--noutbuk-hp/100001";
+
+    /**
+     * Время жизни записей в тестах.
+     */
+    private static final Duration TTL = Duration.ofHours(1);
+
+    /**
+     * Временный каталог теста.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Тестовый метод, который проверяет сохранение кэша в файл и загрузку в новом экземпляре.
+     */
+    @DisplayName("Кэш сохраняется в файл и загружается новым экземпляром")
+    @Test
+    public void savesAndLoadsEntries() {
+        Path file = directory.resolve("cache/brand-cache.tsv");
+        BrandCache cache = new BrandCache(file, TTL, 10);
+        cache.put(PRODUCT_URL, "HP");
+        cache.put("https://market.yandex.ru/card/noutbuk-lenovo#reviews", "Lenovo");
+        cache.put("https://market.yandex.ru/product/100002", "");
+        cache.save();
+
+        BrandCache loaded = new BrandCache(file, TTL, 10);
+        Assertions.assertEquals("HP", loaded.get("https://market.yandex.ru/product/100001?sku=1"),
+                "Запись должна находиться по идентификатору товара");
+        Assertions.assertEquals("Lenovo", loaded.get("https://market.yandex.ru/card/noutbuk-lenovo"),
+                "Запись должна находиться по адресу без фрагмента");
+        Assertions.assertNull(loaded.get("https://market.yandex.ru/product/100002"), "Пустой бренд не должен сохраняться");
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что устаревшие записи не загружаются, не выдаются и не сохраняются.
+     *
+     * @throws IOException если не удалось записать или прочитать файл кэша
+     * @throws InterruptedException если ожидание истечения срока прервано
+     */
+    @DisplayName("Устаревшие записи удаляются")
+    @Test
+    public void expiresEntriesAfterTtl() throws IOException, InterruptedException {
+        Path file = directory.resolve("brand-cache.tsv");
+        long now = System.currentTimeMillis();
+        writeLines(file,
+                "id:1\tHP\t" + (now - TTL.toMillis() - 1000),
+                "id:2\tLenovo\t" + (now - TTL.toMillis() + 300),
+                "id:3\tAcer\t" + now);
+
+        BrandCache cache = new BrandCache(file, TTL, 10);
+        Assertions.assertNull(cache.get("https://market.yandex.ru/product/1"), "Устаревшая запись не должна загружаться");
+        Thread.sleep(600);
+        Assertions.assertNull(cache.get("https://market.yandex.ru/product/2"), "Запись должна устаревать после загрузки");
+        Assertions.assertEquals("Acer", cache.get("https://market.yandex.ru/product/3"), "Свежая запись должна загружаться");
+
+        cache.save();
+        Assertions.assertEquals(1, Files.readAllLines(file, StandardCharsets.UTF_8).size(), "Устаревшие записи не должны сохраняться");
+    }
+
+    /**
+     * Тестовый метод, который проверяет удаление давно использованных записей при превышении размера.
+     */
+    @DisplayName("При превышении размера удаляются давно использованные записи")
+    @Test
+    public void evictsLeastRecentlyUsedEntries() {
+        BrandCache cache = new BrandCache(directory.resolve("brand-cache.tsv"), TTL, 3);
+        cache.put("https://market.yandex.ru/product/1", "HP");
+        cache.put("https://market.yandex.ru/product/2", "Lenovo");
+        cache.put("https://market.yandex.ru/product/3", "Acer");
+        Assertions.assertEquals("HP", cache.get("https://market.yandex.ru/product/1"));
+        cache.put("https://market.yandex.ru/product/4", "Asus");
+
+        Assertions.assertNull(cache.get("https://market.yandex.ru/product/2"), "Давно использованная запись должна удаляться");
+        Assertions.assertEquals("HP", cache.get("https://market.yandex.ru/product/1"), "Недавно прочитанная запись должна остаться");
+        Assertions.assertEquals("Acer", cache.get("https://market.yandex.ru/product/3"));
+        Assertions.assertEquals("Asus", cache.get("https://market.yandex.ru/product/4"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что при загрузке сверх размера остаются последние записи файла.
+     *
+     * @throws IOException если не удалось записать файл кэша
+     */
+    @DisplayName("При загрузке сверх размера остаются последние записи файла")
+    @Test
+    public void evictsOverflowOnLoad() throws IOException {
+        Path file = directory.resolve("brand-cache.tsv");
+        long now = System.currentTimeMillis();
+        writeLines(file, "id:1\tHP\t" + now, "id:2\tLenovo\t" + now, "id:3\tAcer\t" + now);
+
+        BrandCache cache = new BrandCache(file, TTL, 2);
+        Assertions.assertNull(cache.get("https://market.yandex.ru/product/1"), "Первая запись файла должна удаляться");
+        Assertions.assertEquals("Lenovo", cache.get("https://market.yandex.ru/product/2"));
+        Assertions.assertEquals("Acer", cache.get("https://market.yandex.ru/product/3"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что поврежденные строки пропускаются, а остальные записи загружаются.
+     *
+     * @throws IOException если не удалось записать файл кэша
+     */
+    @DisplayName("Поврежденные строки пропускаются")
+    @Test
+    public void skipsCorruptLines() throws IOException {
+        Path file = directory.resolve("brand-cache.tsv");
+        long now = System.currentTimeMillis();
+        writeLines(file,
+                "id:1\tHP\tне число",
+                "строка без разделителей",
+                "id:2\tLenovo",
+                "",
+                "id:3\tAcer\t" + now + "\tлишнее поле",
+                "id:4\tAsus\t" + now);
+
+        BrandCache cache = new BrandCache(file, TTL, 10);
+        for (int id = 1; id <= 3; id++) {
+            Assertions.assertNull(cache.get("https://market.yandex.ru/product/" + id), "Поврежденная строка " + id + " загружена");
+        }
+        Assertions.assertEquals("Asus", cache.get("https://market.yandex.ru/product/4"), "Целая запись после поврежденных должна загружаться");
+    }
+
+    /**
+     * Тестовый метод, который проверяет запись через временный файл: после сохранения файл кэша
+     * полностью заменен, а временных файлов в каталоге не остается.
+     *
+     * @throws IOException если не удалось прочитать каталог
+     */
+    @DisplayName("Кэш записывается через временный файл")
+    @Test
+    public void replacesFileThroughTempFile() throws IOException {
+        Path file = directory.resolve("brand-cache.tsv");
+        writeLines(file, "id:9\tDell\t" + System.currentTimeMillis());
+        BrandCache cache = new BrandCache(file, TTL, 10);
+        cache.put(PRODUCT_URL, "HP");
+        cache.save();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Assertions.assertEquals(2, lines.size(), "Файл кэша должен содержать все записи");
+        Assertions.assertTrue(lines.get(1).startsWith("id:100001\tHP\t"), "Последней должна быть новая запись");
+        Assertions.assertEquals(Arrays.asList(file.getFileName().toString()), listFileNames(),
+                "После сохранения в каталоге не должно оставаться временных файлов");
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что при ошибке записи временный файл удаляется.
+     * Файл кэша заменен непустым каталогом, поэтому перенос временного файла на его место завершается ошибкой.
+     *
+     * @throws IOException если не удалось подготовить каталог
+     */
+    @DisplayName("При ошибке записи временный файл удаляется")
+    @Test
+    public void removesTempFileWhenSaveFails() throws IOException {
+        Path file = directory.resolve("brand-cache.tsv");
+        Files.createDirectories(file.resolve("occupied"));
+        BrandCache blocked = new BrandCache(file, TTL, 10);
+        blocked.put(PRODUCT_URL, "HP");
+
+        Assertions.assertThrows(UncheckedIOException.class, blocked::save, "Ошибка записи должна передаваться вызывающему");
+        Assertions.assertEquals(Arrays.asList(file.getFileName().toString()), listFileNames(),
+                "После ошибки в каталоге не должно оставаться временных файлов");
+        Assertions.assertTrue(Files.exists(file.resolve("occupied")), "Прежнее содержимое не должно изменяться");
+    }
+
+    /**
+     * Метод для записи строк в файл кэша.
+     *
+     * @param file  файл кэша
+     * @param lines строки файла
+     * @throws IOException если не удалось записать файл
+     */
+    private static void writeLines(Path file, String... lines) throws IOException {
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Метод для получения имен файлов временного каталога.
+     *
+     * @return отсортированные имена файлов
+     * @throws IOException если не удалось прочитать каталог
+     */
+    private List<String> listFileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package yandex.pages.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Тестовый класс для проверки поиска брендов в наименованиях товаров без браузера.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see BrandMatcher
+ */
+public class BrandMatcherTest {
+    /**
+     * Список брендов из фильтров теста.
+     */
+    private static final List<String> BRANDS = Arrays.asList("Lenovo", "HP");
+
+    /**
+     * Тестовый метод, который проверяет, что бренд находится только отдельным словом.
+     */
+    @DisplayName("Бренд находится только отдельным словом")
+    @Test
+    public void matchesWholeWordsOnly() {
+        BrandMatcher matcher = BrandMatcher.forBrands(BRANDS);
+        Assertions.assertEquals("HP", matcher.find("Ноутбук HP 255 G8"));
+        Assertions.assertEquals("HP", matcher.find("HP"));
+        Assertions.assertEquals("HP", matcher.find("Ноутбук (HP)"));
+        Assertions.assertNull(matcher.find("Сервер HPE ProLiant"));
+        Assertions.assertNull(matcher.find("Ноутбук abcHP"));
+        Assertions.assertNull(matcher.find("Ноутбук Dell Inspiron"));
+        Assertions.assertNull(matcher.find(""));
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что цифры рядом с брендом считаются границей слова.
+     */
+    @DisplayName("Цифры рядом с брендом считаются границей слова")
+    @Test
+    public void treatsDigitsAsWordBoundary() {
+        BrandMatcher matcher = BrandMatcher.forBrands(BRANDS);
+        Assertions.assertEquals("HP", matcher.find("Ноутбук HP15s-fq5000"));
+        Assertions.assertEquals("HP", matcher.find("Ноутбук 15HP"));
+        Assertions.assertNull(matcher.find("Ноутбук HPs15"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет поиск без учета регистра и возврат бренда в виде из списка.
+     */
+    @DisplayName("Регистр не учитывается, бренд возвращается в виде из списка")
+    @Test
+    public void ignoresCase() {
+        BrandMatcher matcher = BrandMatcher.forBrands(BRANDS);
+        Assertions.assertEquals("Lenovo", matcher.find("ноутбук lenovo ideapad 3"));
+        Assertions.assertEquals("Lenovo", matcher.find("НОУТБУК LENOVO IDEAPAD 3"));
+        Assertions.assertEquals("HP", matcher.find("ноутбук hp 250"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет приравнивание кириллических букв, похожих на латинские в том же регистре.
+     */
+    @DisplayName("Кириллические буквы, похожие на латинские, приравниваются к ним")
+    @Test
+    public void foldsCyrillicLookalikes() {
+        BrandMatcher matcher = BrandMatcher.forBrands(BRANDS);
+        Assertions.assertEquals("HP", matcher.find("Ноутбук НР 250"));
+        Assertions.assertEquals("Lenovo", matcher.find("Ноутбук LеnоvО V15"));
+        Assertions.assertEquals('p', BrandMatcher.fold('Р'));
+        Assertions.assertEquals('p', BrandMatcher.fold('р'));
+        Assertions.assertEquals('h', BrandMatcher.fold('Н'));
+        Assertions.assertEquals('b', BrandMatcher.fold('В'));
+        Assertions.assertEquals('t', BrandMatcher.fold('Т'));
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что строчные кириллические буквы, не похожие на латинские,
+     * не приравниваются к ним и русские слова не совпадают с латинскими брендами.
+     */
+    @DisplayName("Строчные буквы, не похожие на латинские, не приравниваются к ним")
+    @Test
+    public void doesNotFoldLowercaseNonLookalikes() {
+        Assertions.assertEquals('н', BrandMatcher.fold('н'));
+        Assertions.assertEquals('в', BrandMatcher.fold('в'));
+        Assertions.assertEquals('т', BrandMatcher.fold('т'));
+        Assertions.assertNull(BrandMatcher.forBrands(BRANDS).find("ноутбук нр 250"));
+        Assertions.assertNull(BrandMatcher.forBrands(Collections.singletonList("BT")).find("Блок питания 65 вт"));
+        Assertions.assertEquals("BT", BrandMatcher.forBrands(Collections.singletonList("BT")).find("Гарнитура BT 5.0"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет поиск бренда, начало которого совпадает с другим брендом.
+     */
+    @DisplayName("Находится бренд, начало которого совпадает с другим брендом")
+    @Test
+    public void findsOverlappingBrands() {
+        BrandMatcher matcher = BrandMatcher.forBrands(Arrays.asList("HP", "HPE"));
+        Assertions.assertEquals("HPE", matcher.find("Сервер HPE ProLiant"));
+        Assertions.assertEquals("HP", matcher.find("Ноутбук HP 255"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что пустой бренд игнорируется, а автомат переиспользуется для того же списка.
+     */
+    @DisplayName("Пустой бренд игнорируется, автомат переиспользуется")
+    @Test
+    public void ignoresEmptyBrandsAndCachesMatchers() {
+        Assertions.assertFalse(BrandMatcher.forBrands(Arrays.asList("", "HP")).matches("Ноутбук Dell"));
+        Assertions.assertSame(BrandMatcher.forBrands(BRANDS), BrandMatcher.forBrands(Arrays.asList("Lenovo", "HP")));
+    }
+}
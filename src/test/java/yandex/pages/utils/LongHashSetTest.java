@@ -0,0 +1,176 @@
+package yandex.pages.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Тестовый класс для проверки множества значений long в сравнении с HashSet&lt;Long&gt;.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see LongHashSet
+ */
+public class LongHashSetTest {
+    /**
+     * Начальное значение генератора случайных чисел, чтобы тесты повторялись.
+     */
+    private static final long SEED = 20240517L;
+
+    /**
+     * Емкость массива пустого множества по умолчанию.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Множитель фибоначчиева хеширования, которым множество выбирает ячейку.
+     */
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Тестовый метод, который сравнивает добавление и поиск случайных значений с HashSet с фильтром Блума и без него.
+     */
+    @DisplayName("Добавление и поиск совпадают с HashSet")
+    @Test
+    public void behavesLikeHashSet() {
+        for (boolean bloomFilter : new boolean[]{false, true}) {
+            Random random = new Random(SEED);
+            LongHashSet set = new LongHashSet(16, bloomFilter);
+            Set<Long> expected = new HashSet<>();
+            for (int i = 0; i < 50_000; i++) {
+                long value = random.nextInt(4) == 0 ? random.nextInt(1000) - 500 : random.nextLong();
+                Assertions.assertEquals(expected.add(value), set.add(value), "Результат добавления " + value);
+            }
+            Assertions.assertEquals(expected.size(), set.size(), "Количество значений");
+            for (long value : expected) {
+                Assertions.assertTrue(set.contains(value), "Добавленное значение не найдено: " + value);
+            }
+            for (int i = 0; i < 50_000; i++) {
+                long value = random.nextLong();
+                Assertions.assertEquals(expected.contains(value), set.contains(value), "Результат поиска " + value);
+            }
+        }
+    }
+
+    /**
+     * Тестовый метод, который проверяет значения с одной начальной ячейкой, включая цепочку через конец массива.
+     */
+    @DisplayName("Значения с одной начальной ячейкой находятся пробированием")
+    @Test
+    public void resolvesCollisionsByProbing() {
+        int lastCell = DEFAULT_CAPACITY - 1;
+        List<Long> colliding = new ArrayList<>();
+        for (long value = 1; colliding.size() < 24; value++) {
+            if (initialCell(value, DEFAULT_CAPACITY) == lastCell) {
+                colliding.add(value);
+            }
+        }
+        LongHashSet set = new LongHashSet();
+        for (long value : colliding.subList(0, 20)) {
+            Assertions.assertTrue(set.add(value), "Значение должно добавляться: " + value);
+        }
+        for (long value : colliding.subList(0, 20)) {
+            Assertions.assertTrue(set.contains(value), "Значение из цепочки не найдено: " + value);
+            Assertions.assertFalse(set.add(value), "Повторное добавление должно возвращать false: " + value);
+        }
+        for (long value : colliding.subList(20, 24)) {
+            Assertions.assertFalse(set.contains(value), "Недобавленное значение с той же ячейкой найдено: " + value);
+        }
+        Assertions.assertEquals(20, set.size(), "Количество значений");
+    }
+
+    /**
+     * Тестовый метод, который проверяет рост массива: после многократных удвоений все значения остаются в множестве.
+     */
+    @DisplayName("Значения сохраняются при росте массива")
+    @Test
+    public void keepsValuesWhileGrowing() {
+        for (boolean bloomFilter : new boolean[]{false, true}) {
+            LongHashSet set = bloomFilter ? new LongHashSet(1, true) : new LongHashSet();
+            Set<Long> expected = new HashSet<>();
+            for (long value = -100_000; value < 100_000; value += 3) {
+                set.add(value);
+                expected.add(value);
+                if (expected.size() % 10_000 == 0) {
+                    for (long added : expected) {
+                        Assertions.assertTrue(set.contains(added), "Значение потеряно при росте: " + added);
+                    }
+                }
+            }
+            Assertions.assertEquals(expected.size(), set.size(), "Количество значений после роста");
+            for (long value = -100_000; value < 100_000; value++) {
+                Assertions.assertEquals(expected.contains(value), set.contains(value), "Результат поиска " + value);
+            }
+        }
+    }
+
+    /**
+     * Тестовый метод, который проверяет хранение нуля, обозначающего пустую ячейку, отдельным признаком.
+     */
+    @DisplayName("Ноль хранится отдельно от пустых ячеек")
+    @Test
+    public void storesZeroSeparately() {
+        for (boolean bloomFilter : new boolean[]{false, true}) {
+            LongHashSet set = new LongHashSet(8, bloomFilter);
+            Assertions.assertFalse(set.contains(0), "Пустое множество не должно содержать ноль");
+            Assertions.assertTrue(set.add(0), "Ноль должен добавляться");
+            Assertions.assertFalse(set.add(0), "Повторное добавление нуля должно возвращать false");
+            Assertions.assertTrue(set.contains(0), "Добавленный ноль не найден");
+            Assertions.assertEquals(1, set.size(), "Ноль должен учитываться в количестве значений");
+            Assertions.assertTrue(set.add(DEFAULT_CAPACITY), "Ненулевое значение должно добавляться после нуля");
+            Assertions.assertFalse(set.contains(1), "Множество не должно содержать недобавленное значение");
+
+            set.clear();
+            Assertions.assertTrue(set.isEmpty(), "После очистки множество должно быть пустым");
+            Assertions.assertFalse(set.contains(0), "После очистки множество не должно содержать ноль");
+            Assertions.assertFalse(set.contains(DEFAULT_CAPACITY), "После очистки множество не должно содержать значения");
+            Assertions.assertTrue(set.add(0), "После очистки ноль должен добавляться снова");
+        }
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что фильтр Блума не отсекает добавленные значения,
+     * в том числе после перестроения массива и после очистки.
+     */
+    @DisplayName("Фильтр Блума не дает ложноотрицательных ответов")
+    @Test
+    public void bloomFilterHasNoFalseNegatives() {
+        Random random = new Random(SEED);
+        LongHashSet set = new LongHashSet(1, true);
+        List<Long> added = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            long value = i % 2 == 0 ? random.nextLong() : ProductFingerprint.of("Ноутбук " + i, i);
+            set.add(value);
+            added.add(value);
+        }
+        for (long value : added) {
+            Assertions.assertTrue(set.contains(value), "Фильтр Блума отсек добавленное значение: " + value);
+        }
+
+        set.clear();
+        for (long value : added.subList(0, 1000)) {
+            Assertions.assertFalse(set.contains(value), "После очистки значение найдено: " + value);
+            set.add(value);
+        }
+        for (long value : added.subList(0, 1000)) {
+            Assertions.assertTrue(set.contains(value), "После очистки фильтр Блума отсек добавленное значение: " + value);
+        }
+    }
+
+    /**
+     * Метод для расчета начальной ячейки значения фибоначчиевым хешированием, как в множестве.
+     *
+     * @param value    значение
+     * @param capacity емкость массива, степень двойки
+     * @return индекс начальной ячейки
+     */
+    private static int initialCell(long value, int capacity) {
+        return (int) ((value * GOLDEN_RATIO) >>> (Long.numberOfLeadingZeros(capacity) + 1));
+    }
+}
@@ -0,0 +1,89 @@
+package yandex.pages.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Тестовый класс для проверки разбора цен из текста без браузера.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see PriceParserComponent
+ */
+public class PriceParserComponentTest {
+    /**
+     * Тестовый метод, который проверяет разбор цены без разделителей и с обычным пробелом между разрядами.
+     */
+    @DisplayName("Цена без разделителей и с пробелом между разрядами")
+    @Test
+    public void parsesPlainAndSpaceSeparatedPrices() {
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("15990"));
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("Цена 15 990 ₽"));
+        Assertions.assertEquals(1234567, PriceParserComponent.extractPriceFromText("1 234 567 ₽"));
+        Assertions.assertEquals(990, PriceParserComponent.extractPriceFromText("990 ₽"));
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText(new StringBuilder("15 990")));
+    }
+
+    /**
+     * Тестовый метод, который проверяет разбор цены с неразрывным, тонким, узким неразрывным и цифровым пробелами.
+     */
+    @DisplayName("Цена с неразрывным, тонким и узким пробелами между разрядами")
+    @Test
+    public void parsesUnicodeSpaceSeparators() {
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("15\u00A0990\u00A0₽"));
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("15\u2009990 ₽"));
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("15\u202F990 ₽"));
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("15\u2007990 ₽"));
+        Assertions.assertEquals(1234567, PriceParserComponent.extractPriceFromText("1\u00A0234\u202F567"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет отбрасывание дробной части после запятой или точки.
+     */
+    @DisplayName("Дробная часть цены отбрасывается")
+    @Test
+    public void dropsFractionalPart() {
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("15 990,50 ₽"));
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("15990.99"));
+        Assertions.assertEquals(0, PriceParserComponent.extractPriceFromText("0,50"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что разделитель засчитывается только перед группой ровно из трех цифр.
+     */
+    @DisplayName("Разделитель засчитывается только перед группой из трех цифр")
+    @Test
+    public void acceptsSeparatorOnlyBeforeThreeDigits() {
+        Assertions.assertEquals(1, PriceParserComponent.extractPriceFromText("Цена 1 2 3"));
+        Assertions.assertEquals(15, PriceParserComponent.extractPriceFromText("15 99 ₽"));
+        Assertions.assertEquals(15, PriceParserComponent.extractPriceFromText("15 9900 ₽"));
+        Assertions.assertEquals(12345, PriceParserComponent.extractPriceFromText("12345 678"));
+        Assertions.assertEquals(15, PriceParserComponent.extractPriceFromText("15 ₽"));
+        Assertions.assertEquals(15, PriceParserComponent.extractPriceFromText("15 "));
+        Assertions.assertEquals(15990, PriceParserComponent.extractPriceFromText("от 15 990 до 20 000 ₽"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет значение {@link PriceParserComponent#NO_PRICE} для текста без цены.
+     */
+    @DisplayName("Текст без цены дает NO_PRICE")
+    @Test
+    public void returnsNoPriceWithoutDigits() {
+        Assertions.assertEquals(PriceParserComponent.NO_PRICE, PriceParserComponent.extractPriceFromText(null));
+        Assertions.assertEquals(PriceParserComponent.NO_PRICE, PriceParserComponent.extractPriceFromText(""));
+        Assertions.assertEquals(PriceParserComponent.NO_PRICE, PriceParserComponent.extractPriceFromText("Нет в наличии"));
+        Assertions.assertEquals(PriceParserComponent.NO_PRICE, PriceParserComponent.extractPriceFromText(" \u00A0₽"));
+    }
+
+    /**
+     * Тестовый метод, который проверяет значение {@link PriceParserComponent#NO_PRICE} для числа, не помещающегося в long.
+     */
+    @DisplayName("Переполнение дает NO_PRICE")
+    @Test
+    public void returnsNoPriceOnOverflow() {
+        Assertions.assertEquals(9_223_372_036_854_775_799L, PriceParserComponent.extractPriceFromText("9223372036854775799"));
+        Assertions.assertEquals(PriceParserComponent.NO_PRICE, PriceParserComponent.extractPriceFromText("92233720368547758070"));
+        Assertions.assertEquals(PriceParserComponent.NO_PRICE, PriceParserComponent.extractPriceFromText("99 999 999 999 999 999 999 ₽"));
+    }
+}
@@ -0,0 +1,62 @@
+package yandex.pages.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Тестовый класс для проверки отпечатков товаров по наименованию и цене.
+ *
+ * @author Габбасова Лилиана Альбертовна
+ * @version 2
+ * @see ProductFingerprint
+ */
+public class ProductFingerprintTest {
+    /**
+     * Тестовый метод, который проверяет, что отпечаток зависит только от наименования и цены.
+     */
+    @DisplayName("Отпечаток одного товара не меняется")
+    @Test
+    public void isDeterministic() {
+        Assertions.assertEquals(ProductFingerprint.of("Ноутбук HP 255 G8", 15_990),
+                ProductFingerprint.of(new StringBuilder("Ноутбук HP 255 G8"), 15_990));
+    }
+
+    /**
+     * Тестовый метод, который проверяет, что отпечатки различаются при изменении наименования или цены.
+     */
+    @DisplayName("Отпечаток меняется вместе с наименованием и ценой")
+    @Test
+    public void distinguishesNameAndPrice() {
+        long fingerprint = ProductFingerprint.of("Ноутбук HP 255 G8", 15_990);
+        Assertions.assertNotEquals(fingerprint, ProductFingerprint.of("Ноутбук HP 255 G9", 15_990));
+        Assertions.assertNotEquals(fingerprint, ProductFingerprint.of("Ноутбук HP 255 G8", 15_991));
+        Assertions.assertNotEquals(fingerprint, ProductFingerprint.of("Ноутбук HP 255 G8 ", 15_990));
+        Assertions.assertNotEquals(ProductFingerprint.of("", 0), ProductFingerprint.of("", PriceParserComponent.NO_PRICE));
+        Assertions.assertNotEquals(ProductFingerprint.of("ab", 1), ProductFingerprint.of("ba", 1));
+    }
+
+    /**
+     * Тестовый метод, который проверяет отсутствие совпадений отпечатков у множества похожих товаров.
+     * Наименования отличаются одной-двумя цифрами, а цены повторяются, как в реальном списке товаров.
+     */
+    @DisplayName("Похожие товары не дают совпадающих отпечатков")
+    @Test
+    public void hasNoCollisionsOnSimilarProducts() {
+        Set<Long> fingerprints = new HashSet<>();
+        LongHashSet set = new LongHashSet();
+        int count = 0;
+        for (int model = 0; model < 2_000; model++) {
+            for (int price = 10_000; price < 20_000; price += 200) {
+                long fingerprint = ProductFingerprint.of("Ноутбук Lenovo IdeaPad " + model, price);
+                Assertions.assertTrue(fingerprints.add(fingerprint), "Совпадение отпечатков у модели " + model + " с ценой " + price);
+                Assertions.assertTrue(set.add(fingerprint), "Множество отпечатков уже содержит модель " + model + " с ценой " + price);
+                count++;
+            }
+        }
+        Assertions.assertEquals(count, set.size(), "Количество отпечатков");
+    }
+}